@@ -54,7 +54,7 @@ public class AdminData {
                     System.out.println("🔐 [AdminData] Stored hash (Base64): " + storedHash.substring(0, Math.min(20, storedHash.length())) + "...");
                     
                     // Check if this is a legacy Base64 hash (like in your file)
-                    if (isBase64(storedHash)) {
+                    if (isBase64(storedHash) || SecurityUtils.isVersionedHash(storedHash)) {
                         System.out.println("⚠️ [AdminData] Detected Base64 hash - using legacy validation");
                         
                         // Get the salt for this admin
@@ -63,16 +63,12 @@ public class AdminData {
                         
                         if (salt != null && !salt.isEmpty()) {
                             // Try to validate with current hashing algorithm
-                            String inputHash = SecurityUtils.hashPassword(password, salt);
+                            boolean matches = SecurityUtils.verifyCredential(password, storedHash, salt);
+                            System.out.println("🔐 [AdminData] Comparing: " + (matches ? "MATCH" : "NO MATCH"));
                             
-                            if (inputHash != null) {
-                                System.out.println("🔐 [AdminData] Input hash generated");
-                                System.out.println("🔐 [AdminData] Comparing: " + (inputHash.equals(storedHash) ? "MATCH" : "NO MATCH"));
-                                
-                                if (inputHash.equals(storedHash)) {
-                                    System.out.println("✅ [AdminData] Login successful (hash match)");
-                                    return true;
-                                }
+                            if (matches) {
+                                System.out.println("✅ [AdminData] Login successful (hash match)");
+                                return true;
                             }
                         }
                         
@@ -156,7 +152,7 @@ public class AdminData {
         System.out.println("🔄 [AdminData] Migrating admin to hashed password: " + adminId);
         
         String salt = SecurityUtils.generateSalt();
-        String hashedPassword = SecurityUtils.hashPassword(plainPassword, salt);
+        String hashedPassword = SecurityUtils.encodePassword(plainPassword, salt);
         
         if (hashedPassword == null) {
             System.out.println("❌ [AdminData] Failed to hash password for migration");
@@ -192,14 +188,9 @@ public class AdminData {
             return;
         }
         
-        // Save salt to salt file
-        try (BufferedWriter saltWriter = new BufferedWriter(new FileWriter(ADMIN_SALT_FILE, true))) {
-            saltWriter.write(adminId + ":" + salt);
-            saltWriter.newLine();
-            System.out.println("✅ [AdminData] Auto-migrated admin " + adminId + " to hashed password");
-        } catch (IOException e) {
-            System.out.println("⚠️ [AdminData] Admin migrated but failed to save salt: " + e.getMessage());
-        }
+        // Save salt to salt file (replacing any older salt, which getAdminSalt would find first)
+        updateAdminSalt(adminId, salt);
+        System.out.println("✅ [AdminData] Auto-migrated admin " + adminId + " to hashed password");
     }
     
     /**
@@ -327,7 +318,7 @@ public class AdminData {
 
         // Generate salt and hash password
         String salt = SecurityUtils.generateSalt();
-        String hashedPassword = SecurityUtils.hashPassword(plainPassword, salt);
+        String hashedPassword = SecurityUtils.encodePassword(plainPassword, salt);
         
         if (hashedPassword == null) {
             System.out.println("❌ [AdminData] Failed to hash password");
@@ -453,7 +444,7 @@ public class AdminData {
         
         // Generate new salt and hash
         String newSalt = SecurityUtils.generateSalt();
-        String newHashedPassword = SecurityUtils.hashPassword(newPlainPassword, newSalt);
+        String newHashedPassword = SecurityUtils.encodePassword(newPlainPassword, newSalt);
         
         if (newHashedPassword == null) {
             System.out.println("❌ [AdminData] Failed to hash new password");
@@ -626,7 +617,7 @@ public class AdminData {
         }
         
         String salt = SecurityUtils.generateSalt();
-        String hashedPassword = SecurityUtils.hashPassword(newPassword, salt);
+        String hashedPassword = SecurityUtils.encodePassword(newPassword, salt);
         
         if (hashedPassword == null) {
             System.out.println("❌ [AdminData] Failed to hash password");
@@ -746,8 +737,8 @@ public class AdminData {
                 String adminId = parts[0];
                 String storedPass = parts[2];
 
-                // If not Base64 (legacy) and seems like plaintext, migrate
-                if (!isBase64(storedPass)) {
+                // Only plaintext records; hashes (bare or versioned) stay as they are
+                if (SecurityUtils.classifyCredential(storedPass, null) == SecurityUtils.CredentialScheme.PLAINTEXT) {
                     System.out.println("🔄 [AdminData] Migrating admin password for: " + adminId);
                     migrateAdminToHashedPassword(adminId, storedPass);
                     migrated++;
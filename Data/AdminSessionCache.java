@@ -0,0 +1,211 @@
+package Data;
+
+import java.sql.*;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admin sessions held in memory once validated.
+ *
+ * SqlAdminManager.validateSession() used to SELECT the row and queue an
+ * UPDATE of last_activity on every call, and deleted expired rows inline, so
+ * each admin action became a read plus a write transaction. Now a check is
+ * one map read and a volatile write of the activity time:
+ *
+ *   flush   every FLUSH_INTERVAL_MS the activity times that moved are written
+ *           in one batch on the single writer (the latest time per session)
+ *   sweep   every SWEEP_INTERVAL_MS expired sessions leave the cache and their
+ *           rows are purged with one DELETE
+ *
+ * A session not in the cache (created before a restart or by another process)
+ * is read from the table once and cached. Sessions are only created, ended
+ * and expired through SqlAdminManager, so the cache cannot miss a logout.
+ * An ended session is remembered until the next sweep, so a load that read
+ * its row before the DELETE committed does not cache it again.
+ */
+public class AdminSessionCache {
+    private static final long FLUSH_INTERVAL_MS = 5_000;
+    private static final long SWEEP_INTERVAL_MS = 60_000;
+
+    private static final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private static final Map<String, Long> ended = new ConcurrentHashMap<>();  // session id -> time ended
+
+    private static volatile boolean started = false;
+    private static ScheduledExecutorService worker = null;
+
+    // Metrics
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong loads = new AtomicLong();
+    private static final AtomicLong flushedUpdates = new AtomicLong();
+    private static final AtomicLong expiredSessions = new AtomicLong();
+
+    /**
+     * One admin_sessions row, as far as validation needs it
+     */
+    static class Session {
+        final String sessionId;
+        final String adminId;
+        final String ipAddress;
+        final long expiresAt;
+        volatile long lastActivity;
+        volatile long flushedActivity;
+
+        Session(String sessionId, String adminId, String ipAddress, long expiresAt, long lastActivity) {
+            this.sessionId = sessionId;
+            this.adminId = adminId;
+            this.ipAddress = ipAddress;
+            this.expiresAt = expiresAt;
+            this.lastActivity = lastActivity;
+            this.flushedActivity = lastActivity;
+        }
+
+        boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+
+    // ==================== LIFECYCLE ====================
+
+    /**
+     * Start the activity flusher and the expiry sweeper. Called at startup;
+     * the other methods call it themselves if needed.
+     */
+    public static synchronized void start() {
+        if (started) return;
+
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "admin-session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker.scheduleWithFixedDelay(AdminSessionCache::flush, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        worker.scheduleWithFixedDelay(AdminSessionCache::sweep, SWEEP_INTERVAL_MS, SWEEP_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(AdminSessionCache::finalFlush, "admin-session-final-flush"));
+        started = true;
+    }
+
+    private static void ensureStarted() {
+        if (!started) start();
+    }
+
+    // ==================== CACHE ====================
+
+    static void put(Session session) {
+        ensureStarted();
+        sessions.put(session.sessionId, session);
+    }
+
+    /**
+     * The cached session, or null if it has to be loaded from the table
+     */
+    static Session get(String sessionId) {
+        ensureStarted();
+        Session session = sessions.get(sessionId);
+        if (session != null) hits.incrementAndGet();
+        return session;
+    }
+
+    /**
+     * Cache a session just read from the table. Returns false, and caches
+     * nothing, if the session was ended meanwhile.
+     */
+    static boolean loaded(Session session) {
+        if (ended.containsKey(session.sessionId)) return false;
+
+        loads.incrementAndGet();
+        put(session);
+        // end() may have run between the check and the put
+        if (ended.containsKey(session.sessionId)) {
+            sessions.remove(session.sessionId);
+            return false;
+        }
+        return true;
+    }
+
+    static void remove(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    /**
+     * Forget a session that was logged out, and keep it from being loaded
+     * again until the next sweep
+     */
+    static void end(String sessionId) {
+        ended.put(sessionId, System.currentTimeMillis());
+        sessions.remove(sessionId);
+    }
+
+    /**
+     * Record activity on a valid session; written by the next flush
+     */
+    static void touch(Session session) {
+        session.lastActivity = System.currentTimeMillis();
+    }
+
+    // ==================== WRITE-BEHIND ====================
+
+    public static final String ACTIVITY_UPDATE_SQL = "UPDATE admin_sessions SET last_activity = ? WHERE session_id = ?";
+
+    /**
+     * Write the activity times that changed since the last flush, in one batch
+     */
+    public static synchronized void flush() {
+        try {
+            DatabaseWriter.Batch batch = new DatabaseWriter.Batch();
+            for (Session session : sessions.values()) {
+                long activity = session.lastActivity;
+                if (activity == session.flushedActivity) continue;
+
+                batch.add(ACTIVITY_UPDATE_SQL, new Timestamp(activity), session.sessionId);
+                session.flushedActivity = activity;
+            }
+            if (batch.isEmpty()) return;
+
+            DatabaseWriter.enqueue(batch);
+            flushedUpdates.addAndGet(batch.size());
+        } catch (Exception e) {
+            System.err.println("❌ [AdminSessionCache] Error saving session activity: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Flush once more at exit and wait for the batch to commit. The writer's
+     * own shutdown hook may already have stopped it; flush() starts it again.
+     */
+    private static void finalFlush() {
+        flush();
+        DatabaseWriter.flush();
+    }
+
+    /**
+     * Drop expired sessions from the cache and purge their rows
+     */
+    static void sweep() {
+        try {
+            long now = System.currentTimeMillis();
+            int before = sessions.size();
+            sessions.values().removeIf(session -> session.isExpired(now));
+            expiredSessions.addAndGet(before - sessions.size());
+            // Their DELETEs have long committed
+            ended.values().removeIf(time -> time <= now - SWEEP_INTERVAL_MS);
+
+            SqlAdminManager.cleanupExpiredSessions();
+        } catch (Exception e) {
+            System.err.println("❌ [AdminSessionCache] Error sweeping sessions: " + e.getMessage());
+        }
+    }
+
+    // ==================== STATUS ====================
+
+    public static int getCachedSessions() { return sessions.size(); }
+    public static long getHits() { return hits.get(); }
+    public static long getLoads() { return loads.get(); }
+    public static long getFlushedUpdates() { return flushedUpdates.get(); }
+    public static long getExpiredSessions() { return expiredSessions.get(); }
+
+    public static String getStats() {
+        return "sessions=" + getCachedSessions() + " hits=" + getHits() + " loads=" + getLoads()
+               + " activityWrites=" + getFlushedUpdates() + " expired=" + getExpiredSessions();
+    }
+}
@@ -0,0 +1,172 @@
+package Data;
+
+import Utils.SecurityUtils;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous login checks on a dedicated, bounded hashing pool.
+ *
+ * Password hashing is deliberately slow (key stretching), so it must never
+ * run on the Swing event thread. The pool has one thread per core (hashing
+ * is pure CPU work, more threads would only add switching) and a bounded
+ * queue: during a login burst the excess is rejected straight away with
+ * RejectedExecutionException instead of piling up behind minutes of work.
+ *
+ * -Delection.hashThreads     worker threads (default: available cores)
+ * -Delection.hashQueue       waiting logins before rejecting (default: 32 per thread)
+ *
+ * Callers get a CompletableFuture and must hop back to the EDT themselves
+ * (SwingUtilities.invokeLater) before touching components.
+ */
+public class AuthService {
+    private static final int THREADS = Integer.getInteger("election.hashThreads",
+                                                          Runtime.getRuntime().availableProcessors());
+    private static final int QUEUE_CAPACITY = Integer.getInteger("election.hashQueue", THREADS * 32);
+
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+    // Metrics
+    private static final AtomicLong submitted = new AtomicLong();
+    private static final AtomicLong rejected = new AtomicLong();
+    private static final AtomicLong completed = new AtomicLong();
+    private static final AtomicLong totalWaitNanos = new AtomicLong();
+    private static final AtomicLong totalRunNanos = new AtomicLong();
+    private static final AtomicLong maxRunNanos = new AtomicLong();
+
+    private static ThreadPoolExecutor createExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+            runnable -> {
+                Thread thread = new Thread(runnable, "auth-hash-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    // ==================== AUTHENTICATION ====================
+
+    /**
+     * Which credential store to check
+     */
+    public enum Realm { VOTER, ADMIN }
+
+    /**
+     * Check the credentials on the hashing pool. Completes with true/false,
+     * or exceptionally with RejectedExecutionException when the pool is full.
+     */
+    public static CompletableFuture<Boolean> authenticate(Realm realm, String id, String password) {
+        return authenticate(realm, id, password, null);
+    }
+
+    /**
+     * As above for a known client address. The attempt passes LoginRateLimiter
+     * first: a refused one completes with RateLimitedException at once,
+     * without queueing or hashing anything.
+     */
+    public static CompletableFuture<Boolean> authenticate(Realm realm, String id, String password, String source) {
+        try {
+            LoginRateLimiter.acquire(realm, source, id);
+        } catch (LoginRateLimiter.RateLimitedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return submit(() -> realm == Realm.ADMIN
+            ? SqlAdminManager.validateAdminCredentials(id, password, source, null)
+            : ElectionData.validateVoter(id, password));
+    }
+
+    public static CompletableFuture<Boolean> authenticateVoter(String voterId, String password) {
+        return authenticate(Realm.VOTER, voterId, password);
+    }
+
+    public static CompletableFuture<Boolean> authenticateAdmin(String adminId, String password) {
+        return authenticate(Realm.ADMIN, adminId, password);
+    }
+
+    /**
+     * Run any hashing-heavy task on the pool (password changes, registration)
+     */
+    public static <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long queuedAt = System.nanoTime();
+        submitted.incrementAndGet();
+
+        try {
+            EXECUTOR.execute(() -> {
+                long startedAt = System.nanoTime();
+                totalWaitNanos.addAndGet(startedAt - queuedAt);
+                try {
+                    future.complete(task.call());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                } finally {
+                    long runNanos = System.nanoTime() - startedAt;
+                    totalRunNanos.addAndGet(runNanos);
+                    maxRunNanos.accumulateAndGet(runNanos, Math::max);
+                    completed.incrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            System.err.println("⚠️ [AuthService] Login queue full (" + QUEUE_CAPACITY + "), request rejected");
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * True if the failure means "too busy, try again" rather than an error
+     */
+    public static boolean isOverloaded(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof RejectedExecutionException) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Milliseconds the user should wait if the failure is a rate-limit refusal, otherwise 0
+     */
+    public static long getRetryAfterMillis(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof LoginRateLimiter.RateLimitedException) {
+                return ((LoginRateLimiter.RateLimitedException) t).getRetryAfterMillis();
+            }
+        }
+        return 0;
+    }
+
+    // ==================== METRICS ====================
+
+    public static int getQueueLength() { return EXECUTOR.getQueue().size(); }
+    public static int getActiveCount() { return EXECUTOR.getActiveCount(); }
+    public static int getPoolSize() { return THREADS; }
+    public static long getSubmitted() { return submitted.get(); }
+    public static long getRejected() { return rejected.get(); }
+    public static long getCompleted() { return completed.get(); }
+
+    public static double getAverageWaitMillis() {
+        long done = completed.get();
+        return done == 0 ? 0 : totalWaitNanos.get() / 1_000_000.0 / done;
+    }
+
+    public static double getAverageRunMillis() {
+        long done = completed.get();
+        return done == 0 ? 0 : totalRunNanos.get() / 1_000_000.0 / done;
+    }
+
+    public static double getMaxRunMillis() { return maxRunNanos.get() / 1_000_000.0; }
+
+    public static String getStats() {
+        return String.format("threads=%d active=%d queued=%d/%d submitted=%d rejected=%d "
+                             + "wait=%.1fms run=%.1fms (max %.1fms) | hash: %s | rate limit: %s",
+            THREADS, getActiveCount(), getQueueLength(), QUEUE_CAPACITY, getSubmitted(), getRejected(),
+            getAverageWaitMillis(), getAverageRunMillis(), getMaxRunMillis(), SecurityUtils.getHashStats(),
+            LoginRateLimiter.getStats());
+    }
+}
@@ -0,0 +1,321 @@
+package Data;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.*;
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Online backups of the election database while voting continues.
+ *
+ * Uses SQLite's incremental backup API (sqlite3_backup_step) a few pages at
+ * a time with a pause between steps, so the copy never competes with ballots
+ * for long. The backup connection holds one read transaction for the whole
+ * copy: under WAL that pins a single snapshot, so commits from the writer
+ * neither block nor restart the backup (the WAL just grows until the copy is
+ * done). The copy is written to a .part file, checked with integrity_check
+ * and row counts from the same snapshot, then renamed into place.
+ *
+ * -Delection.backupDir        target directory (default "backups")
+ * -Delection.backupKeep       backups to keep (default 7)
+ * -Delection.backupIntervalMinutes  schedule for start() (default 60, 0 = off)
+ *
+ * The step-wise API is part of sqlite-jdbc, not JDBC, so it is called
+ * reflectively; the tree still compiles without the driver.
+ */
+public class BackupManager {
+    private static final File DIRECTORY = new File(System.getProperty("election.backupDir", "backups"));
+    private static final int KEEP = Integer.getInteger("election.backupKeep", 7);
+    private static final long INTERVAL_MINUTES = Long.getLong("election.backupIntervalMinutes", 60);
+    private static final String FILE_PREFIX = "election_backup_";
+    private static final String FILE_SUFFIX = ".db";
+
+    private static final int PAGES_PER_STEP = 64;          // 256 KB per step with 4 KB pages
+    private static final long PAUSE_BETWEEN_STEPS_MS = 5;  // caps the copy at roughly 50 MB/s
+    private static final int BUSY_RETRY_LIMIT = 200;
+    private static final int BUSY_SLEEP_MS = 25;
+    private static final int SQLITE_OK = 0;
+    private static final int SQLITE_DONE = 101;
+
+    // Tables whose row counts must match between the snapshot and the copy
+    private static final String[] VERIFIED_TABLES = { "admins", "voters", "nominees", "votes", "tallies" };
+
+    private static ScheduledExecutorService scheduler = null;
+    private static volatile BackupResult lastResult = null;
+    private static final AtomicLong completedBackups = new AtomicLong();
+    private static final AtomicLong failedBackups = new AtomicLong();
+
+    /**
+     * Called after each copy step with the pages copied so far
+     */
+    public interface ProgressListener {
+        void onProgress(int pagesCopied, int pageCount);
+    }
+
+    /**
+     * Outcome of one backup run
+     */
+    public static class BackupResult {
+        public final boolean success;
+        public final File file;
+        public final int pageCount;
+        public final long durationMillis;
+        public final String message;
+        public final long finishedAt = System.currentTimeMillis();
+
+        BackupResult(boolean success, File file, int pageCount, long durationMillis, String message) {
+            this.success = success;
+            this.file = file;
+            this.pageCount = pageCount;
+            this.durationMillis = durationMillis;
+            this.message = message;
+        }
+
+        @Override
+        public String toString() {
+            return (success ? "OK " : "FAILED ") + (file != null ? file.getName() : "-") + " "
+                   + pageCount + " pages in " + durationMillis + "ms" + (message != null ? " (" + message + ")" : "");
+        }
+    }
+
+    // ==================== SCHEDULE ====================
+
+    /**
+     * Start the periodic backup job (no-op if disabled or already running)
+     */
+    public static synchronized void start() {
+        if (scheduler != null || INTERVAL_MINUTES <= 0) return;
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-backup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(BackupManager::backupNow, INTERVAL_MINUTES, INTERVAL_MINUTES, TimeUnit.MINUTES);
+        System.out.println("✅ [BackupManager] Online backup every " + INTERVAL_MINUTES + " min to " + DIRECTORY);
+    }
+
+    public static synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    // ==================== BACKUP ====================
+
+    /**
+     * Back up into the backup directory, logging progress, then drop old backups
+     */
+    public static BackupResult backupNow() {
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new java.util.Date());
+        File target = new File(DIRECTORY, FILE_PREFIX + timestamp + FILE_SUFFIX);
+
+        int[] lastTenth = { -1 };
+        BackupResult result = backupTo(target, (copied, total) -> {
+            int tenth = total > 0 ? copied * 10 / total : 10;
+            if (tenth != lastTenth[0]) {
+                lastTenth[0] = tenth;
+                System.out.println("💾 [BackupManager] " + (tenth * 10) + "% (" + copied + "/" + total + " pages)");
+            }
+        });
+
+        if (result.success) {
+            rotate();
+        }
+        return result;
+    }
+
+    /**
+     * Copy the live database to the given file without stopping writers.
+     * The file only appears once the copy has been verified.
+     */
+    public static synchronized BackupResult backupTo(File target, ProgressListener listener) {
+        long start = System.currentTimeMillis();
+        BackupResult result;
+
+        if (!(DatabaseManager.getDialect() instanceof SqliteDialect)) {
+            result = new BackupResult(false, target, 0, 0, "online backup needs the SQLite dialect");
+        } else {
+            result = copyAndVerify(target, listener, start);
+        }
+
+        (result.success ? completedBackups : failedBackups).incrementAndGet();
+        lastResult = result;
+        System.out.println((result.success ? "✅" : "❌") + " [BackupManager] Backup " + result);
+        return result;
+    }
+
+    private static BackupResult copyAndVerify(File target, ProgressListener listener, long start) {
+        File parent = target.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            return new BackupResult(false, target, 0, 0, "cannot create " + parent);
+        }
+        File part = new File(target.getPath() + ".part");
+        part.delete();
+
+        int[] pages = { 0 };
+        Map<String, Long> expectedCounts;
+
+        try (Connection source = DatabaseManager.openDedicatedConnection()) {
+            if (source == null) {
+                return new BackupResult(false, target, 0, 0, "database unavailable");
+            }
+
+            // Pin one snapshot for the whole copy (and count rows in it)
+            source.setAutoCommit(false);
+            try {
+                expectedCounts = countRows(source);
+                int rc = runBackupSteps(source, part, (remaining, total) -> {
+                    pages[0] = total;
+                    if (listener != null) listener.onProgress(total - remaining, total);
+                    pause();
+                });
+                if (rc != SQLITE_OK && rc != SQLITE_DONE) {
+                    throw new SQLException("backup stopped with SQLite code " + rc);
+                }
+            } finally {
+                source.rollback();
+                source.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            part.delete();
+            return new BackupResult(false, target, pages[0], System.currentTimeMillis() - start, e.getMessage());
+        }
+
+        String problem = verify(part, expectedCounts);
+        if (problem != null) {
+            part.delete();
+            return new BackupResult(false, target, pages[0], System.currentTimeMillis() - start, problem);
+        }
+
+        try {
+            Files.move(part.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (Exception e) {
+            part.delete();
+            return new BackupResult(false, target, pages[0], System.currentTimeMillis() - start, e.getMessage());
+        }
+        return new BackupResult(true, target, pages[0], System.currentTimeMillis() - start, null);
+    }
+
+    /**
+     * Let writers in between copy steps
+     */
+    private static void pause() {
+        try {
+            Thread.sleep(PAUSE_BETWEEN_STEPS_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * sqlite-jdbc's DB.backup(dbName, file, observer, busySleepMs, busyRetries, pagesPerStep);
+     * the observer receives (remaining, pageCount) after every step
+     */
+    private static int runBackupSteps(Connection source, File target, StepObserver observer) throws SQLException {
+        try {
+            Class<?> sqliteConnection = Class.forName("org.sqlite.SQLiteConnection");
+            Class<?> observerType = Class.forName("org.sqlite.core.DB$ProgressObserver");
+
+            Object db = sqliteConnection.getMethod("getDatabase").invoke(source.unwrap(sqliteConnection));
+            Object progress = Proxy.newProxyInstance(observerType.getClassLoader(), new Class<?>[]{ observerType },
+                (proxy, method, args) -> {
+                    if ("progress".equals(method.getName())) {
+                        observer.step((Integer) args[0], (Integer) args[1]);
+                        return null;
+                    }
+                    if ("toString".equals(method.getName())) return "BackupProgress";
+                    if ("hashCode".equals(method.getName())) return System.identityHashCode(proxy);
+                    if ("equals".equals(method.getName())) return proxy == args[0];
+                    return null;
+                });
+
+            Method backup = db.getClass().getMethod("backup", String.class, String.class, observerType,
+                                                    int.class, int.class, int.class);
+            return (Integer) backup.invoke(db, "main", target.getAbsolutePath(), progress,
+                                           BUSY_SLEEP_MS, BUSY_RETRY_LIMIT, PAGES_PER_STEP);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof SQLException ? (SQLException) cause : new SQLException(cause);
+        } catch (ReflectiveOperationException e) {
+            throw new SQLException("sqlite-jdbc backup API not available: " + e, e);
+        }
+    }
+
+    private interface StepObserver {
+        void step(int remaining, int pageCount);
+    }
+
+    // ==================== VERIFY / ROTATE ====================
+
+    private static Map<String, Long> countRows(Connection conn) throws SQLException {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        try (Statement stmt = conn.createStatement()) {
+            for (String table : VERIFIED_TABLES) {
+                if (!DatabaseManager.getDialect().tableExists(conn, table)) continue;
+                try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+                    counts.put(table, rs.next() ? rs.getLong(1) : 0);
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Null if the copy is intact and matches the snapshot, otherwise the problem
+     */
+    static String verify(File file, Map<String, Long> expectedCounts) {
+        try (Connection conn = DatabaseManager.openConnection(file.getPath())) {
+            if (conn == null) return "cannot open backup";
+
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("PRAGMA integrity_check")) {
+                String status = rs.next() ? rs.getString(1) : "no result";
+                if (!"ok".equals(status)) return "integrity_check: " + status;
+            }
+
+            Map<String, Long> actual = countRows(conn);
+            if (!actual.equals(expectedCounts)) {
+                return "row counts differ: expected " + expectedCounts + ", found " + actual;
+            }
+            return null;
+        } catch (SQLException e) {
+            return "verification failed: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Keep the newest KEEP backups (names sort by timestamp)
+     */
+    static void rotate() {
+        File[] files = DIRECTORY.listFiles((dir, name) -> name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX));
+        if (files == null || files.length <= KEEP) return;
+
+        Arrays.sort(files, Comparator.comparing(File::getName).reversed());
+        for (int i = KEEP; i < files.length; i++) {
+            if (files[i].delete()) {
+                System.out.println("🧹 [BackupManager] Removed old backup " + files[i].getName());
+            }
+        }
+    }
+
+    // ==================== STATUS ====================
+
+    public static BackupResult getLastResult() {
+        return lastResult;
+    }
+
+    public static String getStats() {
+        BackupResult last = lastResult;
+        return "completed=" + completedBackups.get() + " failed=" + failedBackups.get()
+               + " last=" + (last != null ? last : "none");
+    }
+}
@@ -0,0 +1,321 @@
+package Data;
+
+import java.io.File;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Optional per-election ballot files.
+ *
+ * With -Delection.ballotShards=true every election keeps its votes, tallies
+ * and write tokens in its own SQLite file under -Delection.ballotDir
+ * (default "ballots"), each with its own writer thread, so ballots for
+ * different elections commit in parallel instead of queueing behind one lock.
+ * Voters, nominees, admins and the schedule stay in the main catalog
+ * database, which each ballot file attaches read-only as "catalog" so the
+ * same single-INSERT checks apply, including a ballot already recorded in the
+ * catalog's own votes table before ballot files were enabled. The
+ * voters.has_voted flag is updated in the catalog through the main writer
+ * once the ballot has committed.
+ *
+ * Queries spanning elections (totals, voter history) fan out across every
+ * ballot file in the directory and are merged by the caller. Reading an
+ * election that has no ballot file yet does not create one.
+ * SQLite only: the flag is ignored with -Delection.dialect=h2.
+ */
+public class BallotShards {
+    // Ballot files attach the catalog and use TEMP triggers, which only the SQLite dialect supports
+    private static final boolean ENABLED = Boolean.getBoolean("election.ballotShards")
+                                           && DatabaseManager.getDialect() instanceof SqliteDialect;
+    private static final File DIRECTORY = new File(System.getProperty("election.ballotDir", "ballots"));
+    private static final String FILE_PREFIX = "election_";
+    private static final String FILE_SUFFIX = ".db";
+    private static final int FAN_OUT_THREADS = 4;
+
+    private static final Map<String, Shard> shards = new ConcurrentHashMap<>();
+    private static ExecutorService fanOutPool = null;
+
+    /**
+     * One election's ballot file: a write queue plus one read-only connection
+     */
+    private static class Shard {
+        final File file;
+        final WriteQueue writer;
+        private Connection reader;
+        private boolean ready = false;  // schema seen by the reader
+
+        Shard(File file) {
+            this.file = file;
+            this.writer = new WriteQueue("ballot-writer-" + file.getName(), () -> openWriterConnection(file));
+        }
+
+        /**
+         * Run a read inside one read transaction on this file; whenMissing if
+         * the writer has not created the file and its schema yet
+         */
+        synchronized <T> T read(ReadConnectionPool.SnapshotReader<T> reader, T whenMissing) throws SQLException {
+            if (!file.exists()) {
+                return whenMissing;
+            }
+            if (this.reader == null || this.reader.isClosed()) {
+                this.reader = DatabaseManager.openConnection(file.getPath());
+                if (this.reader == null) {
+                    throw new SQLNonTransientConnectionException("Ballot file unavailable: " + file.getName());
+                }
+                DatabaseManager.getDialect().makeReadOnly(this.reader);
+            }
+
+            if (!ready) {
+                // The schema is created in one transaction, so one table stands for all of it
+                try (Statement stmt = this.reader.createStatement();
+                     ResultSet rs = stmt.executeQuery("SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'votes'")) {
+                    if (!rs.next()) return whenMissing;
+                }
+                ready = true;
+            }
+
+            this.reader.setAutoCommit(false);
+            try {
+                return reader.read(this.reader);
+            } finally {
+                this.reader.rollback();
+                this.reader.setAutoCommit(true);
+            }
+        }
+
+        synchronized void close() {
+            writer.shutdown();
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (SQLException e) {
+                    System.err.println("⚠️ [BallotShards] Error closing " + file.getName() + ": " + e.getMessage());
+                }
+                reader = null;
+            }
+        }
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    // ==================== ROUTING ====================
+
+    /**
+     * Writer for the election's ballot file (created on first use)
+     */
+    static WriteQueue writerFor(String electionId) {
+        return shardFor(electionId).writer;
+    }
+
+    /**
+     * Run a read against one election's ballot file, or return whenMissing
+     * if the election has no ballot file yet
+     */
+    static <T> T read(String electionId, ReadConnectionPool.SnapshotReader<T> reader, T whenMissing) throws SQLException {
+        File file = new File(DIRECTORY, fileNameFor(electionId));
+        if (!file.exists()) return whenMissing;
+        return shardFor(electionId).read(reader, whenMissing);
+    }
+
+    private static Shard shardFor(String electionId) {
+        File file = new File(DIRECTORY, fileNameFor(electionId));
+        return shards.computeIfAbsent(file.getName(), name -> new Shard(file));
+    }
+
+    /**
+     * File name for an election: a readable slug plus a hash, so ids that
+     * differ only in punctuation still get separate files
+     */
+    static String fileNameFor(String electionId) {
+        String slug = electionId.replaceAll("[^A-Za-z0-9_-]", "_");
+        if (slug.length() > 40) slug = slug.substring(0, 40);
+        return FILE_PREFIX + slug + "_" + Integer.toHexString(electionId.hashCode()) + FILE_SUFFIX;
+    }
+
+    /**
+     * Writer connection: creates the ballot schema, attaches the catalog and
+     * installs the reference checks as TEMP triggers (only TEMP triggers may
+     * look into an attached database)
+     */
+    private static Connection openWriterConnection(File file) throws SQLException {
+        if (!DIRECTORY.exists() && !DIRECTORY.mkdirs()) {
+            throw new SQLNonTransientConnectionException("Cannot create ballot directory " + DIRECTORY);
+        }
+
+        Connection conn = DatabaseManager.openConnection(file.getPath());
+        if (conn == null) return null;
+
+        String[] schema = {
+            "CREATE TABLE IF NOT EXISTS votes (" +
+            "vote_id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+            "voter_id TEXT NOT NULL, " +
+            "nominee_id TEXT NOT NULL, " +
+            "election_id TEXT NOT NULL, " +
+            "cast_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)",
+
+            "CREATE TABLE IF NOT EXISTS tallies (" +
+            "election_id TEXT NOT NULL, " +
+            "nominee_id TEXT NOT NULL, " +
+            "vote_count INTEGER NOT NULL DEFAULT 0, " +
+            "PRIMARY KEY (election_id, nominee_id)) WITHOUT ROWID",
+
+            "CREATE TABLE IF NOT EXISTS write_tokens (" +
+            "token TEXT PRIMARY KEY, " +
+            "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)",
+
+            "CREATE UNIQUE INDEX IF NOT EXISTS idx_votes_election_voter ON votes(election_id, voter_id)",
+            "CREATE INDEX IF NOT EXISTS idx_votes_voter ON votes(voter_id)"
+        };
+
+        // One transaction, so a reader sees either no schema or all of it
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : schema) {
+                stmt.execute(sql);
+            }
+            for (String sql : DatabaseManager.getDialect().tallyTriggers()) {
+                stmt.execute(sql);
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+
+        // Read-only URI: the ballot writer must never write to the catalog
+        try (PreparedStatement attach = conn.prepareStatement("ATTACH DATABASE ? AS catalog")) {
+            attach.setString(1, new File(DatabaseManager.getDatabasePath()).getAbsoluteFile().toURI() + "?mode=ro");
+            attach.execute();
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TEMP TRIGGER IF NOT EXISTS trg_ballot_check_refs BEFORE INSERT ON main.votes " +
+                        "BEGIN " +
+                        "SELECT RAISE(ABORT, '" + DatabaseManager.VOTE_UNKNOWN_VOTER + "') " +
+                        "WHERE NOT EXISTS (SELECT 1 FROM catalog.voters WHERE voter_id = NEW.voter_id); " +
+                        "SELECT RAISE(ABORT, '" + DatabaseManager.VOTE_UNKNOWN_NOMINEE + "') " +
+                        "WHERE NOT EXISTS (SELECT 1 FROM catalog.nominees WHERE nominee_id = NEW.nominee_id " +
+                        "AND election_id = NEW.election_id AND is_active = 1); " +
+                        // Reported as a unique violation, i.e. ALREADY_VOTED
+                        "SELECT RAISE(ABORT, 'UNIQUE constraint failed: catalog.votes.election_id, catalog.votes.voter_id') " +
+                        "WHERE EXISTS (SELECT 1 FROM catalog.votes WHERE election_id = NEW.election_id " +
+                        "AND voter_id = NEW.voter_id); " +
+                        "END");
+        }
+
+        System.out.println("✅ Ballot file ready: " + file.getName());
+        return conn;
+    }
+
+    // ==================== FAN-OUT ====================
+
+    /**
+     * Run a read against every ballot file in the directory, in parallel.
+     * Returns one result per file; a file that cannot be read is logged and skipped.
+     */
+    static <T> List<T> fanOut(ReadConnectionPool.SnapshotReader<T> reader) {
+        File[] files = DIRECTORY.listFiles((dir, name) -> name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX));
+        List<T> results = new ArrayList<>();
+        if (files == null || files.length == 0) return results;
+
+        List<Future<T>> pending = new ArrayList<>();
+        for (File file : files) {
+            Shard shard = shards.computeIfAbsent(file.getName(), name -> new Shard(file));
+            pending.add(fanOutPool().submit(() -> shard.read(reader, null)));
+        }
+
+        for (int i = 0; i < pending.size(); i++) {
+            try {
+                T result = pending.get(i).get();
+                if (result != null) results.add(result);
+            } catch (ExecutionException e) {
+                System.out.println("⚠️ [BallotShards] Could not read " + files[i].getName() + ": " + e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return results;
+    }
+
+    private static synchronized ExecutorService fanOutPool() {
+        if (fanOutPool == null) {
+            fanOutPool = Executors.newFixedThreadPool(FAN_OUT_THREADS, runnable -> {
+                Thread thread = new Thread(runnable, "ballot-fanout");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return fanOutPool;
+    }
+
+    // ==================== MAINTENANCE ====================
+
+    /**
+     * Delete every ballot in every election file (used by clearVotes)
+     */
+    static boolean clearAll() {
+        File[] files = DIRECTORY.listFiles((dir, name) -> name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX));
+        if (files == null) return true;
+
+        boolean ok = true;
+        for (File file : files) {
+            WriteQueue writer = shards.computeIfAbsent(file.getName(), name -> new Shard(file)).writer;
+            try {
+                writer.submit("DELETE FROM votes").get();
+                writer.submit("DELETE FROM tallies").get();
+            } catch (Exception e) {
+                System.out.println("❌ [BallotShards] Could not clear " + file.getName() + ": " + e.getMessage());
+                ok = false;
+            }
+        }
+        return ok;
+    }
+
+    /**
+     * Rebuild the tallies of every election file from its votes (used by rebuildTallies)
+     */
+    static boolean rebuildAllTallies() {
+        File[] files = DIRECTORY.listFiles((dir, name) -> name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX));
+        if (files == null) return true;
+
+        boolean ok = true;
+        for (File file : files) {
+            WriteQueue writer = shards.computeIfAbsent(file.getName(), name -> new Shard(file)).writer;
+            try {
+                writer.submitAll(Arrays.asList(SqlElectionDataManager.CLEAR_TALLIES_SQL, SqlElectionDataManager.REBUILD_TALLIES_SQL),
+                                 Arrays.asList(new Object[0], new Object[0])).get();
+            } catch (Exception e) {
+                System.out.println("❌ [BallotShards] Could not rebuild tallies in " + file.getName() + ": " + e.getMessage());
+                ok = false;
+            }
+        }
+        return ok;
+    }
+
+    /**
+     * Drain the writers and close every open ballot file
+     */
+    public static void closeAll() {
+        for (Shard shard : shards.values()) {
+            shard.close();
+        }
+        shards.clear();
+    }
+
+    /**
+     * One line per open ballot file, for logs and the admin dashboard
+     */
+    public static String getStats() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Shard> entry : new TreeMap<>(shards).entrySet()) {
+            sb.append(entry.getKey()).append(": ").append(entry.getValue().writer.getStats()).append("\n");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,323 @@
+package Data;
+
+import Utils.SecurityUtils;
+import Utils.SecurityUtils.CredentialScheme;
+import java.io.*;
+import java.nio.file.*;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Upgrades every stored credential to a tagged (versioned) form, so a login
+ * runs exactly one verification instead of trying plaintext, salted,
+ * unsalted and hashPasswordOld in turn.
+ *
+ *   PLAINTEXT      hashed now with the current parameters (fresh salt)
+ *   UNSALTED       relabelled $sha256$1$..., the same hash
+ *   SALTED_LEGACY  relabelled $legacy$0$...; iterated and single-pass hashes
+ *                  look identical, so these keep two candidates until their
+ *                  first successful login re-hashes them
+ *   VERSIONED, UNREGISTERED, UNKNOWN   left alone
+ *
+ * Stores: the voter and admin text files (id:name:credential[:...] with salts
+ * in id:salt files) and the voters / admins tables. Every write is a
+ * compare-and-set on the old credential and salt, so a record changed by a
+ * login or a password change while the job runs is simply skipped. In the
+ * voter files, credential and salt are swapped together under
+ * ElectionData.VOTER_FILES_LOCK, the lock its own writers hold. Hashing
+ * happens before the lock is taken, which keeps the rewrite window short.
+ *
+ * The text files are upgraded offline only (RunCredentialUpgrade): AdminData
+ * rewrites its files without a lock. The tables are also upgraded once in
+ * the background at startup (-Delection.credentialUpgrade=false turns that off).
+ */
+public class CredentialUpgrade {
+    private static final int ID = 0;
+    private static final int CREDENTIAL = 2;
+
+    /**
+     * What the job found and did in one store
+     */
+    public static class StoreReport {
+        public final String store;
+        public final Map<CredentialScheme, Integer> found = new EnumMap<>(CredentialScheme.class);
+        public int hashed = 0;
+        public int tagged = 0;
+        public int changedMeanwhile = 0;
+        public int failed = 0;
+
+        StoreReport(String store) {
+            this.store = store;
+        }
+
+        void count(CredentialScheme scheme) {
+            found.merge(scheme, 1, Integer::sum);
+        }
+
+        @Override
+        public String toString() {
+            return store + ": found " + found + ", hashed=" + hashed + " tagged=" + tagged
+                   + " skipped(changed)=" + changedMeanwhile + " failed=" + failed;
+        }
+    }
+
+    /**
+     * A planned replacement for one record
+     */
+    private static class Change {
+        final String id;
+        final String oldValue;
+        final String oldSalt;
+        final String newValue;
+        final String newSalt;   // null = keep the salt
+        final boolean hashed;
+
+        Change(String id, String oldValue, String oldSalt, String newValue, String newSalt, boolean hashed) {
+            this.id = id;
+            this.oldValue = oldValue;
+            this.oldSalt = oldSalt;
+            this.newValue = newValue;
+            this.newSalt = newSalt;
+            this.hashed = hashed;
+        }
+    }
+
+    // ==================== ENTRY POINTS ====================
+
+    /**
+     * Upgrade (or with dryRun only classify) all credential stores
+     */
+    public static List<StoreReport> run(boolean dryRun) {
+        return run(dryRun, true);
+    }
+
+    private static List<StoreReport> run(boolean dryRun, boolean includeFiles) {
+        System.out.println("🔐 [CredentialUpgrade] " + (dryRun ? "Classifying" : "Upgrading") + " stored credentials...");
+        List<StoreReport> reports = new ArrayList<>();
+
+        if (includeFiles) {
+            reports.add(upgradeFile("voter file", ElectionData.VOTER_FILE, ElectionData.VOTER_SALT_FILE,
+                                    ElectionData.VOTER_FILES_LOCK, dryRun));
+            // AdminData takes no lock, so this one is only safe with the application stopped
+            reports.add(upgradeFile("admin file", AdminData.ADMIN_FILE, AdminData.ADMIN_SALT_FILE,
+                                    AdminData.class, dryRun));
+        }
+        reports.add(upgradeTable("voters", "voter_id", dryRun));
+        reports.add(upgradeTable("admins", "admin_id", dryRun));
+
+        for (StoreReport report : reports) {
+            System.out.println("📊 [CredentialUpgrade] " + report);
+        }
+        return reports;
+    }
+
+    /**
+     * Upgrade the tables once on a low-priority daemon thread; the text
+     * files are left to RunCredentialUpgrade
+     */
+    public static void startInBackground() {
+        if (!Boolean.parseBoolean(System.getProperty("election.credentialUpgrade", "true"))) return;
+
+        Thread thread = new Thread(() -> run(false, false), "credential-upgrade");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * The replacement for a stored credential, or null if it stays as it is
+     */
+    private static Change plan(String id, String stored, String salt, StoreReport report) {
+        CredentialScheme scheme = SecurityUtils.classifyCredential(stored, salt);
+        report.count(scheme);
+
+        switch (scheme) {
+            case PLAINTEXT:
+                String newSalt = SecurityUtils.generateSalt();
+                String hash = SecurityUtils.encodePassword(stored, newSalt);
+                if (hash == null) {
+                    report.failed++;
+                    return null;
+                }
+                return new Change(id, stored, salt, hash, newSalt, true);
+            case UNSALTED:
+            case SALTED_LEGACY:
+                return new Change(id, stored, salt, SecurityUtils.tagCredential(stored, salt), null, false);
+            default:
+                return null;
+        }
+    }
+
+    // ==================== TEXT FILES ====================
+
+    private static StoreReport upgradeFile(String name, String credentialFile, String saltFile,
+                                           Object lock, boolean dryRun) {
+        StoreReport report = new StoreReport(name);
+        if (!new File(credentialFile).exists()) return report;
+
+        Map<String, Change> changes = new LinkedHashMap<>();
+        try {
+            Map<String, String> salts = readSalts(saltFile);
+            for (String line : Files.readAllLines(Paths.get(credentialFile))) {
+                String[] parts = line.split(":", -1);
+                if (line.trim().isEmpty() || parts.length <= CREDENTIAL) continue;
+
+                String id = parts[ID];
+                Change change = plan(id, parts[CREDENTIAL].trim(), salts.get(id), report);
+                if (change != null) changes.put(id, change);
+            }
+
+            if (dryRun || changes.isEmpty()) return report;
+
+            synchronized (lock) {
+                backup(credentialFile);
+                backup(saltFile);
+                applyToFiles(credentialFile, saltFile, changes, report);
+            }
+        } catch (IOException e) {
+            System.err.println("❌ [CredentialUpgrade] " + name + ": " + e.getMessage());
+            report.failed += changes.size();
+        }
+        return report;
+    }
+
+    /**
+     * First salt per id wins, as in ElectionData.getVoterSalt / AdminData.getAdminSalt
+     */
+    private static Map<String, String> readSalts(String saltFile) throws IOException {
+        Map<String, String> salts = new HashMap<>();
+        if (!new File(saltFile).exists()) return salts;
+
+        for (String line : Files.readAllLines(Paths.get(saltFile))) {
+            String[] parts = line.split(":");
+            if (parts.length >= 2) salts.putIfAbsent(parts[0], parts[1]);
+        }
+        return salts;
+    }
+
+    /**
+     * Re-read both files and swap in each new credential and salt only if the
+     * record still holds the credential and salt that were planned from.
+     * Caller holds the files' lock.
+     */
+    private static void applyToFiles(String credentialFile, String saltFile, Map<String, Change> changes,
+                                     StoreReport report) throws IOException {
+        Map<String, String> salts = readSalts(saltFile);
+        List<String> lines = new ArrayList<>();
+        Map<String, Change> applied = new LinkedHashMap<>();
+
+        for (String line : Files.readAllLines(Paths.get(credentialFile))) {
+            String[] parts = line.split(":", -1);
+            Change change = parts.length > CREDENTIAL ? changes.get(parts[ID]) : null;
+
+            if (change != null && !applied.containsKey(change.id)
+                    && parts[CREDENTIAL].trim().equals(change.oldValue)
+                    && Objects.equals(salts.get(change.id), change.oldSalt)) {
+                parts[CREDENTIAL] = change.newValue;
+                lines.add(String.join(":", parts));
+                applied.put(change.id, change);
+            } else {
+                lines.add(line);
+            }
+        }
+        report.changedMeanwhile += changes.size() - applied.size();
+        if (applied.isEmpty()) return;
+
+        // Salts first, and put back if the credentials cannot be written, so the pair always matches
+        List<String> oldSaltLines = new File(saltFile).exists()
+            ? Files.readAllLines(Paths.get(saltFile)) : new ArrayList<>();
+        ElectionData.replaceFile(saltFile, withNewSalts(oldSaltLines, applied.values()));
+        try {
+            ElectionData.replaceFile(credentialFile, lines);
+        } catch (IOException e) {
+            ElectionData.replaceFile(saltFile, oldSaltLines);
+            throw e;
+        }
+
+        for (Change change : applied.values()) {
+            if (change.hashed) report.hashed++; else report.tagged++;
+        }
+    }
+
+    /**
+     * The salt file's lines with each new salt in place of the id's old entry
+     */
+    private static List<String> withNewSalts(List<String> saltLines, Collection<Change> applied) {
+        Map<String, String> newSalts = new LinkedHashMap<>();
+        for (Change change : applied) {
+            if (change.newSalt != null) newSalts.put(change.id, change.newSalt);
+        }
+
+        List<String> lines = new ArrayList<>();
+        Set<String> written = new HashSet<>();
+        for (String line : saltLines) {
+            if (line.trim().isEmpty()) continue;
+            String id = line.split(":")[0];
+            if (!newSalts.containsKey(id)) {
+                lines.add(line);
+            } else if (written.add(id)) {
+                lines.add(id + ":" + newSalts.get(id));   // drop later duplicates of this id
+            }
+        }
+        for (Map.Entry<String, String> entry : newSalts.entrySet()) {
+            if (written.add(entry.getKey())) lines.add(entry.getKey() + ":" + entry.getValue());
+        }
+        return lines;
+    }
+
+    private static void backup(String path) throws IOException {
+        if (new File(path).exists()) {
+            Files.copy(Paths.get(path), Paths.get(path + ".backup." + System.currentTimeMillis()),
+                       StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // ==================== SQL TABLES ====================
+
+    private static StoreReport upgradeTable(String table, String idColumn, boolean dryRun) {
+        StoreReport report = new StoreReport(table);
+        List<Change> changes = new ArrayList<>();
+
+        Connection conn = DatabaseManager.getConnection();
+        if (conn == null) return report;
+
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT " + idColumn + ", password_hash, salt FROM " + table)) {
+            while (rs.next()) {
+                Change change = plan(rs.getString(1), rs.getString(2), rs.getString(3), report);
+                if (change != null) changes.add(change);
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ [CredentialUpgrade] " + table + ": " + e.getMessage());
+            return report;
+        }
+
+        if (dryRun || changes.isEmpty()) return report;
+
+        String keepSalt = "UPDATE " + table + " SET password_hash = ? WHERE " + idColumn + " = ? AND password_hash = ?";
+        String newSalt = "UPDATE " + table + " SET password_hash = ?, salt = ? WHERE " + idColumn + " = ? AND password_hash = ?";
+
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (Change change : changes) {
+            results.add(change.newSalt == null
+                ? DatabaseWriter.submit(keepSalt, change.newValue, change.id, change.oldValue)
+                : DatabaseWriter.submit(newSalt, change.newValue, change.newSalt, change.id, change.oldValue));
+        }
+
+        for (int i = 0; i < changes.size(); i++) {
+            try {
+                if (results.get(i).join() == 0) {
+                    report.changedMeanwhile++;
+                } else if (changes.get(i).hashed) {
+                    report.hashed++;
+                } else {
+                    report.tagged++;
+                }
+            } catch (Exception e) {
+                report.failed++;
+            }
+        }
+        return report;
+    }
+}
@@ -210,6 +210,7 @@ public class DataMigrationUtility {
                 stmt.setString(4, isRegistered ? salt : null);
                 stmt.setInt(5, isRegistered ? 1 : 0);
                 stmt.executeUpdate();
+                VoterIdFilter.addedToDatabase(voterId);
                 return true;
             }
         } catch (java.sql.SQLException e) {
@@ -9,24 +9,33 @@ import java.util.*;
  * No more plain text database files - all data is stored in SQLite.
  */
 public class DatabaseManager {
-    private static final String DB_URL = "jdbc:sqlite:election_system.db";
+    // -Delection.db=<path> points the application (or a test harness) at another database file
+    private static final String DB_PATH = System.getProperty("election.db", "election_system.db");
+    // -Delection.dialect=sqlite|h2 selects the database engine (see SqlDialect)
+    private static final SqlDialect DIALECT = SqlDialect.forName(System.getProperty("election.dialect", "sqlite"));
+    private static final String DB_URL = DIALECT.getJdbcUrl(DB_PATH);
     private static Connection connection = null;
     
+    // Messages raised by the votes triggers, mapped back to typed outcomes by callers
+    static final String VOTE_UNKNOWN_VOTER = "UNKNOWN_VOTER";
+    static final String VOTE_UNKNOWN_NOMINEE = "UNKNOWN_NOMINEE";
+    
     public static Connection getConnection() {
         try {
             // If connection is null or closed, (re)open it
             if (connection == null || connection.isClosed()) {
                 try {
-                    Class.forName("org.sqlite.JDBC");
+                    Class.forName(DIALECT.getDriverClass());
                 } catch (ClassNotFoundException e) {
-                    System.out.println("❌ SQLite JDBC driver not found: " + e.getMessage());
+                    System.out.println("❌ JDBC driver not found for " + DIALECT.getName() + ": " + e.getMessage());
                     connection = null;
                     return null;
                 }
 
                 try {
-                    connection = DriverManager.getConnection(DB_URL);
+                    connection = InstrumentedConnection.wrap(DriverManager.getConnection(DB_URL));
                     connection.setAutoCommit(true);
+                    DIALECT.configureConnection(connection);
                     System.out.println("✅ Database connection established");
                     // Do NOT call initializeDatabase() here to avoid repeated initialization
                     // Initialization should be performed once at startup via initializeDatabase().
@@ -43,6 +52,54 @@ public class DatabaseManager {
         return connection;
     }
     
+    /**
+     * Open a separate (instrumented) connection to the same database file.
+     * Used by components that must not share (or close) the common connection,
+     * such as the background writer.
+     */
+    static Connection openDedicatedConnection() throws SQLException {
+        return openConnection(DB_PATH);
+    }
+    
+    /**
+     * Open an instrumented, configured connection to any database file
+     * (the main database or an election's ballot file)
+     */
+    static Connection openConnection(String path) throws SQLException {
+        try {
+            Class.forName(DIALECT.getDriverClass());
+        } catch (ClassNotFoundException e) {
+            System.out.println("❌ JDBC driver not found for " + DIALECT.getName() + ": " + e.getMessage());
+            return null;
+        }
+        
+        Connection conn = InstrumentedConnection.wrap(DriverManager.getConnection(DIALECT.getJdbcUrl(path)));
+        DIALECT.configureConnection(conn);
+        return conn;
+    }
+    
+    static String getDatabasePath() {
+        return DB_PATH;
+    }
+    
+    /**
+     * The engine-specific SQL in use (-Delection.dialect)
+     */
+    public static SqlDialect getDialect() {
+        return DIALECT;
+    }
+    
+    /**
+     * Open a connection that refuses writes, for the snapshot read pool
+     */
+    static Connection openReadOnlyConnection() throws SQLException {
+        Connection conn = openDedicatedConnection();
+        if (conn == null) return null;
+        
+        DIALECT.makeReadOnly(conn);
+        return conn;
+    }
+    
     /**
      * Initialize database - creates tables and fixes schema
      */
@@ -58,6 +115,8 @@ public class DatabaseManager {
             createTables();
             fixExistingSchema();  // Fix any existing databases
             createMissingColumns(); // Ensure all columns exist
+            createVoteConstraints(); // Ballot uniqueness and reference checks
+            pruneWriteTokens();
             
             // Verify everything is okay
             if (!verifyTables()) {
@@ -80,6 +139,22 @@ public class DatabaseManager {
         if (connection == null) getConnection();
         fixExistingSchema();
         createMissingColumns();
+        createVoteConstraints();
+    }
+    
+    /**
+     * Drop idempotency tokens old enough that no retry can still carry them
+     */
+    private static void pruneWriteTokens() {
+        try (Statement stmt = connection.createStatement()) {
+            int removed = stmt.executeUpdate(
+                "DELETE FROM write_tokens WHERE applied_at < " + DIALECT.daysAgo("1"));
+            if (removed > 0) {
+                System.out.println("🧹 Pruned " + removed + " expired write tokens");
+            }
+        } catch (SQLException e) {
+            System.out.println("⚠️ Could not prune write tokens: " + e.getMessage());
+        }
     }
     
     private static void createTables() {
@@ -121,26 +196,40 @@ public class DatabaseManager {
             "name TEXT NOT NULL, " +
             "party TEXT NOT NULL, " +
             "position TEXT, " +
+            "election_id TEXT NOT NULL DEFAULT 'DEFAULT', " +
             "is_active INTEGER DEFAULT 1, " +
             "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)",
             
-            // Votes table
+            // Votes table (one ballot per voter per election, see createVoteConstraints)
             "CREATE TABLE IF NOT EXISTS votes (" +
-            "vote_id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+            DIALECT.autoIncrementKey("vote_id") + ", " +
             "voter_id TEXT NOT NULL, " +
             "nominee_id TEXT NOT NULL, " +
-            "cast_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
-            "FOREIGN KEY (voter_id) REFERENCES voters(voter_id), " +
-            "FOREIGN KEY (nominee_id) REFERENCES nominees(nominee_id))",
+            "election_id TEXT NOT NULL DEFAULT 'DEFAULT', " +
+            "cast_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+            DIALECT.foreignKey("voter_id", "voters(voter_id)") +
+            DIALECT.foreignKey("nominee_id", "nominees(nominee_id)") + ")",
+            
+            // Per-nominee vote tallies, maintained by triggers on votes
+            "CREATE TABLE IF NOT EXISTS tallies (" +
+            "election_id TEXT NOT NULL, " +
+            "nominee_id TEXT NOT NULL, " +
+            "vote_count INTEGER NOT NULL DEFAULT 0, " +
+            "PRIMARY KEY (election_id, nominee_id))" + DIALECT.keyOnlyTableOptions(),
+            
+            // Idempotency tokens claimed by DatabaseWriter, so a resubmitted write applies once
+            "CREATE TABLE IF NOT EXISTS write_tokens (" +
+            "token TEXT PRIMARY KEY, " +
+            "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)",
             
             // Audit logs table (column names must match SqlAdminManager expectations)
             "CREATE TABLE IF NOT EXISTS audit_logs (" +
-            "id INTEGER PRIMARY KEY AUTOINCREMENT, " +  // Changed from log_id to id
+            DIALECT.autoIncrementKey("id") + ", " +  // Changed from log_id to id
             "admin_id TEXT, " +
             "action TEXT NOT NULL, " +
             "details TEXT, " +
-            "timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
-            "FOREIGN KEY (admin_id) REFERENCES admins(admin_id))",
+            "timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+            DIALECT.foreignKey("admin_id", "admins(admin_id)") + ")",
             
             // Election configuration
             "CREATE TABLE IF NOT EXISTS election_config (" +
@@ -227,44 +316,47 @@ public class DatabaseManager {
         // Admins table columns (must match SqlAdminManager expectations)
         requiredColumns.put("admins", new String[]{
             "password_hash", "role", "salt", "permissions", "is_active",
-            "needs_password_reset", "created_at", "last_login", "updated_at"
+            "needs_password_reset", "created_at", "last_login", "updated_at",
+            "failed_login_attempts", "account_locked_until"
         });
         
         // Audit logs columns (must match SqlAdminManager expectations)
         requiredColumns.put("audit_logs", new String[]{
-            "admin_id", "action", "details", "timestamp"
+            "admin_id", "action", "details", "timestamp", "ip_address", "user_agent"
         });
         
         // Voters table columns
         requiredColumns.put("voters", new String[]{
             "password_hash", "salt", "email", "is_registered",
-            "has_voted", "registered_at", "last_login", "created_at"
+            "has_voted", "registered_at", "last_login", "created_at", "image_path"
+        });
+        
+        // Nominees table columns
+        requiredColumns.put("nominees", new String[]{
+            "election_id"
+        });
+        
+        // Votes table columns
+        requiredColumns.put("votes", new String[]{
+            "election_id"
         });
         
         try (Statement stmt = connection.createStatement()) {
             for (String tableName : requiredColumns.keySet()) {
-                // Check if table exists
-                String checkTableSql = "SELECT name FROM sqlite_master WHERE type='table' AND name='" + tableName + "'";
-                ResultSet rs = stmt.executeQuery(checkTableSql);
+                // Only tables that exist; missing tables are created elsewhere
+                Set<String> existing = DIALECT.getColumns(connection, tableName);
+                if (existing.isEmpty()) continue;
                 
-                if (rs.next()) {
-                    // Table exists, check columns
-                    for (String columnName : requiredColumns.get(tableName)) {
-                        try {
-                            // Try to select the column - if it fails, column doesn't exist
-                            String testSql = "SELECT " + columnName + " FROM " + tableName + " LIMIT 0";
-                            stmt.execute(testSql);
-                        } catch (SQLException e) {
-                            // Column doesn't exist, try to add it
-                            String addColumnSql = "ALTER TABLE " + tableName + 
-                                                 " ADD COLUMN " + getColumnDefinition(tableName, columnName);
-                            try {
-                                stmt.execute(addColumnSql);
-                                System.out.println("✅ Added column " + columnName + " to " + tableName);
-                            } catch (SQLException ex) {
-                                System.out.println("⚠️ Could not add column " + columnName + " to " + tableName + ": " + ex.getMessage());
-                            }
-                        }
+                for (String columnName : requiredColumns.get(tableName)) {
+                    if (existing.contains(columnName)) continue;
+                    
+                    String addColumnSql = "ALTER TABLE " + tableName + 
+                                         " ADD COLUMN " + getColumnDefinition(tableName, columnName);
+                    try {
+                        stmt.execute(addColumnSql);
+                        System.out.println("✅ Added column " + columnName + " to " + tableName);
+                    } catch (SQLException ex) {
+                        System.out.println("⚠️ Could not add column " + columnName + " to " + tableName + ": " + ex.getMessage());
                     }
                 }
             }
@@ -273,6 +365,53 @@ public class DatabaseManager {
         }
     }
     
+    /**
+     * Enforce ballot rules in the schema so a single INSERT both validates and
+     * records a vote: a unique key per (election, voter), reference checks that
+     * abort with a typed message, and the has_voted flag set in the same statement.
+     * Reference checks are triggers because PRAGMA foreign_keys stays off on the
+     * shared connection (audit rows reference pseudo-admins such as "system").
+     * The indexes behind the vote, turnout and tally lookups live here too.
+     * Trigger bodies are engine-specific and come from the dialect; tallies are
+     * kept in step with votes inside the same statement.
+     */
+    private static void createVoteConstraints() {
+        if (connection == null) return;
+        
+        String[] constraints = {
+            // Registered-voter counts for turnout figures
+            "CREATE INDEX IF NOT EXISTS idx_voters_registered ON voters(is_registered)",
+            
+            // Election-scoped lookups: eligibility, per-election recounts, ballot listings
+            "CREATE UNIQUE INDEX IF NOT EXISTS idx_votes_election_voter ON votes(election_id, voter_id)",
+            "CREATE INDEX IF NOT EXISTS idx_votes_election_nominee ON votes(election_id, nominee_id)",
+            "CREATE INDEX IF NOT EXISTS idx_votes_voter ON votes(voter_id)",
+            "CREATE INDEX IF NOT EXISTS idx_nominees_election ON nominees(election_id, is_active, nominee_id)"
+        };
+        
+        // Seed tallies once for databases that already hold votes
+        String seedTallies = "INSERT INTO tallies (election_id, nominee_id, vote_count) " +
+                            "SELECT election_id, nominee_id, COUNT(*) FROM votes " +
+                            "WHERE NOT EXISTS (SELECT 1 FROM tallies) " +
+                            "GROUP BY election_id, nominee_id";
+        
+        try (Statement stmt = connection.createStatement()) {
+            List<String> statements = new ArrayList<>(DIALECT.tallyTriggers());
+            statements.addAll(Arrays.asList(constraints));
+            statements.addAll(DIALECT.ballotTriggers());
+            statements.add(seedTallies);
+            for (String sql : statements) {
+                try {
+                    stmt.execute(sql);
+                } catch (SQLException e) {
+                    System.out.println("⚠️ Could not create vote constraint: " + e.getMessage());
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("⚠️ Error creating vote constraints: " + e.getMessage());
+        }
+    }
+    
     /**
      * Get column definition based on table and column name
      */
@@ -287,11 +426,14 @@ public class DatabaseManager {
                         return columnName + " TEXT NOT NULL DEFAULT ''";
                     case "is_active":
                     case "needs_password_reset":
+                    case "failed_login_attempts":
                         return columnName + " INTEGER DEFAULT 0";
                     case "created_at":
                     case "last_login":
                     case "updated_at":
                         return columnName + " TIMESTAMP DEFAULT CURRENT_TIMESTAMP";
+                    case "account_locked_until":
+                        return columnName + " TIMESTAMP";
                 }
                 break;
                 
@@ -323,6 +465,14 @@ public class DatabaseManager {
                         return columnName + " TIMESTAMP DEFAULT CURRENT_TIMESTAMP";
                 }
                 break;
+                
+            case "nominees":
+            case "votes":
+                switch (columnName) {
+                    case "election_id":
+                        return columnName + " TEXT NOT NULL DEFAULT 'DEFAULT'";
+                }
+                break;
         }
         
         // Default fallback
@@ -341,17 +491,14 @@ public class DatabaseManager {
         }
         
         String[] requiredTables = {
-            "admins", "voters", "nominees", "votes", "audit_logs", "election_config"
+            "admins", "voters", "nominees", "votes", "tallies", "write_tokens", "audit_logs", "election_config"
         };
         
         try (Statement stmt = connection.createStatement()) {
             boolean allTablesExist = true;
             
             for (String tableName : requiredTables) {
-                String sql = "SELECT name FROM sqlite_master WHERE type='table' AND name='" + tableName + "'";
-                ResultSet rs = stmt.executeQuery(sql);
-                
-                if (rs.next()) {
+                if (DIALECT.tableExists(connection, tableName)) {
                     System.out.println("✅ Table exists: " + tableName);
                 } else {
                     System.out.println("❌ Table missing: " + tableName);
@@ -469,22 +616,9 @@ public class DatabaseManager {
     }
     
     /**
-     * Backup database to file
+     * Backup database to file (online, verified; see BackupManager)
      */
     public static boolean backupDatabase(String backupPath) {
-        Connection conn = getConnection();
-        if (conn == null) return false;
-        
-        try {
-            String backupSql = "BACKUP TO '" + backupPath + "'";
-            try (Statement stmt = conn.createStatement()) {
-                stmt.execute(backupSql);
-                System.out.println("✅ Database backed up to: " + backupPath);
-                return true;
-            }
-        } catch (SQLException e) {
-            System.out.println("❌ Database backup failed: " + e.getMessage());
-            return false;
-        }
+        return BackupManager.backupTo(new java.io.File(backupPath), null).success;
     }
 }
\ No newline at end of file
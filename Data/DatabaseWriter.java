@@ -0,0 +1,144 @@
+package Data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Single writer for the main SQLite database.
+ * SQLite allows one writer at a time, so instead of every thread competing
+ * for the write lock, writes are queued and applied by one thread on its own
+ * connection, many per transaction (see WriteQueue).
+ *
+ * Callers that need confirmation keep the returned future; fire-and-forget
+ * callers (audit rows, activity timestamps) just ignore it.
+ */
+public class DatabaseWriter {
+
+    /** Update count reported for a token that was already applied by an earlier submission */
+    public static final int ALREADY_APPLIED = WriteQueue.ALREADY_APPLIED;
+
+    private static final WriteQueue MAIN = new WriteQueue("sqlite-writer", DatabaseManager::openDedicatedConnection);
+
+    /** Claims an idempotency token inside the batch that carries its write */
+    public static final String CLAIM_TOKEN_SQL = WriteQueue.CLAIM_TOKEN_SQL;
+
+    // ==================== SUBMISSION ====================
+
+    /**
+     * Queue a write. The future completes with the update count once the
+     * batch containing it has committed, or exceptionally with the SQLException.
+     */
+    public static CompletableFuture<Integer> submit(String sql, Object... params) {
+        return MAIN.submit(sql, params);
+    }
+
+    /**
+     * Queue a write that must take effect at most once. If a write with the
+     * same token has already committed, the statement is not run again and the
+     * future completes with ALREADY_APPLIED. A null token behaves like submit().
+     */
+    public static CompletableFuture<Integer> submitIdempotent(String token, String sql, Object... params) {
+        return MAIN.submitIdempotent(token, sql, params);
+    }
+
+    /**
+     * Queue a write whose outcome the caller does not wait for.
+     * Failures are logged by the writer thread.
+     */
+    public static void enqueue(String sql, Object... params) {
+        MAIN.enqueue(sql, params);
+    }
+
+    /**
+     * Statements that must commit together, e.g. everything one login changes
+     */
+    public static class Batch {
+        private final List<String> sql = new ArrayList<>();
+        private final List<Object[]> params = new ArrayList<>();
+
+        public Batch add(String statement, Object... values) {
+            sql.add(statement);
+            params.add(values);
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return sql.isEmpty();
+        }
+
+        public int size() {
+            return sql.size();
+        }
+    }
+
+    /**
+     * Queue a batch as one write: all of its statements apply or none do.
+     * The future completes with their total update count.
+     */
+    public static CompletableFuture<Integer> submit(Batch batch) {
+        return MAIN.submitAll(batch.sql, batch.params);
+    }
+
+    /**
+     * Queue a batch whose outcome the caller does not wait for
+     */
+    public static void enqueue(Batch batch) {
+        if (!batch.isEmpty()) MAIN.enqueueAll(batch.sql, batch.params);
+    }
+
+    /**
+     * Block until everything queued before this call has been committed
+     */
+    public static void flush() {
+        MAIN.flush();
+    }
+
+    /**
+     * Stop the writer after draining the queue
+     */
+    public static void shutdown() {
+        MAIN.shutdown();
+    }
+
+    // ==================== METRICS ====================
+
+    public static int getQueueDepth() {
+        return MAIN.getQueueDepth();
+    }
+
+    public static long getCommittedBatches() {
+        return MAIN.getCommittedBatches();
+    }
+
+    public static long getCommittedWrites() {
+        return MAIN.getCommittedWrites();
+    }
+
+    public static long getFailedWrites() {
+        return MAIN.getFailedWrites();
+    }
+
+    public static int getMaxBatchSize() {
+        return MAIN.getMaxBatchSize();
+    }
+
+    public static double getLastCommitMillis() {
+        return MAIN.getLastCommitMillis();
+    }
+
+    public static double getMaxCommitMillis() {
+        return MAIN.getMaxCommitMillis();
+    }
+
+    public static double getAverageCommitMillis() {
+        return MAIN.getAverageCommitMillis();
+    }
+
+    /**
+     * One-line summary for logs and the admin dashboard
+     */
+    public static String getStats() {
+        return MAIN.getStats();
+    }
+}
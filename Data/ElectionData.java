@@ -5,6 +5,7 @@ import Entities.Voter;
 import Utils.SecurityUtils;
 import Utils.AuditLogger;
 import java.io.*;
+import java.nio.file.*;
 import java.util.*;
 
 public class ElectionData {
@@ -17,9 +18,9 @@ public class ElectionData {
     public static final String VOTER_VOTED_LOG = "database_voter_voted_log.txt";
     public static final String ELECTION_CONFIG_FILE = "election_config.txt";
     public static final String MULTI_ELECTION_POLICY_FILE = "election_multi_voting_policy.txt";
-    
-    private static final int MAX_LOGIN_ATTEMPTS = 3;
-    private static final long LOCKOUT_TIME_MS = 15 * 60 * 1000; // 15 minutes
+
+    /** Held by every rewrite of VOTER_FILE and VOTER_SALT_FILE (see also CredentialUpgrade) */
+    static final Object VOTER_FILES_LOCK = new Object();
 
     // -------------------- STATISTICS FUNCTIONS --------------------
 
@@ -81,6 +82,26 @@ public class ElectionData {
         return count;
     }
 
+    /**
+     * Ranked results: vote counts joined to the nominee file in one pass
+     * (each file is read once), highest first.
+     */
+    public static List<ResultRow> getResults() {
+        Map<String, String[]> nominees = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(NOMINEE_FILE))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(":");
+                if (parts.length >= 3) {
+                    nominees.put(parts[0], new String[]{ parts[1], parts[2] });
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("❌ Error reading nominees: " + e.getMessage());
+        }
+        return ResultRow.rank(getVoteCounts(), nominees);
+    }
+
     // -------------------- VOTER FUNCTIONS --------------------
 
     /**
@@ -92,6 +113,11 @@ public class ElectionData {
             return false;
         }
         
+        // Unknown IDs are answered from memory, without reading the file
+        if (!VoterIdFilter.mightExistInFile(voterId)) {
+            return false;
+        }
+        
         try (BufferedReader reader = new BufferedReader(new FileReader(VOTER_FILE))) {
             String line;
             while ((line = reader.readLine()) != null) {
@@ -111,7 +137,7 @@ public class ElectionData {
      * Check if voter is already registered (has password).
      */
     public static boolean isVoterRegistered(String voterId) {
-        if (voterId == null || voterId.trim().isEmpty()) {
+        if (voterId == null || voterId.trim().isEmpty() || !VoterIdFilter.mightExistInFile(voterId)) {
             return false;
         }
         
@@ -138,6 +164,10 @@ public class ElectionData {
      * Get voter name by ID.
      */
     public static String getVoterName(String voterId) {
+        if (!VoterIdFilter.mightExistInFile(voterId)) {
+            return "Unknown";
+        }
+        
         try (BufferedReader reader = new BufferedReader(new FileReader(VOTER_FILE))) {
             String line;
             while ((line = reader.readLine()) != null) {
@@ -167,43 +197,42 @@ public class ElectionData {
             return false;
         }
         
-        List<String> lines = new ArrayList<>();
-        boolean found = false;
-        
-        try (BufferedReader reader = new BufferedReader(new FileReader(VOTER_FILE))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty()) continue;
-                String[] parts = line.split(":");
-                if (parts.length >= 3 && parts[0].equals(voterId)) {
-                    found = true;
-                    // Update name and preserve password
-                    String password = parts[2];
-                    lines.add(parts[0] + ":" + newName.trim() + ":" + password);
-                } else {
-                    lines.add(line);
+        synchronized (VOTER_FILES_LOCK) {
+            List<String> lines = new ArrayList<>();
+            boolean found = false;
+            
+            try (BufferedReader reader = new BufferedReader(new FileReader(VOTER_FILE))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.trim().isEmpty()) continue;
+                    String[] parts = line.split(":");
+                    if (parts.length >= 3 && parts[0].equals(voterId)) {
+                        found = true;
+                        // Update name and preserve password
+                        String password = parts[2];
+                        lines.add(parts[0] + ":" + newName.trim() + ":" + password);
+                    } else {
+                        lines.add(line);
+                    }
                 }
+            } catch (IOException e) {
+                System.out.println("❌ Error reading voter file: " + e.getMessage());
+                return false;
             }
-        } catch (IOException e) {
-            System.out.println("❌ Error reading voter file: " + e.getMessage());
-            return false;
-        }
-        
-        if (!found) {
-            System.out.println("❌ Voter ID not found: " + voterId);
-            return false;
-        }
-        
-        try (PrintWriter writer = new PrintWriter(new FileWriter(VOTER_FILE))) {
-            for (String line : lines) {
-                writer.println(line);
+            
+            if (!found) {
+                System.out.println("❌ Voter ID not found: " + voterId);
+                return false;
+            }
+            
+            try {
+                replaceFile(VOTER_FILE, lines);
+                System.out.println("✅ Voter information updated: " + voterId);
+                return true;
+            } catch (IOException e) {
+                System.out.println("❌ Error writing voter file: " + e.getMessage());
+                return false;
             }
-            writer.flush();  // Explicit flush to disk
-            System.out.println("✅ Voter information updated: " + voterId);
-            return true;
-        } catch (IOException e) {
-            System.out.println("❌ Error writing voter file: " + e.getMessage());
-            return false;
         }
     }
 
@@ -222,6 +251,24 @@ public class ElectionData {
             return false;
         }
         
+        // Hash before taking the lock, which keeps the rewrite window short
+        String salt = SecurityUtils.generateSalt();
+        String hashedPassword = SecurityUtils.encodePassword(voter.getPassword(), salt);
+        
+        if (hashedPassword == null) {
+            System.out.println("❌ Failed to hash password");
+            return false;
+        }
+        
+        synchronized (VOTER_FILES_LOCK) {
+            return registerVoterLocked(voter, hashedPassword, salt);
+        }
+    }
+    
+    /**
+     * registerVoter's read-modify-write; caller holds VOTER_FILES_LOCK
+     */
+    private static boolean registerVoterLocked(Voter voter, String hashedPassword, String salt) {
         List<String> lines = new ArrayList<>();
         boolean voterExists = false;
         boolean alreadyRegistered = false;
@@ -250,19 +297,9 @@ public class ElectionData {
             return false;
         }
         
-        // Generate salt and hash password
-        String salt = SecurityUtils.generateSalt();
-        String hashedPassword = SecurityUtils.hashPassword(voter.getPassword(), salt);
-        
-        if (hashedPassword == null) {
-            System.out.println("❌ Failed to hash password");
-            return false;
-        }
-        
         // Save salt to separate file
-        try (BufferedWriter saltWriter = new BufferedWriter(new FileWriter(VOTER_SALT_FILE, true))) {
-            saltWriter.write(voter.getVoterId() + ":" + salt);
-            saltWriter.newLine();
+        try {
+            writeVoterSalt(voter.getVoterId(), salt);
         } catch (IOException e) {
             System.out.println("❌ Error saving salt: " + e.getMessage());
             return false;
@@ -285,12 +322,12 @@ public class ElectionData {
             lines.add(voter.getVoterId() + ":" + voter.getName() + ":" + hashedPassword);
         }
         
-        // Write back to file with explicit flush
-        try (PrintWriter writer = new PrintWriter(new FileWriter(VOTER_FILE))) {
-            for (String line : lines) {
-                writer.println(line);
+        // Write back to file
+        try {
+            replaceFile(VOTER_FILE, lines);
+            if (!voterExists) {
+                VoterIdFilter.addedToFile(voter.getVoterId());
             }
-            writer.flush();  // Explicit flush to disk
             System.out.println("✅ Voter " + voter.getVoterId() + " registered successfully!");
             return true;
         } catch (IOException e) {
@@ -311,93 +348,73 @@ public class ElectionData {
             return false;
         }
         
-        // Check if account is locked
-        if (isAccountLocked(voterId)) {
+        // Check if account is locked (in memory, see LoginLockout)
+        if (LoginLockout.isLocked(AuthService.Realm.VOTER, voterId)) {
             System.out.println("❌ Account locked: " + voterId + " - Too many failed attempts. Try again later.");
             return false;
         }
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(VOTER_FILE))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty()) continue;
-                String[] parts = line.split(":", -1);  // Use -1 to include empty parts
-                if (parts.length >= 3 && parts[0].equals(voterId)) {
-                    String storedPassword = parts[2].trim();
-                    
-                    // Check for unregistered voter
-                    if (storedPassword.isEmpty() || 
-                        storedPassword.equals("null") || 
-                        storedPassword.equals(SecurityUtils.generateEmptyPasswordHash())) {
-                        System.out.println("❌ Voter not registered. Please register first.");
-                        recordFailedAttempt(voterId);
-                        return false;
-                    }
-                    
-                    // Support both plaintext and hashed passwords for backward compatibility
-                    if (storedPassword.length() < 40) {
-                        // Plaintext or short password - direct comparison
-                        System.out.println("ℹ️  Validating with plaintext password (legacy)");
-                        if (storedPassword.equals(password)) {
-                            System.out.println("✅ Login successful (plaintext password match)");
-                            clearFailedAttempts(voterId);
-                            return true;
-                        } else {
-                            System.out.println("❌ Password mismatch for voter: " + voterId);
-                            recordFailedAttempt(voterId);
-                            return false;
-                        }
-                    }
-                    
-                    // Hashed password - validate with salt
-                    // Get voter salt
-                    String salt = getVoterSalt(voterId);
-                    if (salt == null || salt.isEmpty()) {
-                        System.out.println("⚠️  No salt found for voter: " + voterId + ". Trying without salt.");
-                        // Try hashing without salt
-                        String inputHash = SecurityUtils.hashPassword(password, "");
-                        if (inputHash != null && storedPassword.equals(inputHash)) {
-                            System.out.println("✅ Login successful (no salt hash match)");
-                            clearFailedAttempts(voterId);
-                            return true;
-                        }
-                    } else {
-                        // Try hashing with salt (new algorithm)
-                        try {
-                            String inputHashNew = SecurityUtils.hashPassword(password, salt);
-                            if (inputHashNew != null && storedPassword.equals(inputHashNew)) {
-                                System.out.println("✅ Login successful (hashed password match)");
-                                clearFailedAttempts(voterId);
-                                return true;
-                            }
-                        } catch (Exception e) {
-                            System.out.println("⚠️  Error with new hashing algorithm: " + e.getMessage());
-                        }
-                    }
-                    
-                    // Try old hashing algorithm for backward compatibility
-                    try {
-                        String inputHashOld = SecurityUtils.hashPasswordOld(password, salt);
-                        if (inputHashOld != null && storedPassword.equals(inputHashOld)) {
-                            System.out.println("✅ Login successful (legacy hashed password match)");
-                            clearFailedAttempts(voterId);
-                            return true;
-                        }
-                    } catch (Exception e) {
-                        System.out.println("⚠️  Error with legacy hashing algorithm: " + e.getMessage());
+        if (!VoterIdFilter.mightExistInFile(voterId)) {
+            System.out.println("❌ Voter ID not found in database: " + voterId);
+            return false;
+        }
+        
+        // Credential and salt are read as one pair, so a concurrent password
+        // change cannot hand us the new salt with the old hash
+        String storedPassword = null;
+        String salt;
+        synchronized (VOTER_FILES_LOCK) {
+            try (BufferedReader reader = new BufferedReader(new FileReader(VOTER_FILE))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.trim().isEmpty()) continue;
+                    String[] parts = line.split(":", -1);  // Use -1 to include empty parts
+                    if (parts.length >= 3 && parts[0].equals(voterId)) {
+                        storedPassword = parts[2].trim();
+                        break;
                     }
-                    
-                    System.out.println("❌ Password mismatch for voter: " + voterId);
-                    recordFailedAttempt(voterId);
-                    return false;
                 }
+            } catch (IOException e) {
+                System.out.println("❌ Error validating voter: " + e.getMessage());
+                e.printStackTrace();
+                return false;
             }
+            salt = getVoterSalt(voterId);
+        }
+        
+        if (storedPassword == null) {
             System.out.println("❌ Voter ID not found in database: " + voterId);
-        } catch (IOException e) {
-            System.out.println("❌ Error validating voter: " + e.getMessage());
-            e.printStackTrace();
+            return false;
         }
-        return false;
+        
+        // One verification, chosen by how the credential is stored
+        SecurityUtils.CredentialScheme scheme = SecurityUtils.classifyCredential(storedPassword, salt);
+        
+        if (scheme == SecurityUtils.CredentialScheme.UNREGISTERED) {
+            System.out.println("❌ Voter not registered. Please register first.");
+            LoginLockout.recordFailure(AuthService.Realm.VOTER, voterId);
+            return false;
+        }
+        
+        if (!SecurityUtils.verifyCredential(password, storedPassword, salt)) {
+            System.out.println("❌ Password mismatch for voter: " + voterId + " (" + scheme + ")");
+            LoginLockout.recordFailure(AuthService.Realm.VOTER, voterId);
+            return false;
+        }
+        
+        System.out.println("✅ Login successful (" + scheme + ")");
+        LoginLockout.clear(AuthService.Realm.VOTER, voterId);
+        
+        // Re-hash with the current algorithm/cost while we have the password;
+        // skipped if the credential changed since it was verified
+        if (SecurityUtils.needsRehash(storedPassword)) {
+            if (updateVoterPasswordIfUnchanged(voterId, password, storedPassword)) {
+                System.out.println("🔐 Password hash upgraded for voter: " + voterId);
+            } else {
+                System.out.println("⚠️  Could not upgrade password hash for voter: " + voterId);
+            }
+        }
+        return true;
     }
     
     /**
@@ -428,117 +445,6 @@ public class ElectionData {
         return "";
     }
 
-    /**
-     * Record failed login attempt for brute force protection.
-     */
-    private static void recordFailedAttempt(String voterId) {
-        String lockFile = "database_login_attempts.txt";
-        Map<String, Integer> attempts = new HashMap<>();
-        Map<String, Long> lockTimes = new HashMap<>();
-        
-        // Read existing attempts
-        try (BufferedReader reader = new BufferedReader(new FileReader(lockFile))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty()) continue;
-                String[] parts = line.split(":");
-                if (parts.length >= 3) {
-                    attempts.put(parts[0], Integer.parseInt(parts[1]));
-                    lockTimes.put(parts[0], Long.parseLong(parts[2]));
-                }
-            }
-        } catch (IOException e) {
-            // File might not exist
-        }
-        
-        // Update attempts
-        int currentAttempts = attempts.getOrDefault(voterId, 0) + 1;
-        attempts.put(voterId, currentAttempts);
-        
-        // Lock account if max attempts reached
-        if (currentAttempts >= MAX_LOGIN_ATTEMPTS) {
-            lockTimes.put(voterId, System.currentTimeMillis());
-            System.out.println("⚠️ Account locked: " + voterId + " - Too many failed attempts");
-        }
-        
-        // Save attempts
-        try (PrintWriter writer = new PrintWriter(new FileWriter(lockFile))) {
-            for (Map.Entry<String, Integer> entry : attempts.entrySet()) {
-                writer.println(entry.getKey() + ":" + entry.getValue() + ":" + 
-                              lockTimes.getOrDefault(entry.getKey(), 0L));
-            }
-        } catch (IOException e) {
-            System.out.println("❌ Error recording failed attempt: " + e.getMessage());
-        }
-    }
-
-    /**
-     * Clear failed attempts after successful login.
-     */
-    private static void clearFailedAttempts(String voterId) {
-        String lockFile = "database_login_attempts.txt";
-        Map<String, Integer> attempts = new HashMap<>();
-        Map<String, Long> lockTimes = new HashMap<>();
-        
-        // Read existing attempts
-        try (BufferedReader reader = new BufferedReader(new FileReader(lockFile))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty()) continue;
-                String[] parts = line.split(":");
-                if (parts.length >= 3 && !parts[0].equals(voterId)) {
-                    attempts.put(parts[0], Integer.parseInt(parts[1]));
-                    lockTimes.put(parts[0], Long.parseLong(parts[2]));
-                }
-            }
-        } catch (IOException e) {
-            return;
-        }
-        
-        // Save without the cleared voter
-        try (PrintWriter writer = new PrintWriter(new FileWriter(lockFile))) {
-            for (Map.Entry<String, Integer> entry : attempts.entrySet()) {
-                writer.println(entry.getKey() + ":" + entry.getValue() + ":" + 
-                              lockTimes.getOrDefault(entry.getKey(), 0L));
-            }
-        } catch (IOException e) {
-            System.out.println("❌ Error clearing failed attempts: " + e.getMessage());
-        }
-    }
-
-    /**
-     * Check if account is locked due to too many failed attempts.
-     */
-    private static boolean isAccountLocked(String voterId) {
-        String lockFile = "database_login_attempts.txt";
-        File file = new File(lockFile);
-        if (!file.exists()) {
-            return false;
-        }
-        
-        try (BufferedReader reader = new BufferedReader(new FileReader(lockFile))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty()) continue;
-                String[] parts = line.split(":");
-                if (parts.length >= 3 && parts[0].equals(voterId)) {
-                    int attempts = Integer.parseInt(parts[1]);
-                    long lockTime = Long.parseLong(parts[2]);
-                    
-                    if (attempts >= MAX_LOGIN_ATTEMPTS) {
-                        long currentTime = System.currentTimeMillis();
-                        if (currentTime - lockTime < LOCKOUT_TIME_MS) {
-                            return true;
-                        }
-                    }
-                }
-            }
-        } catch (IOException | NumberFormatException e) {
-            return false;
-        }
-        return false;
-    }
-
     /**
      * Check if voter already voted.
      */
@@ -745,51 +651,52 @@ public class ElectionData {
             return false;
         }
         
-        List<String> lines = new ArrayList<>();
-        boolean deleted = false;
-        
-        try (BufferedReader reader = new BufferedReader(new FileReader(VOTER_FILE))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty()) continue;
-                String[] parts = line.split(":");
-                if (parts.length >= 1 && parts[0].equals(voterId)) {
-                    deleted = true;
-                } else {
-                    lines.add(line);
+        synchronized (VOTER_FILES_LOCK) {
+            List<String> lines = new ArrayList<>();
+            boolean deleted = false;
+            
+            try (BufferedReader reader = new BufferedReader(new FileReader(VOTER_FILE))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.trim().isEmpty()) continue;
+                    String[] parts = line.split(":");
+                    if (parts.length >= 1 && parts[0].equals(voterId)) {
+                        deleted = true;
+                    } else {
+                        lines.add(line);
+                    }
                 }
+            } catch (IOException e) {
+                System.out.println("❌ Error deleting voter: " + e.getMessage());
+                e.printStackTrace();
+                return false;
             }
-        } catch (IOException e) {
-            System.out.println("❌ Error deleting voter: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
-        
-        if (!deleted) {
-            System.out.println("❌ Voter not found: " + voterId);
-            return false;
-        }
-        
-        try (PrintWriter writer = new PrintWriter(new FileWriter(VOTER_FILE))) {
-            for (String line : lines) {
-                writer.println(line);
+            
+            if (!deleted) {
+                System.out.println("❌ Voter not found: " + voterId);
+                return false;
             }
             
+            try {
+                replaceFile(VOTER_FILE, lines);
+            } catch (IOException e) {
+                System.out.println("❌ Error saving voter file: " + e.getMessage());
+                e.printStackTrace();
+                return false;
+            }
             deleteVoterSalt(voterId);
-            deleteVoterVote(voterId);
-            clearFailedAttempts(voterId);
-            
-            System.out.println("✅ Voter deleted: " + voterId);
-            return true;
-        } catch (IOException e) {
-            System.out.println("❌ Error saving voter file: " + e.getMessage());
-            e.printStackTrace();
-            return false;
         }
+        
+        VoterIdFilter.removedFromFile();
+        deleteVoterVote(voterId);
+        LoginLockout.clear(AuthService.Realm.VOTER, voterId);
+        
+        System.out.println("✅ Voter deleted: " + voterId);
+        return true;
     }
 
     /**
-     * Delete voter salt from salt file.
+     * Delete voter salt from salt file. Caller holds VOTER_FILES_LOCK.
      */
     private static void deleteVoterSalt(String voterId) {
         try {
@@ -808,11 +715,7 @@ public class ElectionData {
                 }
             }
             
-            try (PrintWriter writer = new PrintWriter(new FileWriter(VOTER_SALT_FILE))) {
-                for (String line : lines) {
-                    writer.println(line);
-                }
-            }
+            replaceFile(VOTER_SALT_FILE, lines);
         } catch (IOException e) {
             System.out.println("❌ Error deleting voter salt: " + e.getMessage());
         }
@@ -852,6 +755,14 @@ public class ElectionData {
      * Update voter password with hashing.
      */
     public static boolean updateVoterPassword(String voterId, String newPassword) {
+        return updateVoterPasswordIfUnchanged(voterId, newPassword, null);
+    }
+    
+    /**
+     * Update voter password with hashing, only if the stored credential is
+     * still expectedCredential (null = whatever it is).
+     */
+    private static boolean updateVoterPasswordIfUnchanged(String voterId, String newPassword, String expectedCredential) {
         if (voterId == null || voterId.trim().isEmpty()) {
             System.out.println("❌ Invalid voter ID: " + voterId);
             return false;
@@ -864,46 +775,18 @@ public class ElectionData {
         
         // Generate new salt and hash
         String newSalt = SecurityUtils.generateSalt();
-        String newHashedPassword = SecurityUtils.hashPassword(newPassword, newSalt);
+        String newHashedPassword = SecurityUtils.encodePassword(newPassword, newSalt);
         
         if (newHashedPassword == null) {
             System.out.println("❌ Failed to hash new password");
             return false;
         }
         
-        List<String> lines = new ArrayList<>();
-        boolean updated = false;
-        
-        try (BufferedReader reader = new BufferedReader(new FileReader(VOTER_FILE))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty()) continue;
-                String[] parts = line.split(":");
-                if (parts.length >= 3 && parts[0].equals(voterId)) {
-                    lines.add(parts[0] + ":" + parts[1] + ":" + newHashedPassword);
-                    updated = true;
-                } else {
-                    lines.add(line);
-                }
-            }
-        } catch (IOException e) {
-            System.out.println("❌ Error updating password: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
-        
-        if (!updated) {
-            System.out.println("❌ Voter not found: " + voterId);
-            return false;
-        }
-        
-        try (PrintWriter writer = new PrintWriter(new FileWriter(VOTER_FILE))) {
-            for (String line : lines) {
-                writer.println(line);
+        try {
+            if (!replaceVoterCredential(voterId, expectedCredential, newHashedPassword, newSalt)) {
+                System.out.println("❌ Voter not found or password changed meanwhile: " + voterId);
+                return false;
             }
-            
-            updateVoterSalt(voterId, newSalt);
-            
             System.out.println("✅ Password updated for voter: " + voterId);
             return true;
         } catch (IOException e) {
@@ -930,37 +813,10 @@ public class ElectionData {
             return "Error: Salt cannot be empty";
         }
         
-        List<String> lines = new ArrayList<>();
-        boolean updated = false;
-        
-        try (BufferedReader reader = new BufferedReader(new FileReader(VOTER_FILE))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty()) continue;
-                String[] parts = line.split(":");
-                if (parts.length >= 3 && parts[0].equals(voterId)) {
-                    lines.add(parts[0] + ":" + parts[1] + ":" + hashedPassword);
-                    updated = true;
-                } else {
-                    lines.add(line);
-                }
-            }
-        } catch (IOException e) {
-            return "Error reading voter file: " + e.getMessage();
-        }
-        
-        if (!updated) {
-            return "Error: Voter not found";
-        }
-        
-        try (PrintWriter writer = new PrintWriter(new FileWriter(VOTER_FILE))) {
-            for (String line : lines) {
-                writer.println(line);
+        try {
+            if (!replaceVoterCredential(voterId, null, hashedPassword, salt)) {
+                return "Error: Voter not found";
             }
-            
-            // Update salt
-            updateVoterSaltDirect(voterId, salt);
-            
             System.out.println("✅ Password updated for voter: " + voterId);
             return "Password updated successfully";
         } catch (IOException e) {
@@ -968,53 +824,6 @@ public class ElectionData {
         }
     }
 
-    /**
-     * Update voter salt in salt file.
-     */
-    private static void updateVoterSalt(String voterId, String newSalt) {
-        try {
-            List<String> lines = new ArrayList<>();
-            boolean found = false;
-            
-            File saltFile = new File(VOTER_SALT_FILE);
-            if (saltFile.exists()) {
-                try (BufferedReader reader = new BufferedReader(new FileReader(VOTER_SALT_FILE))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        if (line.trim().isEmpty()) continue;
-                        String[] parts = line.split(":");
-                        if (parts.length >= 2 && parts[0].equals(voterId)) {
-                            found = true;
-                            lines.add(voterId + ":" + newSalt);
-                        } else {
-                            lines.add(line);
-                        }
-                    }
-                }
-            }
-            
-            // If salt not found, add new entry
-            if (!found) {
-                lines.add(voterId + ":" + newSalt);
-            }
-            
-            try (PrintWriter writer = new PrintWriter(new FileWriter(VOTER_SALT_FILE))) {
-                for (String line : lines) {
-                    writer.println(line);
-                }
-            }
-        } catch (IOException e) {
-            System.out.println("❌ Error updating voter salt: " + e.getMessage());
-        }
-    }
-
-    /**
-     * Update voter salt directly (for password reset utility).
-     */
-    private static void updateVoterSaltDirect(String voterId, String newSalt) {
-        updateVoterSalt(voterId, newSalt);
-    }
-
     /**
      * Get votes cast by a specific voter.
      */
@@ -1528,6 +1337,83 @@ public class ElectionData {
         System.out.println("=== END DIAGNOSTICS ===\n");
     }
 
+    // -------------------- VOTER FILE WRITES --------------------
+
+    /**
+     * Replace a voter's credential and salt together, if the record still
+     * holds expectedCredential (null = any). False if the voter is missing
+     * or the credential changed meanwhile.
+     */
+    static boolean replaceVoterCredential(String voterId, String expectedCredential,
+                                          String newCredential, String newSalt) throws IOException {
+        synchronized (VOTER_FILES_LOCK) {
+            List<String> lines = new ArrayList<>();
+            boolean updated = false;
+            
+            for (String line : Files.readAllLines(Paths.get(VOTER_FILE))) {
+                if (line.trim().isEmpty()) continue;
+                String[] parts = line.split(":", -1);
+                if (!updated && parts.length >= 3 && parts[0].equals(voterId)
+                        && (expectedCredential == null || parts[2].trim().equals(expectedCredential))) {
+                    parts[2] = newCredential;
+                    lines.add(String.join(":", parts));
+                    updated = true;
+                } else {
+                    lines.add(line);
+                }
+            }
+            if (!updated) return false;
+            
+            List<String> oldSalts = readLines(VOTER_SALT_FILE);
+            writeVoterSalt(voterId, newSalt);
+            try {
+                replaceFile(VOTER_FILE, lines);
+            } catch (IOException e) {
+                replaceFile(VOTER_SALT_FILE, oldSalts);  // keep the pair matching
+                throw e;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Set a voter's salt, replacing any earlier entries. Caller holds VOTER_FILES_LOCK.
+     */
+    private static void writeVoterSalt(String voterId, String newSalt) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (String line : readLines(VOTER_SALT_FILE)) {
+            if (line.trim().isEmpty() || line.split(":")[0].equals(voterId)) continue;
+            lines.add(line);
+        }
+        lines.add(voterId + ":" + newSalt);
+        replaceFile(VOTER_SALT_FILE, lines);
+    }
+
+    private static List<String> readLines(String path) throws IOException {
+        return new File(path).exists() ? Files.readAllLines(Paths.get(path)) : new ArrayList<>();
+    }
+
+    /**
+     * Write the lines to a temp file and move it over the original, so a
+     * reader sees either the old or the new file, never a partial one
+     */
+    static void replaceFile(String path, List<String> lines) throws IOException {
+        Path temp = Paths.get(path + ".tmp");
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(temp))) {
+            for (String line : lines) {
+                writer.println(line);
+            }
+            if (writer.checkError()) {
+                throw new IOException("Could not write " + temp);
+            }
+        }
+        try {
+            Files.move(temp, Paths.get(path), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, Paths.get(path), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
     // -------------------- PORTAL INTEGRATION FUNCTIONS --------------------
 
     /**
@@ -1662,48 +1548,47 @@ public class ElectionData {
         
         // Hash the password
         String salt = SecurityUtils.generateSalt();
-        String hashedPassword = SecurityUtils.hashPassword(plainPassword, salt);
+        String hashedPassword = SecurityUtils.encodePassword(plainPassword, salt);
         
         if (hashedPassword == null) {
             return "Error: Failed to hash password";
         }
         
         try {
-            List<String> lines = new ArrayList<>();
             boolean updated = false;
             
-            // Read and update voter file
-            try (BufferedReader reader = new BufferedReader(new FileReader(VOTER_FILE))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    if (line.trim().isEmpty()) continue;
-                    String[] parts = line.split(":");
-                    if (parts.length > 0 && parts[0].equals(voterId)) {
-                        // Update existing voter with password
-                        lines.add(voterId + ":" + voterName + ":" + hashedPassword);
-                        updated = true;
-                    } else {
-                        lines.add(line);
+            synchronized (VOTER_FILES_LOCK) {
+                List<String> lines = new ArrayList<>();
+                
+                // Read and update voter file
+                try (BufferedReader reader = new BufferedReader(new FileReader(VOTER_FILE))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.trim().isEmpty()) continue;
+                        String[] parts = line.split(":");
+                        if (parts.length > 0 && parts[0].equals(voterId)) {
+                            // Update existing voter with password
+                            lines.add(voterId + ":" + voterName + ":" + hashedPassword);
+                            updated = true;
+                        } else {
+                            lines.add(line);
+                        }
                     }
                 }
+                
+                // If voter not found, create new one
+                if (!updated) {
+                    lines.add(voterId + ":" + voterName + ":" + hashedPassword);
+                }
+                
+                // Salt first: the old credential ignores it until the new one lands
+                writeVoterSalt(voterId, salt);
+                replaceFile(VOTER_FILE, lines);
             }
-            
-            // If voter not found, create new one
             if (!updated) {
-                lines.add(voterId + ":" + voterName + ":" + hashedPassword);
-            }
-            
-            // Write back to file
-            try (PrintWriter writer = new PrintWriter(new FileWriter(VOTER_FILE))) {
-                for (String line : lines) {
-                    writer.println(line);
-                }
-                writer.flush();  // Explicit flush to disk
+                VoterIdFilter.addedToFile(voterId);
             }
             
-            // Update salt
-            updateVoterSalt(voterId, salt);
-            
             // Log registration
             AuditLogger.logSystemAction("VOTER_REGISTERED", "Voter self-registered: " + voterId);
             
@@ -13,12 +13,24 @@ import java.io.IOException;
 /**
  * Manages election scheduling - start/end times, active/inactive status
  * Database version with support for multiple elections
+ *
+ * Reads are answered from an in-memory ElectionTimeline, so the countdown
+ * timers that poll every second never touch the database. The timeline is
+ * rebuilt after every change made here and reloaded at most every
+ * RELOAD_INTERVAL_MS to pick up changes made by other kiosks.
  */
 public class ElectionScheduler {
     private static final String TABLE_NAME = "election_schedule";
+    private static final long RELOAD_INTERVAL_MS = 30_000;
+    
+    private static volatile ElectionTimeline timeline = null;
+    private static boolean tableInitialized = false;
     
     /**
-     * Initialize the election schedule table
+     * Initialize the election schedule table.
+     * Times are stored as epoch milliseconds. Schedules saved to
+     * election_schedule_*.txt files while the table was unavailable are
+     * imported the first time the table is empty.
      */
     public static boolean initializeTable() {
         Connection conn = DatabaseManager.getConnection();
@@ -28,18 +40,23 @@ public class ElectionScheduler {
         }
         
         String sql = "CREATE TABLE IF NOT EXISTS " + TABLE_NAME + " (" +
-                    "id INT PRIMARY KEY AUTO_INCREMENT, " +
-                    "election_name VARCHAR(100) NOT NULL, " +
-                    "start_time TIMESTAMP NOT NULL, " +
-                    "end_time TIMESTAMP NOT NULL, " +
-                    "is_active BOOLEAN DEFAULT true, " +
-                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
-                    "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP, " +
-                    "UNIQUE(election_name)" +
+                    DatabaseManager.getDialect().autoIncrementKey("id") + ", " +
+                    "election_name TEXT NOT NULL UNIQUE, " +
+                    "start_time BIGINT NOT NULL, " +
+                    "end_time BIGINT NOT NULL, " +
+                    "is_active INTEGER NOT NULL DEFAULT 1, " +
+                    "created_at BIGINT NOT NULL, " +
+                    "updated_at BIGINT NOT NULL" +
                     ")";
         
         try (Statement stmt = conn.createStatement()) {
             stmt.execute(sql);
+            
+            try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + TABLE_NAME)) {
+                if (rs.next() && rs.getInt(1) == 0) {
+                    importScheduleFiles(conn);
+                }
+            }
             System.out.println("✅ Election schedule table initialized");
             return true;
         } catch (SQLException e) {
@@ -48,468 +65,281 @@ public class ElectionScheduler {
         }
     }
     
-    /**
-     * Set election schedule for a specific election
-     */
-    public static boolean setElectionSchedule(String electionName, Date startTime, Date endTime, boolean isActive) {
-        // Validate input
-        if (electionName == null || electionName.trim().isEmpty()) {
-            System.out.println("❌ Election name cannot be empty");
-            return false;
+    private static void importScheduleFiles(Connection conn) throws SQLException {
+        List<ElectionTimeline.Entry> entries = loadFromFiles();
+        for (ElectionTimeline.Entry entry : entries) {
+            upsert(conn, entry.name, entry.start, entry.end, entry.active);
         }
-        
-        if (startTime == null || endTime == null) {
-            System.out.println("❌ Start and end times cannot be null");
-            return false;
-        }
-        
-        if (startTime.after(endTime)) {
-            System.out.println("❌ Start time must be before end time");
-            return false;
-        }
-        
-        Connection conn = DatabaseManager.getConnection();
-        if (conn == null) {
-            // Fallback to file-based configuration
-            return setElectionScheduleFile(electionName, startTime, endTime, isActive);
-        }
-        
-        // Check if election already exists
-        String checkSql = "SELECT id FROM " + TABLE_NAME + " WHERE election_name = ?";
-        
-        try (PreparedStatement checkStmt = conn.prepareStatement(checkSql)) {
-
-            checkStmt.setString(1, electionName);
-            int rowsAffected = 0;
-            try (ResultSet rs = checkStmt.executeQuery()) {
-
-                if (rs.next()) {
-                    // Update existing election
-                    String sql = "UPDATE " + TABLE_NAME + " SET " +
-                          "start_time = ?, end_time = ?, is_active = ?, updated_at = CURRENT_TIMESTAMP " +
-                          "WHERE election_name = ?";
-                    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                        pstmt.setTimestamp(1, new Timestamp(startTime.getTime()));
-                        pstmt.setTimestamp(2, new Timestamp(endTime.getTime()));
-                        pstmt.setBoolean(3, isActive);
-                        pstmt.setString(4, electionName);
-                        rowsAffected = pstmt.executeUpdate();
-                    }
-                } else {
-                    // Insert new election
-                    String sql = "INSERT INTO " + TABLE_NAME + " " +
-                          "(election_name, start_time, end_time, is_active) " +
-                          "VALUES (?, ?, ?, ?)";
-                    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                        pstmt.setString(1, electionName);
-                        pstmt.setTimestamp(2, new Timestamp(startTime.getTime()));
-                        pstmt.setTimestamp(3, new Timestamp(endTime.getTime()));
-                        pstmt.setBoolean(4, isActive);
-                        rowsAffected = pstmt.executeUpdate();
-                    }
-                }
-            }
-
-            if (rowsAffected > 0) {
-                System.out.println("✅ Election schedule set for: " + electionName);
-                return true;
-            } else {
-                System.out.println("❌ Failed to set election schedule (no rows affected). Attempting file fallback...");
-                // Attempt file fallback
-                boolean fileOk = setElectionScheduleFile(electionName, startTime, endTime, isActive);
-                if (fileOk) {
-                    System.out.println("✅ Election schedule saved to file as fallback");
-                    return true;
-                }
-                return false;
-            }
-        } catch (SQLException e) {
-            System.out.println("❌ Error setting election schedule (SQL): " + e.getMessage());
-            System.out.println("ℹ️ Attempting file fallback (sanitized filename)...");
-            boolean fileOk = setElectionScheduleFile(electionName, startTime, endTime, isActive);
-            if (fileOk) {
-                System.out.println("✅ Election schedule saved to file as fallback");
-                return true;
-            }
-            return false;
+        if (!entries.isEmpty()) {
+            System.out.println("✅ Imported " + entries.size() + " election schedule file(s) into the database");
         }
     }
     
+    // ==================== TIMELINE ====================
+    
     /**
-     * Set default election schedule (for backward compatibility)
+     * Current timeline, reloading it when missing or stale
      */
-    public static boolean setElectionSchedule(Date startTime, Date endTime, boolean isActive) {
-        return setElectionSchedule("Default Election", startTime, endTime, isActive);
+    private static ElectionTimeline timeline() {
+        ElectionTimeline current = timeline;
+        if (current == null || System.currentTimeMillis() - current.getLoadedAt() > RELOAD_INTERVAL_MS) {
+            current = refresh();
+        }
+        return current;
     }
     
     /**
-     * Check if any election is currently active
+     * Rebuild the in-memory schedule from the database (or the schedule files
+     * when the database is unavailable)
      */
-    public static boolean isElectionActive() {
+    public static synchronized ElectionTimeline refresh() {
+        List<ElectionTimeline.Entry> entries = null;
+        
         Connection conn = DatabaseManager.getConnection();
-        if (conn == null) {
-            return isElectionActiveFile();
+        if (conn != null && initializeTableOnce()) {
+            entries = loadFromDatabase(conn);
+        }
+        if (entries == null) {
+            entries = loadFromFiles();
         }
         
-        String sql = "SELECT COUNT(*) FROM " + TABLE_NAME + 
-                    " WHERE is_active = true AND " +
-                    "start_time <= CURRENT_TIMESTAMP AND " +
-                    "end_time >= CURRENT_TIMESTAMP";
+        timeline = new ElectionTimeline(entries);
+        return timeline;
+    }
+    
+    private static synchronized boolean initializeTableOnce() {
+        if (!tableInitialized) {
+            tableInitialized = initializeTable() && DatabaseManager.getConnection() != null;
+        }
+        return tableInitialized;
+    }
+    
+    public static final String LOAD_SCHEDULE_SQL =
+        "SELECT election_name, start_time, end_time, is_active, created_at, updated_at " +
+        "FROM " + TABLE_NAME + " ORDER BY start_time";
+    
+    private static List<ElectionTimeline.Entry> loadFromDatabase(Connection conn) {
+        List<ElectionTimeline.Entry> entries = new ArrayList<>();
         
         try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             ResultSet rs = stmt.executeQuery(LOAD_SCHEDULE_SQL)) {
             
-            if (rs.next()) {
-                int count = rs.getInt(1);
-                return count > 0;
+            while (rs.next()) {
+                entries.add(new ElectionTimeline.Entry(
+                    rs.getString("election_name"),
+                    rs.getLong("start_time"),
+                    rs.getLong("end_time"),
+                    rs.getBoolean("is_active"),
+                    rs.getLong("created_at"),
+                    rs.getLong("updated_at")));
             }
-            return false;
+            return entries;
         } catch (SQLException e) {
-            System.out.println("❌ Error checking election status: " + e.getMessage());
-            return isElectionActiveFile(); // Fallback to file
+            System.out.println("❌ Error loading election schedule: " + e.getMessage());
+            return null;
         }
     }
     
     /**
-     * File-based check if any election is currently active
+     * Read every election_schedule_*.txt file (one directory scan per reload)
      */
-    private static boolean isElectionActiveFile() {
-        try {
-            File dir = new File(".");
-            File[] files = dir.listFiles((d, name) -> name.startsWith("election_schedule_") && name.endsWith(".txt"));
-            if (files == null) return false;
-            
-            long currentTime = System.currentTimeMillis();
-            for (File file : files) {
+    private static List<ElectionTimeline.Entry> loadFromFiles() {
+        List<ElectionTimeline.Entry> entries = new ArrayList<>();
+        File dir = new File(".");
+        File[] files = dir.listFiles((d, name) -> name.startsWith("election_schedule_") && name.endsWith(".txt"));
+        if (files == null) return entries;
+        
+        for (File file : files) {
+            try {
                 java.util.Map<String, String> data = readElectionFile(file);
-                if (data.containsKey("is_active") && Boolean.parseBoolean(data.get("is_active"))) {
-                    long startTime = Long.parseLong(data.getOrDefault("start_time", "0"));
-                    long endTime = Long.parseLong(data.getOrDefault("end_time", "0"));
-                    if (currentTime >= startTime && currentTime <= endTime) {
-                        return true;
-                    }
-                }
+                long modified = file.lastModified();
+                entries.add(new ElectionTimeline.Entry(
+                    data.getOrDefault("election_name", file.getName()),
+                    Long.parseLong(data.getOrDefault("start_time", "0")),
+                    Long.parseLong(data.getOrDefault("end_time", "0")),
+                    Boolean.parseBoolean(data.getOrDefault("is_active", "false")),
+                    modified,
+                    modified));
+            } catch (Exception e) {
+                System.out.println("⚠️ Error reading election schedule file " + file.getName() + ": " + e.getMessage());
             }
-        } catch (Exception e) {
-            System.out.println("⚠️ Error checking election status from files: " + e.getMessage());
         }
-        return false;
+        return entries;
     }
     
+    // ==================== SCHEDULE CHANGES ====================
+    
+    public static final String UPSERT_SQL = DatabaseManager.getDialect().upsert(TABLE_NAME,
+        new String[]{ "election_name", "start_time", "end_time", "is_active", "created_at", "updated_at" },
+        new String[]{ "election_name" },
+        "start_time = excluded.start_time, end_time = excluded.end_time, " +
+        "is_active = excluded.is_active, updated_at = excluded.updated_at", null);
+    
     /**
-     * Check if a specific election is active
+     * Insert or update one schedule row
      */
-    public static boolean isElectionActive(String electionName) {
-        Connection conn = DatabaseManager.getConnection();
-        if (conn == null) {
-            return isElectionActiveFile(electionName);
-        }
+    private static int upsert(Connection conn, String electionName, long startTime, long endTime,
+                              boolean isActive) throws SQLException {
+        long now = System.currentTimeMillis();
         
-        String sql = "SELECT COUNT(*) FROM " + TABLE_NAME + 
-                    " WHERE election_name = ? AND is_active = true AND " +
-                    "start_time <= CURRENT_TIMESTAMP AND " +
-                    "end_time >= CURRENT_TIMESTAMP";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
+        try (PreparedStatement pstmt = conn.prepareStatement(UPSERT_SQL)) {
             pstmt.setString(1, electionName);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    int count = rs.getInt(1);
-                    return count > 0;
-                }
-                return false;
-            }
-        } catch (SQLException e) {
-            System.out.println("❌ Error checking specific election status: " + e.getMessage());
-            return isElectionActiveFile(electionName); // Fallback to file
+            pstmt.setLong(2, startTime);
+            pstmt.setLong(3, endTime);
+            pstmt.setInt(4, isActive ? 1 : 0);
+            pstmt.setLong(5, now);
+            pstmt.setLong(6, now);
+            return RetryPolicy.execute(pstmt::executeUpdate);
         }
     }
     
     /**
-     * File-based check if a specific election is active
+     * Set election schedule for a specific election
      */
-    private static boolean isElectionActiveFile(String electionName) {
-        try {
-            String fileName = "election_schedule_" + electionName.replace(" ", "_") + ".txt";
-            File file = new File(fileName);
-            if (!file.exists()) return false;
-            
-            java.util.Map<String, String> data = readElectionFile(file);
-            if (!Boolean.parseBoolean(data.getOrDefault("is_active", "false"))) {
-                return false;
-            }
-            
-            long currentTime = System.currentTimeMillis();
-            long startTime = Long.parseLong(data.getOrDefault("start_time", "0"));
-            long endTime = Long.parseLong(data.getOrDefault("end_time", "0"));
-            return currentTime >= startTime && currentTime <= endTime;
-        } catch (Exception e) {
-            System.out.println("⚠️ Error checking election status from file: " + e.getMessage());
+    public static boolean setElectionSchedule(String electionName, Date startTime, Date endTime, boolean isActive) {
+        // Validate input
+        if (electionName == null || electionName.trim().isEmpty()) {
+            System.out.println("❌ Election name cannot be empty");
             return false;
         }
-    }
-    
-    /**
-     * Get election status message
-     */
-    public static String getElectionStatus() {
-        return getElectionStatus("Default Election");
-    }
-    
-    /**
-     * Get specific election status message
-     */
-    public static String getElectionStatus(String electionName) {
-        Connection conn = DatabaseManager.getConnection();
-        if (conn == null) {
-            return getElectionStatusFile(electionName);
-        }
         
-        String sql = "SELECT election_name, start_time, end_time, is_active " +
-                    "FROM " + TABLE_NAME + " WHERE election_name = ?";
+        if (startTime == null || endTime == null) {
+            System.out.println("❌ Start and end times cannot be null");
+            return false;
+        }
         
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, electionName);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    String name = rs.getString("election_name");
-                    Timestamp startTime = rs.getTimestamp("start_time");
-                    Timestamp endTime = rs.getTimestamp("end_time");
-                    boolean isActive = rs.getBoolean("is_active");
-
-                    SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-
-                    if (!isActive) {
-                        return name + " is INACTIVE (manually disabled)";
-                    }
-
-                    long currentTime = System.currentTimeMillis();
-
-                    if (currentTime < startTime.getTime()) {
-                        return name + " will start on: " + sdf.format(startTime);
-                    } else if (currentTime > endTime.getTime()) {
-                        return name + " ended on: " + sdf.format(endTime);
-                    } else {
-                        return name + " is ACTIVE (ends: " + sdf.format(endTime) + ")";
-                    }
-                }
-            }
-            // No election found
-            return "Election '" + electionName + "' not found";
-        } catch (SQLException e) {
-            System.out.println("❌ Error getting election status: " + e.getMessage());
-            return getElectionStatusFile(electionName); // Fallback to file
+        if (startTime.after(endTime)) {
+            System.out.println("❌ Start time must be before end time");
+            return false;
         }
-    }
-    
-    /**
-     * File-based get election status
-     */
-    private static String getElectionStatusFile(String electionName) {
+        
         try {
-            String fileName = "election_schedule_" + electionName.replace(" ", "_") + ".txt";
-            File file = new File(fileName);
-            if (!file.exists()) {
-                return "Election '" + electionName + "' not found";
+            Connection conn = DatabaseManager.getConnection();
+            if (conn == null || !initializeTableOnce()) {
+                // Fallback to file-based configuration
+                return setElectionScheduleFile(electionName, startTime, endTime, isActive);
             }
             
-            java.util.Map<String, String> data = readElectionFile(file);
-            String name = data.getOrDefault("election_name", electionName);
-            boolean isActive = Boolean.parseBoolean(data.getOrDefault("is_active", "false"));
-            long startTime = Long.parseLong(data.getOrDefault("start_time", "0"));
-            long endTime = Long.parseLong(data.getOrDefault("end_time", "0"));
-            
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-            
-            if (!isActive) {
-                return name + " is INACTIVE (manually disabled)";
+            try {
+                if (upsert(conn, electionName, startTime.getTime(), endTime.getTime(), isActive) > 0) {
+                    System.out.println("✅ Election schedule set for: " + electionName);
+                    return true;
+                }
+                System.out.println("❌ Failed to set election schedule (no rows affected). Attempting file fallback...");
+            } catch (SQLException e) {
+                System.out.println("❌ Error setting election schedule (SQL): " + e.getMessage());
+                System.out.println("ℹ️ Attempting file fallback (sanitized filename)...");
             }
             
-            long currentTime = System.currentTimeMillis();
-            
-            if (currentTime < startTime) {
-                return name + " will start on: " + sdf.format(new java.util.Date(startTime));
-            } else if (currentTime > endTime) {
-                return name + " ended on: " + sdf.format(new java.util.Date(endTime));
-            } else {
-                return name + " is ACTIVE (ends: " + sdf.format(new java.util.Date(endTime)) + ")";
+            boolean fileOk = setElectionScheduleFile(electionName, startTime, endTime, isActive);
+            if (fileOk) {
+                System.out.println("✅ Election schedule saved to file as fallback");
             }
-        } catch (Exception e) {
-            System.out.println("⚠️ Error getting election status from file: " + e.getMessage());
-            return "Error retrieving election status";
+            return fileOk;
+        } finally {
+            refresh();
         }
     }
     
     /**
-     * Get all elections status
+     * Set default election schedule (for backward compatibility)
      */
-    public static String getAllElectionsStatus() {
-        Connection conn = DatabaseManager.getConnection();
-        if (conn == null) {
-            return getAllElectionsStatusFile();
-        }
-        
-        String sql = "SELECT election_name, start_time, end_time, is_active " +
-                    "FROM " + TABLE_NAME + " ORDER BY start_time";
-        
-        StringBuilder status = new StringBuilder();
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-        
-        try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            int count = 0;
-            while (rs.next()) {
-                count++;
-                if (status.length() > 0) {
-                    status.append("\n");
-                }
-                
-                String name = rs.getString("election_name");
-                Timestamp startTime = rs.getTimestamp("start_time");
-                Timestamp endTime = rs.getTimestamp("end_time");
-                boolean isActive = rs.getBoolean("is_active");
-                
-                long currentTime = System.currentTimeMillis();
-                
-                status.append(count).append(". ").append(name).append(": ");
-                
-                if (!isActive) {
-                    status.append("INACTIVE");
-                } else if (currentTime < startTime.getTime()) {
-                    status.append("Starts at ").append(sdf.format(startTime));
-                } else if (currentTime > endTime.getTime()) {
-                    status.append("Ended at ").append(sdf.format(endTime));
-                } else {
-                    status.append("ACTIVE (ends at ").append(sdf.format(endTime)).append(")");
-                }
-            }
-            
-            if (count == 0) {
-                return "No elections scheduled";
-            }
-            
-            return status.toString();
-            
-        } catch (SQLException e) {
-            System.out.println("❌ Error getting all elections status: " + e.getMessage());
-            return getAllElectionsStatusFile(); // Fallback to file
-        }
+    public static boolean setElectionSchedule(Date startTime, Date endTime, boolean isActive) {
+        return setElectionSchedule("Default Election", startTime, endTime, isActive);
     }
     
+    public static final String SET_ACTIVE_SQL =
+        "UPDATE " + TABLE_NAME + " SET is_active = ?, updated_at = ? WHERE election_name = ?";
+    
     /**
-     * File-based get all elections status
+     * Activate/Deactivate an election
      */
-    private static String getAllElectionsStatusFile() {
+    public static boolean setElectionActive(String electionName, boolean active) {
         try {
-            File dir = new File(".");
-            File[] files = dir.listFiles((d, name) -> name.startsWith("election_schedule_") && name.endsWith(".txt"));
-            if (files == null || files.length == 0) {
-                return "No elections scheduled";
+            Connection conn = DatabaseManager.getConnection();
+            if (conn == null || !initializeTableOnce()) {
+                return setElectionActiveFile(electionName, active);
             }
             
-            StringBuilder status = new StringBuilder();
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-            
-            int count = 0;
-            for (File file : files) {
-                java.util.Map<String, String> data = readElectionFile(file);
-                count++;
-                if (status.length() > 0) {
-                    status.append("\n");
-                }
-                
-                String name = data.getOrDefault("election_name", file.getName());
-                boolean isActive = Boolean.parseBoolean(data.getOrDefault("is_active", "false"));
-                long startTime = Long.parseLong(data.getOrDefault("start_time", "0"));
-                long endTime = Long.parseLong(data.getOrDefault("end_time", "0"));
+            try (PreparedStatement pstmt = conn.prepareStatement(SET_ACTIVE_SQL)) {
                 
-                long currentTime = System.currentTimeMillis();
+                pstmt.setInt(1, active ? 1 : 0);
+                pstmt.setLong(2, System.currentTimeMillis());
+                pstmt.setString(3, electionName);
                 
-                status.append(count).append(". ").append(name).append(": ");
+                int rowsAffected = RetryPolicy.execute(pstmt::executeUpdate);
                 
-                if (!isActive) {
-                    status.append("INACTIVE");
-                } else if (currentTime < startTime) {
-                    status.append("Starts at ").append(sdf.format(new java.util.Date(startTime)));
-                } else if (currentTime > endTime) {
-                    status.append("Ended at ").append(sdf.format(new java.util.Date(endTime)));
+                if (rowsAffected > 0) {
+                    System.out.println("✅ Election '" + electionName + "' " + (active ? "activated" : "deactivated"));
+                    return true;
                 } else {
-                    status.append("ACTIVE (ends at ").append(sdf.format(new java.util.Date(endTime))).append(")");
+                    System.out.println("❌ Election '" + electionName + "' not found");
+                    return false;
                 }
+            } catch (SQLException e) {
+                System.out.println("❌ Error updating election status: " + e.getMessage());
+                return setElectionActiveFile(electionName, active); // Fallback to file
             }
-            
-            return status.toString();
-        } catch (Exception e) {
-            System.out.println("⚠️ Error getting elections status from files: " + e.getMessage());
-            return "Error retrieving elections status";
+        } finally {
+            refresh();
         }
     }
     
     /**
-     * Activate/Deactivate an election
+     * Activate/Deactivate default election (for backward compatibility)
      */
-    public static boolean setElectionActive(String electionName, boolean active) {
-        Connection conn = DatabaseManager.getConnection();
-        if (conn == null) {
-            return setElectionActiveFile(electionName, active);
-        }
-        
-        String sql = "UPDATE " + TABLE_NAME + " SET is_active = ? WHERE election_name = ?";
-        
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setBoolean(1, active);
-            pstmt.setString(2, electionName);
-            
-            int rowsAffected = pstmt.executeUpdate();
-            
-            if (rowsAffected > 0) {
-                System.out.println("✅ Election '" + electionName + "' " + (active ? "activated" : "deactivated"));
-                return true;
-            } else {
-                System.out.println("❌ Election '" + electionName + "' not found");
-                return false;
-            }
-        } catch (SQLException e) {
-            System.out.println("❌ Error updating election status: " + e.getMessage());
-            return setElectionActiveFile(electionName, active); // Fallback to file
-        }
+    public static boolean setElectionActive(boolean active) {
+        return setElectionActive("Default Election", active);
     }
     
+    public static final String DELETE_ELECTION_SQL = "DELETE FROM " + TABLE_NAME + " WHERE election_name = ?";
+    
     /**
-     * File-based activate/deactivate election
+     * Delete an election schedule
      */
-    private static boolean setElectionActiveFile(String electionName, boolean active) {
+    public static boolean deleteElection(String electionName) {
         try {
-            String fileName = "election_schedule_" + electionName.replace(" ", "_") + ".txt";
-            File file = new File(fileName);
-            if (!file.exists()) {
-                return false;
+            Connection conn = DatabaseManager.getConnection();
+            if (conn == null || !initializeTableOnce()) {
+                return deleteElectionFile(electionName);
             }
             
-            java.util.Map<String, String> data = readElectionFile(file);
-            data.put("is_active", String.valueOf(active));
-            
-            try (java.io.PrintWriter writer = new java.io.PrintWriter(new java.io.FileWriter(fileName))) {
-                for (java.util.Map.Entry<String, String> entry : data.entrySet()) {
-                    writer.println(entry.getKey() + ":" + entry.getValue());
+            try (PreparedStatement pstmt = conn.prepareStatement(DELETE_ELECTION_SQL)) {
+                
+                pstmt.setString(1, electionName);
+                int rowsAffected = RetryPolicy.execute(pstmt::executeUpdate);
+                
+                if (rowsAffected > 0) {
+                    System.out.println("✅ Election '" + electionName + "' deleted");
+                    return true;
+                } else {
+                    System.out.println("❌ Election '" + electionName + "' not found");
+                    return false;
                 }
+            } catch (SQLException e) {
+                System.out.println("❌ Error deleting election: " + e.getMessage());
+                return deleteElectionFile(electionName); // Fallback to file
             }
-            System.out.println("✅ Election '" + electionName + "' " + (active ? "activated" : "deactivated") + " (file)");
-            return true;
-        } catch (Exception e) {
-            System.out.println("⚠️ Error updating election status in file: " + e.getMessage());
-            return false;
+        } finally {
+            refresh();
         }
     }
     
+    // ==================== SCHEDULE QUERIES ====================
+    
     /**
-     * Activate/Deactivate default election (for backward compatibility)
+     * Check if any election is currently active
      */
-    public static boolean setElectionActive(boolean active) {
-        return setElectionActive("Default Election", active);
+    public static boolean isElectionActive() {
+        return !timeline().openAt(System.currentTimeMillis()).isEmpty();
+    }
+    
+    /**
+     * Check if a specific election is active
+     */
+    public static boolean isElectionActive(String electionName) {
+        ElectionTimeline.Entry entry = timeline().get(electionName);
+        return entry != null && entry.isOpenAt(System.currentTimeMillis());
     }
     
     /**
@@ -530,212 +360,112 @@ public class ElectionScheduler {
      * Get current active election name
      */
     public static String getCurrentActiveElection() {
-        Connection conn = DatabaseManager.getConnection();
-        if (conn == null) {
-            return getCurrentActiveElectionFile();
-        }
-        
-        String sql = "SELECT election_name FROM " + TABLE_NAME + 
-                    " WHERE is_active = true AND " +
-                    "start_time <= CURRENT_TIMESTAMP AND " +
-                    "end_time >= CURRENT_TIMESTAMP " +
-                    "ORDER BY start_time DESC LIMIT 1";
-        
-        try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            if (rs.next()) {
-                return rs.getString("election_name");
-            }
-            return null;
-        } catch (SQLException e) {
-            System.out.println("❌ Error getting current active election: " + e.getMessage());
-            return getCurrentActiveElectionFile(); // Fallback to file
-        }
+        ElectionTimeline.Entry entry = timeline().latestOpenAt(System.currentTimeMillis());
+        return entry != null ? entry.name : null;
     }
     
     /**
-     * File-based get current active election
-     */
-    private static String getCurrentActiveElectionFile() {
-        try {
-            File dir = new File(".");
-            File[] files = dir.listFiles((d, name) -> name.startsWith("election_schedule_") && name.endsWith(".txt"));
-            if (files == null) return null;
-            
-            long currentTime = System.currentTimeMillis();
-            for (File file : files) {
-                java.util.Map<String, String> data = readElectionFile(file);
-                boolean isActive = Boolean.parseBoolean(data.getOrDefault("is_active", "false"));
-                long startTime = Long.parseLong(data.getOrDefault("start_time", "0"));
-                long endTime = Long.parseLong(data.getOrDefault("end_time", "0"));
-                
-                if (isActive && currentTime >= startTime && currentTime <= endTime) {
-                    return data.getOrDefault("election_name", file.getName());
-                }
-            }
-        } catch (Exception e) {
-            System.out.println("⚠️ Error getting current active election from files: " + e.getMessage());
-        }
-        return null;
-    }
-    
-    /**
-     * Get election end time for countdown display
+     * Get election status message
      */
-    public static Date getElectionEndTime() {
-        return getElectionEndTime(getCurrentActiveElection());
+    public static String getElectionStatus() {
+        return getElectionStatus("Default Election");
     }
     
     /**
-     * Get specific election end time
+     * Get specific election status message
      */
-    public static Date getElectionEndTime(String electionName) {
-        if (electionName == null) {
-            return null;
+    public static String getElectionStatus(String electionName) {
+        ElectionTimeline.Entry entry = timeline().get(electionName);
+        if (entry == null) {
+            return "Election '" + electionName + "' not found";
         }
         
-        Connection conn = DatabaseManager.getConnection();
-        if (conn == null) {
-            return getElectionEndTimeFile(electionName);
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        
+        if (!entry.active) {
+            return entry.name + " is INACTIVE (manually disabled)";
         }
         
-        String sql = "SELECT end_time FROM " + TABLE_NAME + 
-                    " WHERE election_name = ?";
+        long currentTime = System.currentTimeMillis();
         
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setString(1, electionName);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    Timestamp t = rs.getTimestamp("end_time");
-                    return t != null ? new Date(t.getTime()) : null;
-                }
-                return null;
-            }
-        } catch (SQLException e) {
-            System.out.println("❌ Error getting election end time: " + e.getMessage());
-            return getElectionEndTimeFile(electionName); // Fallback to file
-        }
-    }
-    
-    /**
-     * File-based get election end time
-     */
-    private static Date getElectionEndTimeFile(String electionName) {
-        try {
-            String fileName = "election_schedule_" + electionName.replace(" ", "_") + ".txt";
-            File file = new File(fileName);
-            if (!file.exists()) {
-                return null;
-            }
-            
-            java.util.Map<String, String> data = readElectionFile(file);
-            long endTime = Long.parseLong(data.getOrDefault("end_time", "0"));
-            return endTime > 0 ? new Date(endTime) : null;
-        } catch (Exception e) {
-            System.out.println("⚠️ Error getting election end time from file: " + e.getMessage());
-            return null;
+        if (currentTime < entry.start) {
+            return entry.name + " will start on: " + sdf.format(new Date(entry.start));
+        } else if (currentTime > entry.end) {
+            return entry.name + " ended on: " + sdf.format(new Date(entry.end));
+        } else {
+            return entry.name + " is ACTIVE (ends: " + sdf.format(new Date(entry.end)) + ")";
         }
     }
     
     /**
-     * Delete an election schedule
+     * Get all elections status
      */
-    public static boolean deleteElection(String electionName) {
-        Connection conn = DatabaseManager.getConnection();
-        if (conn == null) {
-            return deleteElectionFile(electionName);
+    public static String getAllElectionsStatus() {
+        List<ElectionTimeline.Entry> entries = timeline().all();
+        if (entries.isEmpty()) {
+            return "No elections scheduled";
         }
         
-        String sql = "DELETE FROM " + TABLE_NAME + " WHERE election_name = ?";
+        StringBuilder status = new StringBuilder();
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        long currentTime = System.currentTimeMillis();
         
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        int count = 0;
+        for (ElectionTimeline.Entry entry : entries) {
+            count++;
+            if (status.length() > 0) {
+                status.append("\n");
+            }
             
-            pstmt.setString(1, electionName);
-            int rowsAffected = pstmt.executeUpdate();
+            status.append(count).append(". ").append(entry.name).append(": ");
             
-            if (rowsAffected > 0) {
-                System.out.println("✅ Election '" + electionName + "' deleted");
-                return true;
+            if (!entry.active) {
+                status.append("INACTIVE");
+            } else if (currentTime < entry.start) {
+                status.append("Starts at ").append(sdf.format(new Date(entry.start)));
+            } else if (currentTime > entry.end) {
+                status.append("Ended at ").append(sdf.format(new Date(entry.end)));
             } else {
-                System.out.println("❌ Election '" + electionName + "' not found");
-                return false;
+                status.append("ACTIVE (ends at ").append(sdf.format(new Date(entry.end))).append(")");
             }
-        } catch (SQLException e) {
-            System.out.println("❌ Error deleting election: " + e.getMessage());
-            return deleteElectionFile(electionName); // Fallback to file
         }
+        
+        return status.toString();
     }
     
     /**
-     * File-based delete election
+     * Get election end time for countdown display
      */
-    private static boolean deleteElectionFile(String electionName) {
-        try {
-            String fileName = "election_schedule_" + electionName.replace(" ", "_") + ".txt";
-            File file = new File(fileName);
-            if (!file.exists()) {
-                System.out.println("❌ Election '" + electionName + "' not found");
-                return false;
-            }
-            
-            if (file.delete()) {
-                System.out.println("✅ Election '" + electionName + "' deleted (file)");
-                return true;
-            } else {
-                System.out.println("❌ Could not delete election file");
-                return false;
-            }
-        } catch (Exception e) {
-            System.out.println("⚠️ Error deleting election from file: " + e.getMessage());
-            return false;
-        }
+    public static Date getElectionEndTime() {
+        return getElectionEndTime(getCurrentActiveElection());
+    }
+    
+    /**
+     * Get specific election end time
+     */
+    public static Date getElectionEndTime(String electionName) {
+        ElectionTimeline.Entry entry = timeline().get(electionName);
+        return entry != null && entry.end > 0 ? new Date(entry.end) : null;
     }
     
     /**
      * Get all scheduled elections
      */
     public static List<String> getAllElections() {
-        Connection conn = DatabaseManager.getConnection();
-        if (conn == null) {
-            return getAllElectionsFile();
-        }
-        
-        String sql = "SELECT election_name FROM " + TABLE_NAME + " ORDER BY start_time";
         List<String> elections = new ArrayList<>();
-
-        try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                elections.add(rs.getString("election_name"));
-            }
-
-            return elections;
-        } catch (SQLException e) {
-            System.out.println("❌ Error getting all elections: " + e.getMessage());
-            return getAllElectionsFile(); // Fallback to file
+        for (ElectionTimeline.Entry entry : timeline().all()) {
+            elections.add(entry.name);
         }
+        return elections;
     }
     
     /**
-     * File-based get all elections
+     * Elections open at the given time, ordered by start time
      */
-    private static List<String> getAllElectionsFile() {
+    public static List<String> getElectionsOpenAt(Date time) {
         List<String> elections = new ArrayList<>();
-        try {
-            File dir = new File(".");
-            File[] files = dir.listFiles((d, name) -> name.startsWith("election_schedule_") && name.endsWith(".txt"));
-            if (files == null) return elections;
-            
-            for (File file : files) {
-                java.util.Map<String, String> data = readElectionFile(file);
-                String name = data.getOrDefault("election_name", file.getName());
-                elections.add(name);
-            }
-        } catch (Exception e) {
-            System.out.println("⚠️ Error getting elections from files: " + e.getMessage());
+        for (ElectionTimeline.Entry entry : timeline().openAt(time.getTime())) {
+            elections.add(entry.name);
         }
         return elections;
     }
@@ -744,70 +474,72 @@ public class ElectionScheduler {
      * Get election details
      */
     public static ElectionDetails getElectionDetails(String electionName) {
-        Connection conn = DatabaseManager.getConnection();
-        if (conn == null) {
-            return getElectionDetailsFile(electionName);
+        ElectionTimeline.Entry entry = timeline().get(electionName);
+        if (entry == null) {
+            return null;
         }
         
-        String sql = "SELECT * FROM " + TABLE_NAME + " WHERE election_name = ?";
-        
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, electionName);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    Timestamp createdTs = rs.getTimestamp("created_at");
-                    Timestamp updatedTs = rs.getTimestamp("updated_at");
-
-                    Date createdAt = createdTs != null ? new Date(createdTs.getTime()) : new Date();
-                    Date updatedAt = updatedTs != null ? new Date(updatedTs.getTime()) : new Date();
-
-                    return new ElectionDetails(
-                        rs.getString("election_name"),
-                        new Date(rs.getTimestamp("start_time").getTime()),
-                        new Date(rs.getTimestamp("end_time").getTime()),
-                        rs.getBoolean("is_active"),
-                        createdAt,
-                        updatedAt
-                    );
+        return new ElectionDetails(
+            entry.name,
+            new Date(entry.start),
+            new Date(entry.end),
+            entry.active,
+            new Date(entry.createdAt),
+            new Date(entry.updatedAt)
+        );
+    }
+    
+    // ==================== FILE FALLBACK ====================
+    
+    /**
+     * File-based activate/deactivate election
+     */
+    private static boolean setElectionActiveFile(String electionName, boolean active) {
+        try {
+            String fileName = "election_schedule_" + electionName.replace(" ", "_") + ".txt";
+            File file = new File(fileName);
+            if (!file.exists()) {
+                return false;
+            }
+            
+            java.util.Map<String, String> data = readElectionFile(file);
+            data.put("is_active", String.valueOf(active));
+            
+            try (java.io.PrintWriter writer = new java.io.PrintWriter(new java.io.FileWriter(fileName))) {
+                for (java.util.Map.Entry<String, String> entry : data.entrySet()) {
+                    writer.println(entry.getKey() + ":" + entry.getValue());
                 }
-                return null;
             }
-        } catch (SQLException e) {
-            System.out.println("❌ Error getting election details: " + e.getMessage());
-            return getElectionDetailsFile(electionName); // Fallback to file
+            System.out.println("✅ Election '" + electionName + "' " + (active ? "activated" : "deactivated") + " (file)");
+            return true;
+        } catch (Exception e) {
+            System.out.println("⚠️ Error updating election status in file: " + e.getMessage());
+            return false;
         }
     }
     
     /**
-     * File-based get election details
+     * File-based delete election
      */
-    private static ElectionDetails getElectionDetailsFile(String electionName) {
+    private static boolean deleteElectionFile(String electionName) {
         try {
             String fileName = "election_schedule_" + electionName.replace(" ", "_") + ".txt";
             File file = new File(fileName);
             if (!file.exists()) {
-                return null;
+                System.out.println("❌ Election '" + electionName + "' not found");
+                return false;
             }
             
-            java.util.Map<String, String> data = readElectionFile(file);
-            String name = data.getOrDefault("election_name", electionName);
-            long startTime = Long.parseLong(data.getOrDefault("start_time", "0"));
-            long endTime = Long.parseLong(data.getOrDefault("end_time", "0"));
-            boolean isActive = Boolean.parseBoolean(data.getOrDefault("is_active", "false"));
-            
-            Date now = new Date();
-            return new ElectionDetails(
-                name,
-                new Date(startTime),
-                new Date(endTime),
-                isActive,
-                now,
-                now
-            );
+            if (file.delete()) {
+                System.out.println("✅ Election '" + electionName + "' deleted (file)");
+                return true;
+            } else {
+                System.out.println("❌ Could not delete election file");
+                return false;
+            }
         } catch (Exception e) {
-            System.out.println("⚠️ Error getting election details from file: " + e.getMessage());
-            return null;
+            System.out.println("⚠️ Error deleting election from file: " + e.getMessage());
+            return false;
         }
     }
     
@@ -0,0 +1,100 @@
+package Data;
+
+import java.util.*;
+
+/**
+ * Immutable in-memory view of the election schedule.
+ *
+ * Every start and end boundary splits the time axis into slots, and each slot
+ * holds the active elections open for its whole length. "Which elections are
+ * open at time t" is then a single floorEntry lookup, O(log n), instead of a
+ * query per countdown tick. Schedules change rarely, so ElectionScheduler
+ * builds a new timeline on every change rather than updating one in place.
+ */
+class ElectionTimeline {
+
+    /**
+     * One scheduled election; times are epoch milliseconds, end inclusive
+     */
+    static class Entry {
+        final String name;
+        final long start;
+        final long end;
+        final boolean active;
+        final long createdAt;
+        final long updatedAt;
+
+        Entry(String name, long start, long end, boolean active, long createdAt, long updatedAt) {
+            this.name = name;
+            this.start = start;
+            this.end = end;
+            this.active = active;
+            this.createdAt = createdAt;
+            this.updatedAt = updatedAt;
+        }
+
+        boolean isOpenAt(long time) {
+            return active && start <= time && time <= end;
+        }
+    }
+
+    private final Map<String, Entry> byName = new HashMap<>();
+    private final List<Entry> byStart = new ArrayList<>();
+    private final TreeMap<Long, List<Entry>> slots = new TreeMap<>();
+    private final long loadedAt = System.currentTimeMillis();
+
+    ElectionTimeline(Collection<Entry> entries) {
+        for (Entry entry : entries) {
+            byName.put(entry.name, entry);
+        }
+        byStart.addAll(byName.values());
+        byStart.sort(Comparator.comparingLong((Entry e) -> e.start).thenComparing(e -> e.name));
+
+        // Slot boundaries: an election opens at start and closes just after end
+        TreeSet<Long> boundaries = new TreeSet<>();
+        for (Entry entry : byStart) {
+            if (entry.active && entry.start <= entry.end) {
+                boundaries.add(entry.start);
+                boundaries.add(entry.end + 1);
+            }
+        }
+        for (long boundary : boundaries) {
+            List<Entry> open = new ArrayList<>();
+            for (Entry entry : byStart) {
+                if (entry.isOpenAt(boundary)) open.add(entry);
+            }
+            slots.put(boundary, Collections.unmodifiableList(open));
+        }
+    }
+
+    /**
+     * Active elections open at the given time, ordered by start time
+     */
+    List<Entry> openAt(long time) {
+        Map.Entry<Long, List<Entry>> slot = slots.floorEntry(time);
+        return slot != null ? slot.getValue() : Collections.emptyList();
+    }
+
+    /**
+     * The most recently started election open at the given time, or null
+     */
+    Entry latestOpenAt(long time) {
+        List<Entry> open = openAt(time);
+        return open.isEmpty() ? null : open.get(open.size() - 1);
+    }
+
+    Entry get(String name) {
+        return name != null ? byName.get(name) : null;
+    }
+
+    /**
+     * All elections ordered by start time
+     */
+    List<Entry> all() {
+        return Collections.unmodifiableList(byStart);
+    }
+
+    long getLoadedAt() {
+        return loadedAt;
+    }
+}
@@ -0,0 +1,249 @@
+package Data;
+
+import java.io.File;
+import java.sql.*;
+import java.util.*;
+
+/**
+ * H2 2.x embedded (MVStore): row-level locks and MVCC, so several
+ * connections can write at once. The driver is only needed at runtime
+ * (h2-2.x.jar on the classpath); nothing here compiles against it.
+ *
+ * "-Delection.db=election_system.db" becomes election_system.mv.db.
+ * H2 triggers are Java classes, so the votes triggers are given as Java
+ * source that H2 compiles when the trigger is created (this needs a JDK).
+ * They expect the column order of the votes table in DatabaseManager:
+ * vote_id, voter_id, nominee_id, election_id, cast_at.
+ */
+class H2Dialect implements SqlDialect {
+    // H2 error codes (org.h2.api.ErrorCode)
+    private static final int DUPLICATE_KEY = 23505;
+    private static final int DEADLOCK = 40001;
+    private static final int LOCK_TIMEOUT = 50200;
+    private static final int CONCURRENT_UPDATE = 90131;
+
+    private static final int VOTER_ID = 1;
+    private static final int NOMINEE_ID = 2;
+    private static final int ELECTION_ID = 3;
+
+    @Override
+    public String getName() {
+        return "h2";
+    }
+
+    @Override
+    public String getDriverClass() {
+        return "org.h2.Driver";
+    }
+
+    /**
+     * DB_CLOSE_DELAY=-1 keeps the database open while callers close and
+     * reopen the shared connection (reopening recompiles the triggers)
+     */
+    @Override
+    public String getJdbcUrl(String path) {
+        String base = path.endsWith(".db") ? path.substring(0, path.length() - 3) : path;
+        return "jdbc:h2:file:" + new File(base).getAbsolutePath() + ";DB_CLOSE_DELAY=-1";
+    }
+
+    // ==================== CONNECTIONS ====================
+
+    @Override
+    public void configureConnection(Connection conn) throws SQLException {
+        setLockTimeout(conn, 5000);
+    }
+
+    @Override
+    public void setLockTimeout(Connection conn, int millis) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("SET LOCK_TIMEOUT " + millis);
+        }
+    }
+
+    /**
+     * REPEATABLE READ gives each read transaction one snapshot, like a SQLite
+     * WAL read transaction; read-only is only a hint in H2
+     */
+    @Override
+    public void makeReadOnly(Connection conn) throws SQLException {
+        conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        conn.setReadOnly(true);
+    }
+
+    // ==================== DDL ====================
+
+    @Override
+    public String autoIncrementKey(String column) {
+        return column + " INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY";
+    }
+
+    @Override
+    public String keyOnlyTableOptions() {
+        return "";
+    }
+
+    /**
+     * Left out: H2 would enforce it, and audit rows reference pseudo-admins
+     */
+    @Override
+    public String foreignKey(String column, String reference) {
+        return "";
+    }
+
+    @Override
+    public List<String> tallyTriggers() {
+        String increment = upsert("tallies", new String[]{ "election_id", "nominee_id", "vote_count" },
+                                  new String[]{ "election_id", "nominee_id" },
+                                  "vote_count = tallies.vote_count + 1", null);
+        String decrement = "UPDATE tallies SET vote_count = vote_count - 1 WHERE election_id = ? AND nominee_id = ?";
+
+        return Arrays.asList(
+            trigger("trg_votes_tally_insert", "AFTER INSERT",
+                    update(increment, "newRow[" + ELECTION_ID + "]", "newRow[" + NOMINEE_ID + "]", "1")),
+
+            trigger("trg_votes_tally_delete", "AFTER DELETE",
+                    update(decrement, "oldRow[" + ELECTION_ID + "]", "oldRow[" + NOMINEE_ID + "]")),
+
+            trigger("trg_votes_tally_update", "AFTER UPDATE",
+                    "if (java.util.Objects.equals(oldRow[" + ELECTION_ID + "], newRow[" + ELECTION_ID + "]) " +
+                    "&& java.util.Objects.equals(oldRow[" + NOMINEE_ID + "], newRow[" + NOMINEE_ID + "])) return; " +
+                    update(decrement, "oldRow[" + ELECTION_ID + "]", "oldRow[" + NOMINEE_ID + "]") +
+                    update(increment, "newRow[" + ELECTION_ID + "]", "newRow[" + NOMINEE_ID + "]", "1"))
+        );
+    }
+
+    @Override
+    public List<String> ballotTriggers() {
+        return Arrays.asList(
+            "DROP TRIGGER IF EXISTS trg_votes_check_refs",
+            trigger("trg_votes_check_refs", "BEFORE INSERT",
+                    requireRow("SELECT 1 FROM voters WHERE voter_id = ?",
+                               DatabaseManager.VOTE_UNKNOWN_VOTER, "newRow[" + VOTER_ID + "]") +
+                    requireRow("SELECT 1 FROM nominees WHERE nominee_id = ? AND election_id = ? AND is_active = 1",
+                               DatabaseManager.VOTE_UNKNOWN_NOMINEE,
+                               "newRow[" + NOMINEE_ID + "]", "newRow[" + ELECTION_ID + "]")),
+
+            trigger("trg_votes_mark_voted", "AFTER INSERT",
+                    update("UPDATE voters SET has_voted = 1 WHERE voter_id = ?", "newRow[" + VOTER_ID + "]"))
+        );
+    }
+
+    /**
+     * A row trigger on votes whose fire() method runs the given Java statements
+     */
+    private static String trigger(String name, String timing, String body) {
+        return "CREATE TRIGGER IF NOT EXISTS " + name + " " + timing + " ON votes FOR EACH ROW AS $$" +
+               "org.h2.api.Trigger create() { return new org.h2.api.Trigger() { " +
+               "public void fire(java.sql.Connection conn, Object[] oldRow, Object[] newRow) " +
+               "throws java.sql.SQLException { " + body + " } }; } $$";
+    }
+
+    private static String update(String sql, String... params) {
+        return "try (java.sql.PreparedStatement stmt = conn.prepareStatement(\"" + sql + "\")) { " +
+               bind(params) + "stmt.executeUpdate(); } ";
+    }
+
+    private static String requireRow(String sql, String failureMessage, String... params) {
+        return "try (java.sql.PreparedStatement stmt = conn.prepareStatement(\"" + sql + "\")) { " +
+               bind(params) +
+               "try (java.sql.ResultSet rs = stmt.executeQuery()) { " +
+               "if (!rs.next()) throw new java.sql.SQLException(\"" + failureMessage + "\"); } } ";
+    }
+
+    private static String bind(String... params) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < params.length; i++) {
+            sb.append("stmt.setObject(").append(i + 1).append(", ").append(params[i]).append("); ");
+        }
+        return sb.toString();
+    }
+
+    // ==================== DML ====================
+
+    /**
+     * Standard MERGE with the incoming row named "excluded", so the same
+     * expressions work as in SQLite's ON CONFLICT DO UPDATE
+     */
+    @Override
+    public String upsert(String table, String[] columns, String[] keys, String updateSet, String updateWhere) {
+        return merge(table, columns, keys) +
+               " WHEN MATCHED" + (updateWhere != null ? " AND (" + updateWhere + ")" : "") +
+               " THEN UPDATE SET " + updateSet +
+               notMatched(columns);
+    }
+
+    @Override
+    public String insertIgnore(String table, String[] columns, String[] keys) {
+        return merge(table, columns, keys) + notMatched(columns);
+    }
+
+    private static String merge(String table, String[] columns, String[] keys) {
+        StringBuilder on = new StringBuilder();
+        for (String key : keys) {
+            if (on.length() > 0) on.append(" AND ");
+            on.append(table).append('.').append(key).append(" = excluded.").append(key);
+        }
+        return "MERGE INTO " + table + " USING (VALUES (" +
+               String.join(", ", Collections.nCopies(columns.length, "?")) + ")) AS excluded(" +
+               String.join(", ", columns) + ") ON " + on;
+    }
+
+    private static String notMatched(String[] columns) {
+        StringJoiner values = new StringJoiner(", ");
+        for (String column : columns) {
+            values.add("excluded." + column);
+        }
+        return " WHEN NOT MATCHED THEN INSERT (" + String.join(", ", columns) + ") VALUES (" + values + ")";
+    }
+
+    @Override
+    public String daysAgo(String days) {
+        return "DATEADD('DAY', -CAST(" + days + " AS INTEGER), LOCALTIMESTAMP)";
+    }
+
+    // ==================== INTROSPECTION ====================
+
+    @Override
+    public boolean tableExists(Connection conn, String table) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT 1 FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_NAME = UPPER(?)")) {
+            stmt.setString(1, table);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    @Override
+    public Set<String> getColumns(Connection conn, String table) throws SQLException {
+        Set<String> columns = new HashSet<>();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_NAME = UPPER(?)")) {
+            stmt.setString(1, table);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    columns.add(rs.getString(1).toLowerCase());
+                }
+            }
+        }
+        return columns;
+    }
+
+    // ==================== ERRORS ====================
+
+    @Override
+    public boolean isBusy(SQLException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLException) {
+                int code = ((SQLException) t).getErrorCode();
+                if (code == LOCK_TIMEOUT || code == CONCURRENT_UPDATE || code == DEADLOCK) return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isUniqueViolation(SQLException e) {
+        return e.getErrorCode() == DUPLICATE_KEY;
+    }
+}
@@ -0,0 +1,184 @@
+package Data;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Wraps a JDBC connection so every statement it creates reports its
+ * execution time and row count to QueryStats.
+ *
+ * Time is what the driver spends executing and stepping through results
+ * (executeX plus every ResultSet.next()), not time the caller spends between
+ * rows. A query is recorded when its results are exhausted or closed, or
+ * when the statement is closed or re-executed.
+ */
+class InstrumentedConnection {
+
+    /**
+     * Return a connection whose statements are timed
+     */
+    static Connection wrap(Connection target) {
+        if (target == null || Proxy.isProxyClass(target.getClass())) return target;
+
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[]{ Connection.class },
+            (proxy, method, args) -> {
+                Object result = invoke(target, method, args);
+                String name = method.getName();
+
+                if (result instanceof PreparedStatement && ("prepareStatement".equals(name) || "prepareCall".equals(name))) {
+                    return wrapStatement((PreparedStatement) result, (String) args[0]);
+                }
+                if (result instanceof Statement && "createStatement".equals(name)) {
+                    return wrapStatement((Statement) result, null);
+                }
+                return result;
+            });
+    }
+
+    private static Statement wrapStatement(Statement target, String preparedSql) {
+        Class<?> iface = target instanceof CallableStatement ? CallableStatement.class
+                       : target instanceof PreparedStatement ? PreparedStatement.class
+                       : Statement.class;
+        StatementHandler handler = new StatementHandler(target, preparedSql);
+        return (Statement) Proxy.newProxyInstance(iface.getClassLoader(), new Class<?>[]{ iface }, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * One execution in flight: accumulates driver time and rows until finished
+     */
+    private static class Execution {
+        final String sql;
+        final List<String> paramShapes;
+        long nanos;
+        long rows;
+        boolean finished;
+
+        Execution(String sql, List<String> paramShapes) {
+            this.sql = sql;
+            this.paramShapes = paramShapes;
+        }
+
+        void finish() {
+            if (finished) return;
+            finished = true;
+            QueryStats.record(sql, nanos, rows, paramShapes);
+        }
+    }
+
+    private static class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        private final SortedMap<Integer, String> params = new TreeMap<>();
+        private Execution current;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            // Remember bind parameter shapes (setString, setInt, setObject, ...)
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                params.put((Integer) args[0], "setNull".equals(name) ? "null" : QueryStats.shapeOf(args[1]));
+                return InstrumentedConnection.invoke(target, method, args);
+            }
+            if ("clearParameters".equals(name)) {
+                params.clear();
+            }
+
+            if ("close".equals(name)) {
+                finishCurrent();
+                return InstrumentedConnection.invoke(target, method, args);
+            }
+
+            if (!name.startsWith("execute")) {
+                if ("getResultSet".equals(name)) {
+                    return wrapResultSet((ResultSet) InstrumentedConnection.invoke(target, method, args));
+                }
+                return InstrumentedConnection.invoke(target, method, args);
+            }
+
+            // executeQuery / executeUpdate / execute / executeBatch ...
+            finishCurrent();
+            String sql = (args != null && args.length > 0 && args[0] instanceof String) ? (String) args[0] : preparedSql;
+            Execution execution = new Execution(sql, params.isEmpty() ? null : new ArrayList<>(params.values()));
+            current = execution;
+
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = InstrumentedConnection.invoke(target, method, args);
+            } finally {
+                execution.nanos += System.nanoTime() - start;
+            }
+
+            if (result instanceof ResultSet) {
+                return wrapResultSet((ResultSet) result);
+            }
+            if (result instanceof Integer && !"execute".equals(name)) {
+                execution.rows = (Integer) result;
+            } else if (result instanceof Long) {
+                execution.rows = (Long) result;
+            } else if (result instanceof int[]) {
+                for (int count : (int[]) result) execution.rows += Math.max(0, count);
+            } else if (Boolean.FALSE.equals(result)) {
+                execution.rows = Math.max(0, target.getUpdateCount());
+            }
+            if (!Boolean.TRUE.equals(result)) {  // execute() returning a result set is finished by getResultSet/close
+                finishCurrent();
+            }
+            return result;
+        }
+
+        private void finishCurrent() {
+            if (current != null) {
+                current.finish();
+                current = null;
+            }
+        }
+
+        private ResultSet wrapResultSet(ResultSet rs) {
+            Execution execution = current;
+            if (rs == null || execution == null) return rs;
+
+            return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[]{ ResultSet.class },
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if ("next".equals(name)) {
+                        long start = System.nanoTime();
+                        boolean hasRow = (Boolean) InstrumentedConnection.invoke(rs, method, args);
+                        execution.nanos += System.nanoTime() - start;
+                        if (hasRow) {
+                            execution.rows++;
+                        } else {
+                            execution.finish();
+                        }
+                        return hasRow;
+                    }
+                    if ("close".equals(name)) {
+                        execution.finish();
+                    }
+                    return InstrumentedConnection.invoke(rs, method, args);
+                });
+        }
+    }
+}
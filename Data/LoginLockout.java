@@ -0,0 +1,350 @@
+package Data;
+
+import Data.AuthService.Realm;
+import java.io.*;
+import java.nio.file.*;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Brute-force lockout for voter and admin logins, kept in memory.
+ *
+ * Every principal (realm + id) has a sliding window of its recent failed
+ * attempts; reaching the realm's limit inside the window locks the account
+ * for LOCK_MS. Checking, counting and clearing are map operations only, so a
+ * burst of wrong passwords never rewrites a file or commits a transaction
+ * per attempt.
+ *
+ * The state is written behind, once a second at most and only for principals
+ * that changed: voters to database_login_attempts.txt (rewritten whole, via a
+ * .tmp file), admins to admins.failed_login_attempts / account_locked_until
+ * on the single writer. It is read back from both stores on the first use
+ * (Main calls start()), so a restart does not lift a lock.
+ *
+ *   voters  MAX_VOTER_ATTEMPTS failures in WINDOW_MS
+ *   admins  MAX_ADMIN_ATTEMPTS failures in WINDOW_MS
+ */
+public class LoginLockout {
+    public static final String ATTEMPTS_FILE = "database_login_attempts.txt";
+
+    private static final int MAX_VOTER_ATTEMPTS = 3;
+    private static final int MAX_ADMIN_ATTEMPTS = 5;
+    private static final long WINDOW_MS = 15 * 60 * 1000;  // 15 minutes
+    private static final long LOCK_MS = 15 * 60 * 1000;    // 15 minutes
+    private static final long FLUSH_INTERVAL_MS = 1000;
+
+    private static final Map<Realm, ConcurrentHashMap<String, Window>> windows = new EnumMap<>(Realm.class);
+    private static final Map<Realm, Set<String>> dirty = new EnumMap<>(Realm.class);
+
+    static {
+        for (Realm realm : Realm.values()) {
+            windows.put(realm, new ConcurrentHashMap<>());
+            dirty.put(realm, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    private static volatile boolean started = false;
+    private static ScheduledExecutorService flusher = null;
+
+    /**
+     * Failed attempts of one principal within the window, oldest first
+     */
+    private static class Window {
+        private final ArrayDeque<Long> failures = new ArrayDeque<>();
+        private long lockedUntil = 0;
+        private boolean blockReported = false;
+
+        synchronized int recordFailure(long now, int maxAttempts) {
+            expire(now);
+            failures.addLast(now);
+            while (failures.size() > maxAttempts) failures.removeFirst();
+            if (failures.size() >= maxAttempts && lockedUntil == 0) {
+                lockedUntil = now + LOCK_MS;
+                blockReported = false;
+            }
+            return failures.size();
+        }
+
+        synchronized boolean isLocked(long now) {
+            return lockedUntil > now;
+        }
+
+        /**
+         * True only for the first blocked attempt of each lock
+         */
+        synchronized boolean reportBlock() {
+            if (blockReported) return false;
+            blockReported = true;
+            return true;
+        }
+
+        synchronized boolean isEmpty(long now) {
+            expire(now);
+            return failures.isEmpty() && lockedUntil == 0;
+        }
+
+        synchronized int count() { return failures.size(); }
+        synchronized long lockedUntil() { return lockedUntil; }
+        synchronized List<Long> snapshot() { return new ArrayList<>(failures); }
+
+        private void expire(long now) {
+            if (lockedUntil != 0 && lockedUntil <= now) lockedUntil = 0;
+            while (!failures.isEmpty() && now - failures.peekFirst() >= WINDOW_MS) failures.removeFirst();
+        }
+    }
+
+    // ==================== LIFECYCLE ====================
+
+    /**
+     * Rebuild the lockout state from disk and start the write-behind flusher.
+     * Called at startup; the other methods call it themselves if needed.
+     */
+    public static synchronized void start() {
+        if (started) return;
+
+        loadVoters();
+        loadAdmins();
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lockout-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(LoginLockout::flush, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(LoginLockout::finalFlush, "lockout-final-flush"));
+        started = true;
+
+        System.out.println("✅ [LoginLockout] Tracking " + windows.get(Realm.VOTER).size() + " voter(s) and "
+                           + windows.get(Realm.ADMIN).size() + " admin(s) with recent failed logins");
+    }
+
+    private static void ensureStarted() {
+        if (!started) start();
+    }
+
+    // ==================== LOCKOUT ====================
+
+    public static int getMaxAttempts(Realm realm) {
+        return realm == Realm.ADMIN ? MAX_ADMIN_ATTEMPTS : MAX_VOTER_ATTEMPTS;
+    }
+
+    /**
+     * True while the account is locked out
+     */
+    public static boolean isLocked(Realm realm, String id) {
+        ensureStarted();
+        Window window = windows.get(realm).get(id);
+        return window != null && window.isLocked(System.currentTimeMillis());
+    }
+
+    /**
+     * True for the first login attempt refused by the current lock, so callers
+     * can audit a blocked burst once instead of once per attempt
+     */
+    public static boolean isFirstBlockedAttempt(Realm realm, String id) {
+        Window window = windows.get(realm).get(id);
+        return window != null && window.reportBlock();
+    }
+
+    /**
+     * Count a failed login; returns the failures now inside the window
+     * (getMaxAttempts(realm) or more means the account is locked)
+     */
+    public static int recordFailure(Realm realm, String id) {
+        ensureStarted();
+        long now = System.currentTimeMillis();
+        int[] count = new int[1];
+        windows.get(realm).compute(id, (key, window) -> {
+            if (window == null) window = new Window();
+            count[0] = window.recordFailure(now, getMaxAttempts(realm));
+            return window;
+        });
+        dirty.get(realm).add(id);
+
+        if (count[0] >= getMaxAttempts(realm)) {
+            System.out.println("⚠️ [LoginLockout] Account locked: " + realm + " " + id + " - Too many failed attempts");
+        }
+        return count[0];
+    }
+
+    /**
+     * Forget the failures of a principal (successful login, unlock, deletion).
+     * Costs nothing when there were none.
+     */
+    public static void clear(Realm realm, String id) {
+        ensureStarted();
+        if (windows.get(realm).remove(id) != null) {
+            dirty.get(realm).add(id);
+        }
+    }
+
+    /**
+     * Milliseconds until the lock ends, 0 if not locked
+     */
+    public static long getRemainingLockMillis(Realm realm, String id) {
+        ensureStarted();
+        Window window = windows.get(realm).get(id);
+        if (window == null) return 0;
+        return Math.max(0, window.lockedUntil() - System.currentTimeMillis());
+    }
+
+    // ==================== WRITE-BEHIND ====================
+
+    /**
+     * Persist the principals changed since the last flush and drop windows
+     * that have run out
+     */
+    public static synchronized void flush() {
+        long now = System.currentTimeMillis();
+        for (Realm realm : Realm.values()) {
+            windows.get(realm).forEach((id, window) -> {
+                if (windows.get(realm).computeIfPresent(id, (key, w) -> w.isEmpty(now) ? null : w) == null) {
+                    dirty.get(realm).add(id);
+                }
+            });
+        }
+
+        try {
+            if (!dirty.get(Realm.VOTER).isEmpty()) {
+                dirty.get(Realm.VOTER).clear();
+                writeVoters();
+            }
+            flushAdmins();
+        } catch (Exception e) {
+            System.err.println("❌ [LoginLockout] Error saving login attempts: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Flush once more at exit and wait for the admin rows to commit. The
+     * writer's own shutdown hook may already have stopped it; flush() starts
+     * it again if so.
+     */
+    private static void finalFlush() {
+        flush();
+        DatabaseWriter.flush();
+    }
+
+    /**
+     * id:attempts:lockTime:failureTimes, the first three fields as before
+     */
+    private static void writeVoters() throws IOException {
+        File temp = new File(ATTEMPTS_FILE + ".tmp");
+        try (PrintWriter writer = new PrintWriter(new FileWriter(temp))) {
+            for (Map.Entry<String, Window> entry : windows.get(Realm.VOTER).entrySet()) {
+                Window window = entry.getValue();
+                long lockedUntil = window.lockedUntil();
+                StringJoiner times = new StringJoiner(",");
+                for (long time : window.snapshot()) times.add(String.valueOf(time));
+
+                writer.println(entry.getKey() + ":" + window.count() + ":"
+                               + (lockedUntil > 0 ? lockedUntil - LOCK_MS : 0) + ":" + times);
+            }
+        }
+        Files.move(temp.toPath(), Paths.get(ATTEMPTS_FILE), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public static final String LOCKOUT_UPDATE_SQL = "UPDATE admins SET failed_login_attempts = ?, account_locked_until = ? WHERE admin_id = ?";
+
+    private static void flushAdmins() {
+        DatabaseWriter.Batch batch = new DatabaseWriter.Batch();
+        Set<String> changed = dirty.get(Realm.ADMIN);
+        for (Iterator<String> it = changed.iterator(); it.hasNext(); ) {
+            String adminId = it.next();
+            it.remove();
+
+            Window window = windows.get(Realm.ADMIN).get(adminId);
+            int attempts = window != null ? window.count() : 0;
+            long lockedUntil = window != null ? window.lockedUntil() : 0;
+            batch.add(LOCKOUT_UPDATE_SQL, attempts, lockedUntil > 0 ? new Timestamp(lockedUntil) : null, adminId);
+        }
+        DatabaseWriter.enqueue(batch);
+    }
+
+    // ==================== REBUILD ====================
+
+    private static void loadVoters() {
+        File file = new File(ATTEMPTS_FILE);
+        if (!file.exists()) return;
+
+        long now = System.currentTimeMillis();
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(":", -1);
+                if (line.trim().isEmpty() || parts.length < 3) continue;
+                try {
+                    int attempts = Integer.parseInt(parts[1]);
+                    long lockTime = Long.parseLong(parts[2]);
+                    List<Long> times = new ArrayList<>();
+                    if (parts.length >= 4 && !parts[3].isEmpty()) {
+                        for (String time : parts[3].split(",")) times.add(Long.parseLong(time));
+                    } else {
+                        // Older lines only have a count: date the failures at the lock, or now
+                        for (int i = 0; i < attempts; i++) times.add(lockTime > 0 ? lockTime : now);
+                    }
+                    restore(Realm.VOTER, parts[0], times, lockTime > 0 ? lockTime + LOCK_MS : 0, now);
+                } catch (NumberFormatException e) {
+                    // Skip damaged lines
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("⚠️ [LoginLockout] Could not read " + ATTEMPTS_FILE + ": " + e.getMessage());
+        }
+    }
+
+    public static final String LOCKED_ADMINS_SQL =
+        "SELECT admin_id, failed_login_attempts, account_locked_until FROM admins " +
+        "WHERE failed_login_attempts > 0 OR account_locked_until IS NOT NULL";
+
+    private static void loadAdmins() {
+        Connection conn = DatabaseManager.getConnection();
+        if (conn == null) return;
+
+        long now = System.currentTimeMillis();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(LOCKED_ADMINS_SQL)) {
+            while (rs.next()) {
+                Timestamp lockedUntil = rs.getTimestamp("account_locked_until");
+                long until = lockedUntil != null ? lockedUntil.getTime() : 0;
+                List<Long> times = new ArrayList<>();
+                for (int i = 0; i < rs.getInt("failed_login_attempts"); i++) times.add(until > 0 ? until - LOCK_MS : now);
+                restore(Realm.ADMIN, rs.getString("admin_id"), times, until, now);
+            }
+        } catch (SQLException e) {
+            System.err.println("⚠️ [LoginLockout] Could not read admin lockouts: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Put a stored window back, or mark it for clearing if it has run out
+     */
+    private static void restore(Realm realm, String id, List<Long> times, long lockedUntil, long now) {
+        Window window = new Window();
+        window.failures.addAll(times);
+        window.lockedUntil = lockedUntil;
+        while (window.failures.size() > getMaxAttempts(realm)) window.failures.removeFirst();
+
+        if (window.isEmpty(now)) {
+            dirty.get(realm).add(id);
+        } else {
+            windows.get(realm).put(id, window);
+        }
+    }
+
+    // ==================== STATUS ====================
+
+    public static String getStats() {
+        ensureStarted();
+        long now = System.currentTimeMillis();
+        int[] locked = new int[Realm.values().length];
+        for (Realm realm : Realm.values()) {
+            for (Window window : windows.get(realm).values()) {
+                if (window.isLocked(now)) locked[realm.ordinal()]++;
+            }
+        }
+        return "voters tracked=" + windows.get(Realm.VOTER).size() + " locked=" + locked[Realm.VOTER.ordinal()]
+               + " | admins tracked=" + windows.get(Realm.ADMIN).size() + " locked=" + locked[Realm.ADMIN.ordinal()];
+    }
+}
@@ -0,0 +1,222 @@
+package Data;
+
+import Data.AuthService.Realm;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets in front of login: one per source (client address) and one
+ * per target account. Every attempt takes a token from both before any
+ * password is hashed (or from neither, when either is empty), so a script can no longer make the server run
+ * unlimited key-stretching work; it gets an immediate refusal instead.
+ * An attempt without a known source (the local desktop) is limited per
+ * account only; pooling those under one key would cap all terminals together.
+ *
+ * A bucket holds up to BURST tokens and refills at RATE per minute. Idle
+ * buckets are full again after BURST / RATE minutes and are then dropped,
+ * which bounds memory to the sources and accounts seen recently.
+ *
+ * -Delection.loginBurstPerSource     (default 30)
+ * -Delection.loginRatePerSource      attempts per minute (default 60)
+ * -Delection.loginBurstPerAccount    (default 5)
+ * -Delection.loginRatePerAccount     attempts per minute (default 10)
+ *
+ * The account limit sits below LoginLockout: it slows guessing without
+ * locking the owner out, the lockout still applies to wrong passwords.
+ */
+public class LoginRateLimiter {
+    private static final Limit SOURCE_LIMIT = new Limit(
+        Integer.getInteger("election.loginBurstPerSource", 30),
+        Integer.getInteger("election.loginRatePerSource", 60));
+    private static final Limit ACCOUNT_LIMIT = new Limit(
+        Integer.getInteger("election.loginBurstPerAccount", 5),
+        Integer.getInteger("election.loginRatePerAccount", 10));
+
+    private static final int SWEEP_THRESHOLD = 10_000;      // buckets before sweeping every second
+    private static final long SWEEP_INTERVAL_NANOS = 60_000_000_000L;
+    private static final long BUSY_SWEEP_INTERVAL_NANOS = 1_000_000_000L;
+
+    private static final Map<String, Bucket> sourceBuckets = new ConcurrentHashMap<>();
+    private static final Map<String, Bucket> accountBuckets = new ConcurrentHashMap<>();
+    private static final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    // Metrics
+    private static final AtomicLong allowed = new AtomicLong();
+    private static final AtomicLong rejectedBySource = new AtomicLong();
+    private static final AtomicLong rejectedByAccount = new AtomicLong();
+
+    /**
+     * Thrown (inside the login future) when an attempt is refused
+     */
+    public static class RateLimitedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final long retryAfterMillis;
+
+        RateLimitedException(String message, long retryAfterMillis) {
+            super(message);
+            this.retryAfterMillis = retryAfterMillis;
+        }
+
+        public long getRetryAfterMillis() {
+            return retryAfterMillis;
+        }
+    }
+
+    /**
+     * Capacity and refill rate of one kind of bucket
+     */
+    private static class Limit {
+        final double burst;
+        final double tokensPerNano;
+
+        Limit(int burst, int perMinute) {
+            this.burst = Math.max(1, burst);
+            this.tokensPerNano = Math.max(1, perMinute) / 60e9;
+        }
+    }
+
+    /**
+     * A token bucket. waitFor(), take() and firstRefusal() are called with
+     * its monitor held, so the source and account buckets of one attempt can
+     * be checked and taken from together.
+     */
+    private static class Bucket {
+        private double tokens;
+        private long updatedAt;
+        private boolean refusing = false;  // refused since a token was last taken
+
+        Bucket(Limit limit, long now) {
+            this.tokens = limit.burst;
+            this.updatedAt = now;
+        }
+
+        /**
+         * 0 if a token is available, otherwise the nanoseconds until one is
+         */
+        long waitFor(Limit limit, long now) {
+            refill(limit, now);
+            return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / limit.tokensPerNano);
+        }
+
+        void take() {
+            tokens -= 1;
+            refusing = false;
+        }
+
+        /**
+         * True for the first refusal since a token was last taken
+         */
+        boolean firstRefusal() {
+            if (refusing) return false;
+            refusing = true;
+            return true;
+        }
+
+        synchronized boolean isFull(Limit limit, long now) {
+            refill(limit, now);
+            return tokens >= limit.burst;
+        }
+
+        private void refill(Limit limit, long now) {
+            tokens = Math.min(limit.burst, tokens + (now - updatedAt) * limit.tokensPerNano);
+            updatedAt = now;
+        }
+    }
+
+    // ==================== ADMISSION ====================
+
+    /**
+     * Let a login attempt through or refuse it. Returns 0 when allowed,
+     * otherwise the milliseconds to wait before the next attempt can pass.
+     * A refused attempt takes no token. The first refusal by a bucket is
+     * logged; the next ones are not, until the bucket lets an attempt through.
+     */
+    public static long tryAcquire(Realm realm, String source, String accountId) {
+        long now = System.nanoTime();
+        sweepIfDue(now);
+
+        Bucket sourceBucket = source != null && !source.isEmpty()
+            ? bucket(sourceBuckets, source, SOURCE_LIMIT, now) : null;
+        Bucket accountBucket = bucket(accountBuckets, realm + ":" + accountId, ACCOUNT_LIMIT, now);
+
+        long wait;
+        boolean bySource;
+        boolean report;
+        // Always the source bucket first, then the account bucket
+        synchronized (sourceBucket != null ? sourceBucket : accountBucket) {
+            synchronized (accountBucket) {
+                long sourceWait = sourceBucket != null ? sourceBucket.waitFor(SOURCE_LIMIT, now) : 0;
+                long accountWait = accountBucket.waitFor(ACCOUNT_LIMIT, now);
+                if (sourceWait == 0 && accountWait == 0) {
+                    if (sourceBucket != null) sourceBucket.take();
+                    accountBucket.take();
+                    allowed.incrementAndGet();
+                    return 0;
+                }
+
+                bySource = sourceWait > 0;
+                wait = Math.max(sourceWait, accountWait);
+                report = (bySource ? sourceBucket : accountBucket).firstRefusal();
+            }
+        }
+
+        (bySource ? rejectedBySource : rejectedByAccount).incrementAndGet();
+        if (report) {
+            System.out.println("⚠️ [LoginRateLimiter] Refusing " + realm + " logins "
+                               + (bySource ? "from " + source : "for " + accountId)
+                               + ", retry in " + toMillis(wait) + "ms (further refusals not logged)");
+        }
+        return toMillis(wait);
+    }
+
+    /**
+     * Like tryAcquire, but throws RateLimitedException when refused
+     */
+    public static void acquire(Realm realm, String source, String accountId) {
+        long retryAfter = tryAcquire(realm, source, accountId);
+        if (retryAfter > 0) {
+            throw new RateLimitedException("Too many login attempts", retryAfter);
+        }
+    }
+
+    private static Bucket bucket(Map<String, Bucket> buckets, String key, Limit limit, long now) {
+        return buckets.computeIfAbsent(key, k -> new Bucket(limit, now));
+    }
+
+    private static long toMillis(long nanos) {
+        return Math.max(1, (nanos + 999_999) / 1_000_000);
+    }
+
+    // ==================== CLEANUP ====================
+
+    /**
+     * Drop buckets that have refilled completely (they behave exactly like a
+     * new one): once a minute, or once a second while the maps are large
+     */
+    private static void sweepIfDue(long now) {
+        long last = lastSweep.get();
+        boolean large = sourceBuckets.size() + accountBuckets.size() > SWEEP_THRESHOLD;
+        long interval = large ? BUSY_SWEEP_INTERVAL_NANOS : SWEEP_INTERVAL_NANOS;
+        if (now - last < interval || !lastSweep.compareAndSet(last, now)) return;
+
+        sourceBuckets.entrySet().removeIf(entry -> entry.getValue().isFull(SOURCE_LIMIT, now));
+        accountBuckets.entrySet().removeIf(entry -> entry.getValue().isFull(ACCOUNT_LIMIT, now));
+    }
+
+    // ==================== METRICS ====================
+
+    public static long getAllowed() { return allowed.get(); }
+    public static long getRejectedBySource() { return rejectedBySource.get(); }
+    public static long getRejectedByAccount() { return rejectedByAccount.get(); }
+    public static long getRejected() { return rejectedBySource.get() + rejectedByAccount.get(); }
+    public static int getTrackedSources() { return sourceBuckets.size(); }
+    public static int getTrackedAccounts() { return accountBuckets.size(); }
+
+    public static String getStats() {
+        return "allowed=" + getAllowed() + " rejected(source)=" + getRejectedBySource()
+               + " rejected(account)=" + getRejectedByAccount()
+               + " buckets=" + getTrackedSources() + "/" + getTrackedAccounts();
+    }
+}
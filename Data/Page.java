@@ -0,0 +1,29 @@
+package Data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated query.
+ * The continuation token encodes the sort key of the last row returned;
+ * pass it back to fetch the next page. It is null on the last page.
+ */
+public class Page<T> {
+    private final List<T> items;
+    private final String nextToken;
+
+    public Page(List<T> items, String nextToken) {
+        this.items = items != null ? items : new ArrayList<>();
+        this.nextToken = nextToken;
+    }
+
+    public static <T> Page<T> empty() {
+        return new Page<>(Collections.emptyList(), null);
+    }
+
+    public List<T> getItems() { return items; }
+    public String getNextToken() { return nextToken; }
+    public boolean hasMore() { return nextToken != null; }
+    public boolean isEmpty() { return items.isEmpty(); }
+}
@@ -0,0 +1,186 @@
+package Data;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Pattern;
+
+/**
+ * Per-statement timing collected by the instrumented JDBC connections.
+ * Statements are grouped under a normalized fingerprint (literals replaced by ?),
+ * each with a call count, row count and a latency histogram for p50/p99.
+ * Statements slower than the threshold are written to the slow-query log with
+ * the shapes (types and lengths, never values) of their bind parameters.
+ *
+ * Threshold: -Delection.slowQueryMs=<ms> (default 100) or setSlowQueryThresholdMillis().
+ */
+public class QueryStats {
+    private static final String SLOW_LOG_FILE = "slow_queries.log";
+
+    private static volatile long slowThresholdNanos =
+        Long.getLong("election.slowQueryMs", 100L) * 1_000_000L;
+
+    private static final Map<String, Fingerprint> stats = new ConcurrentHashMap<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?[\\s,?]*+\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * Aggregated timings for one statement fingerprint.
+     * Latency buckets grow by 2^(1/4) (about 19%) from 1 microsecond.
+     */
+    public static class Fingerprint {
+        private static final int BUCKETS = 112;  // 1us .. ~270s
+
+        final String sql;
+        final AtomicLong calls = new AtomicLong();
+        final AtomicLong rows = new AtomicLong();
+        final AtomicLong totalNanos = new AtomicLong();
+        final AtomicLong maxNanos = new AtomicLong();
+        final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        Fingerprint(String sql) {
+            this.sql = sql;
+        }
+
+        void record(long nanos, long rowCount) {
+            calls.incrementAndGet();
+            if (rowCount > 0) rows.addAndGet(rowCount);
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            histogram.incrementAndGet(bucketFor(nanos));
+        }
+
+        private static int bucketFor(long nanos) {
+            double micros = Math.max(1.0, nanos / 1000.0);
+            int bucket = (int) Math.ceil(4 * Math.log(micros) / Math.log(2));
+            return Math.min(BUCKETS - 1, Math.max(0, bucket));
+        }
+
+        /**
+         * Upper bound of the bucket holding the given percentile, in milliseconds
+         */
+        public double percentileMillis(double percentile) {
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) total += histogram.get(i);
+            if (total == 0) return 0.0;
+
+            long rank = (long) Math.ceil(total * percentile / 100.0);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += histogram.get(i);
+                if (seen >= rank) {
+                    return Math.min(Math.pow(2, i / 4.0) / 1000.0, getMaxMillis());
+                }
+            }
+            return maxNanos.get() / 1_000_000.0;
+        }
+
+        public String getSql() { return sql; }
+        public long getCalls() { return calls.get(); }
+        public long getRows() { return rows.get(); }
+        public double getTotalMillis() { return totalNanos.get() / 1_000_000.0; }
+        public double getMaxMillis() { return maxNanos.get() / 1_000_000.0; }
+        public double getP50Millis() { return percentileMillis(50); }
+        public double getP99Millis() { return percentileMillis(99); }
+    }
+
+    // ==================== RECORDING ====================
+
+    /**
+     * Record one execution. paramShapes may be null for unparameterised statements.
+     */
+    static void record(String sql, long nanos, long rowCount, List<String> paramShapes) {
+        String fingerprint = fingerprint(sql);
+        stats.computeIfAbsent(fingerprint, Fingerprint::new).record(nanos, rowCount);
+
+        if (nanos >= slowThresholdNanos) {
+            logSlowQuery(fingerprint, nanos, rowCount, paramShapes);
+        }
+    }
+
+    /**
+     * Normalize SQL so executions that differ only in literals group together
+     */
+    public static String fingerprint(String sql) {
+        if (sql == null) return "";
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("IN (?...)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    /**
+     * Describe a bind parameter without revealing it, e.g. String(12), Integer, null
+     */
+    static String shapeOf(Object value) {
+        if (value == null) return "null";
+        if (value instanceof CharSequence) return "String(" + ((CharSequence) value).length() + ")";
+        if (value instanceof byte[]) return "byte[" + ((byte[]) value).length + "]";
+        return value.getClass().getSimpleName();
+    }
+
+    private static synchronized void logSlowQuery(String fingerprint, long nanos, long rowCount, List<String> paramShapes) {
+        String line = String.format("%s %.2fms rows=%d params=%s %s",
+            new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()),
+            nanos / 1_000_000.0, rowCount,
+            paramShapes != null ? paramShapes : "[]",
+            fingerprint);
+
+        System.out.println("🐢 [SlowQuery] " + line);
+        try (PrintWriter out = new PrintWriter(new FileWriter(SLOW_LOG_FILE, true))) {
+            out.println(line);
+        } catch (IOException e) {
+            System.out.println("⚠️ [SlowQuery] Could not write " + SLOW_LOG_FILE + ": " + e.getMessage());
+        }
+    }
+
+    // ==================== REPORTING ====================
+
+    public static void setSlowQueryThresholdMillis(long millis) {
+        slowThresholdNanos = millis * 1_000_000L;
+    }
+
+    public static long getSlowQueryThresholdMillis() {
+        return slowThresholdNanos / 1_000_000L;
+    }
+
+    public static Fingerprint get(String sql) {
+        return stats.get(fingerprint(sql));
+    }
+
+    /**
+     * All fingerprints, most total time first
+     */
+    public static List<Fingerprint> snapshot() {
+        List<Fingerprint> list = new ArrayList<>(stats.values());
+        list.sort((a, b) -> Long.compare(b.totalNanos.get(), a.totalNanos.get()));
+        return list;
+    }
+
+    /**
+     * Text table of every fingerprint, most total time first
+     */
+    public static String dump() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%8s %8s %10s %9s %9s %9s  %s%n",
+            "calls", "rows", "total ms", "p50 ms", "p99 ms", "max ms", "statement"));
+        for (Fingerprint fp : snapshot()) {
+            sb.append(String.format("%8d %8d %10.2f %9.3f %9.3f %9.3f  %s%n",
+                fp.getCalls(), fp.getRows(), fp.getTotalMillis(),
+                fp.getP50Millis(), fp.getP99Millis(), fp.getMaxMillis(), fp.getSql()));
+        }
+        return sb.toString();
+    }
+
+    public static void reset() {
+        stats.clear();
+    }
+}
@@ -0,0 +1,115 @@
+package Data;
+
+import java.sql.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Small pool of read-only connections for results, reports and the audit viewer.
+ * Each withSnapshot() call runs inside one read transaction, so every query
+ * in it sees the same WAL snapshot even while votes keep committing. These
+ * connections never write and never share a lock with the vote path.
+ */
+public class ReadConnectionPool {
+    private static final int POOL_SIZE = 3;
+    private static final long BORROW_TIMEOUT_SECONDS = 10;
+
+    private static final BlockingQueue<Connection> idle = new LinkedBlockingQueue<>();
+    private static final AtomicInteger opened = new AtomicInteger();
+
+    /**
+     * Reads run against a snapshot connection
+     */
+    public interface SnapshotReader<T> {
+        T read(Connection conn) throws SQLException;
+    }
+
+    /**
+     * Run the reader inside a single read transaction on a pooled connection
+     */
+    public static <T> T withSnapshot(SnapshotReader<T> reader) throws SQLException {
+        Connection conn = borrow();
+        boolean healthy = false;
+        try {
+            conn.setAutoCommit(false);  // snapshot starts at the first read and lasts until release
+            T result = reader.read(conn);
+            healthy = true;
+            return result;
+        } finally {
+            release(conn, healthy);
+        }
+    }
+
+    private static Connection borrow() throws SQLException {
+        Connection conn = idle.poll();
+        if (conn != null) return conn;
+
+        if (opened.incrementAndGet() <= POOL_SIZE) {
+            try {
+                conn = DatabaseManager.openReadOnlyConnection();
+            } catch (SQLException e) {
+                opened.decrementAndGet();
+                throw e;
+            }
+            if (conn == null) {
+                opened.decrementAndGet();
+                throw new SQLNonTransientConnectionException("Database connection unavailable");
+            }
+            return conn;
+        }
+        opened.decrementAndGet();
+
+        try {
+            conn = idle.poll(BORROW_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (conn == null) {
+            throw new SQLTransientConnectionException("No read connection available");
+        }
+        return conn;
+    }
+
+    private static void release(Connection conn, boolean healthy) {
+        try {
+            conn.rollback();          // end the read transaction, dropping the snapshot
+            conn.setAutoCommit(true);
+            if (healthy || conn.isValid(1)) {
+                idle.add(conn);
+                return;
+            }
+        } catch (SQLException e) {
+            System.err.println("⚠️ [ReadConnectionPool] Discarding read connection: " + e.getMessage());
+        }
+
+        opened.decrementAndGet();
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            // already unusable
+        }
+    }
+
+    /**
+     * Close all idle read connections (e.g. before replacing the database file)
+     */
+    public static void closeAll() {
+        Connection conn;
+        while ((conn = idle.poll()) != null) {
+            opened.decrementAndGet();
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                System.err.println("⚠️ [ReadConnectionPool] Error closing read connection: " + e.getMessage());
+            }
+        }
+    }
+
+    public static int getOpenConnections() {
+        return opened.get();
+    }
+
+    public static int getIdleConnections() {
+        return idle.size();
+    }
+}
@@ -0,0 +1,70 @@
+package Data;
+
+import java.util.*;
+
+/**
+ * One line of an election result: the nominee, their votes, their share of
+ * all votes cast and their rank. Ties share a rank ("1, 2, 2, 4").
+ * Result screens and exports only format these rows.
+ */
+public class ResultRow {
+    private final String nomineeId;
+    private final String name;
+    private final String party;
+    private final int votes;
+    private final double percentage;
+    private final int rank;
+
+    public ResultRow(String nomineeId, String name, String party, int votes, double percentage, int rank) {
+        this.nomineeId = nomineeId;
+        this.name = name != null ? name : "Unknown";
+        this.party = party != null ? party : "Unknown";
+        this.votes = votes;
+        this.percentage = percentage;
+        this.rank = rank;
+    }
+
+    public String getNomineeId() { return nomineeId; }
+    public String getName() { return name; }
+    public String getParty() { return party; }
+    public int getVotes() { return votes; }
+    public double getPercentage() { return percentage; }
+    public int getRank() { return rank; }
+
+    /** True for every nominee sharing first place */
+    public boolean isLeading() { return rank == 1 && votes > 0; }
+
+    /**
+     * Rank vote counts in one pass over an id-indexed nominee map.
+     * nominees maps nominee id to {name, party}; ids missing from it are
+     * reported as "Unknown". Nominees without votes are not listed.
+     */
+    static List<ResultRow> rank(Map<String, Integer> voteCounts, Map<String, String[]> nominees) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>();
+        int totalVotes = 0;
+        for (Map.Entry<String, Integer> entry : voteCounts.entrySet()) {
+            if (entry.getValue() > 0) {
+                entries.add(entry);
+                totalVotes += entry.getValue();
+            }
+        }
+        entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+                         .thenComparing(Map.Entry.comparingByKey()));
+
+        List<ResultRow> rows = new ArrayList<>(entries.size());
+        int rank = 0;
+        int previousVotes = -1;
+        for (int i = 0; i < entries.size(); i++) {
+            Map.Entry<String, Integer> entry = entries.get(i);
+            int votes = entry.getValue();
+            if (votes != previousVotes) {
+                rank = i + 1;
+                previousVotes = votes;
+            }
+            String[] nominee = nominees.getOrDefault(entry.getKey(), new String[]{ null, null });
+            rows.add(new ResultRow(entry.getKey(), nominee[0], nominee[1], votes,
+                                   100.0 * votes / totalVotes, rank));
+        }
+        return rows;
+    }
+}
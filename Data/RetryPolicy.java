@@ -0,0 +1,102 @@
+package Data;
+
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Central retry policy for database writes that hit a locked database.
+ * Lock errors (SQLITE_BUSY / SQLITE_LOCKED, or H2 lock timeouts and write
+ * conflicts, as classified by the dialect) are retried with bounded
+ * exponential backoff and full jitter, so lock contention becomes a short
+ * delay instead of a failed operation. Any other error is passed straight
+ * back to the caller.
+ *
+ * The action must be safe to run again: it has to roll back its own work
+ * when it fails (see DatabaseWriter, which retries whole transactions).
+ */
+public class RetryPolicy {
+    private static final int MAX_ATTEMPTS = 10;
+    private static final long BASE_DELAY_MILLIS = 5;
+    private static final long MAX_DELAY_MILLIS = 400;
+    private static final long MAX_TOTAL_WAIT_MILLIS = 5000;
+
+    // Contention metrics
+    private static final AtomicLong busyErrors = new AtomicLong();
+    private static final AtomicLong retries = new AtomicLong();
+    private static final AtomicLong exhausted = new AtomicLong();
+    private static final AtomicLong lockWaitNanos = new AtomicLong();
+
+    /**
+     * Work to retry; it must leave no partial changes behind when it throws
+     */
+    public interface SqlAction<T> {
+        T run() throws SQLException;
+    }
+
+    /**
+     * Run the action, retrying while the database reports it is locked
+     */
+    public static <T> T execute(SqlAction<T> action) throws SQLException {
+        long waitedNanos = 0;
+
+        for (int attempt = 1; ; attempt++) {
+            long attemptStart = System.nanoTime();
+            try {
+                return action.run();
+            } catch (SQLException e) {
+                if (!isBusy(e)) throw e;
+
+                long attemptNanos = System.nanoTime() - attemptStart;
+                busyErrors.incrementAndGet();
+                lockWaitNanos.addAndGet(attemptNanos);  // includes the driver's own busy_timeout wait
+                waitedNanos += attemptNanos;
+
+                if (attempt >= MAX_ATTEMPTS || waitedNanos / 1_000_000 >= MAX_TOTAL_WAIT_MILLIS) {
+                    exhausted.incrementAndGet();
+                    System.err.println("❌ [RetryPolicy] Database still locked after " + attempt + " attempts ("
+                                       + (waitedNanos / 1_000_000) + "ms)");
+                    throw e;
+                }
+
+                long delay = backoffMillis(attempt);
+                retries.incrementAndGet();
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                lockWaitNanos.addAndGet(delay * 1_000_000);
+                waitedNanos += delay * 1_000_000;
+            }
+        }
+    }
+
+    /**
+     * Full jitter: a random delay up to the exponential cap for this attempt
+     */
+    static long backoffMillis(int attempt) {
+        long cap = Math.min(MAX_DELAY_MILLIS, BASE_DELAY_MILLIS << Math.min(attempt - 1, 16));
+        return 1 + ThreadLocalRandom.current().nextLong(cap);
+    }
+
+    /**
+     * True for lock errors that are worth retrying
+     */
+    public static boolean isBusy(SQLException e) {
+        return DatabaseManager.getDialect().isBusy(e);
+    }
+
+    // ==================== METRICS ====================
+
+    public static long getBusyErrors() { return busyErrors.get(); }
+    public static long getRetries() { return retries.get(); }
+    public static long getExhausted() { return exhausted.get(); }
+    public static double getLockWaitMillis() { return lockWaitNanos.get() / 1_000_000.0; }
+
+    public static String getStats() {
+        return String.format("busy=%d retries=%d gaveUp=%d lockWait=%.1fms",
+            getBusyErrors(), getRetries(), getExhausted(), getLockWaitMillis());
+    }
+}
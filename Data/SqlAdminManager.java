@@ -81,7 +81,7 @@ public class SqlAdminManager {
         
         // Create audit_logs table with correct column names
         String auditSql = "CREATE TABLE IF NOT EXISTS audit_logs (" +
-                         "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                         DatabaseManager.getDialect().autoIncrementKey("id") + "," +
                          "admin_id VARCHAR(50) NOT NULL," +
                          "action VARCHAR(100) NOT NULL," +
                          "details TEXT," +
@@ -114,7 +114,7 @@ public class SqlAdminManager {
     private static void createSecurityTables(Connection conn) throws SQLException {
         // Create login attempts table
         String attemptsSql = "CREATE TABLE IF NOT EXISTS login_attempts (" +
-                            "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                            DatabaseManager.getDialect().autoIncrementKey("id") + "," +
                             "admin_id VARCHAR(50)," +
                             "ip_address VARCHAR(45)," +
                             "attempt_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
@@ -129,10 +129,24 @@ public class SqlAdminManager {
         String indexSql2 = "CREATE INDEX IF NOT EXISTS idx_admin_role ON admins(role)";
         String indexSql3 = "CREATE INDEX IF NOT EXISTS idx_audit_admin ON audit_logs(admin_id)";
         
+        // Sort-key indexes for the keyset-paginated listings
+        String indexSql4 = "CREATE INDEX IF NOT EXISTS idx_admins_active_created ON admins(is_active, created_at, admin_id)";
+        String indexSql5 = "CREATE INDEX IF NOT EXISTS idx_audit_timestamp ON audit_logs(timestamp)";
+        String indexSql6 = "CREATE INDEX IF NOT EXISTS idx_audit_admin_timestamp ON audit_logs(admin_id, timestamp)";
+        
+        // Expired-session sweeps and per-admin login history
+        String indexSql7 = "CREATE INDEX IF NOT EXISTS idx_sessions_expires ON admin_sessions(expires_at)";
+        String indexSql8 = "CREATE INDEX IF NOT EXISTS idx_login_attempts_admin ON login_attempts(admin_id, attempt_time)";
+        
         try (Statement stmt = conn.createStatement()) {
             stmt.execute(indexSql);
             stmt.execute(indexSql2);
             stmt.execute(indexSql3);
+            stmt.execute(indexSql4);
+            stmt.execute(indexSql5);
+            stmt.execute(indexSql6);
+            stmt.execute(indexSql7);
+            stmt.execute(indexSql8);
         }
     }
     
@@ -182,6 +196,7 @@ public class SqlAdminManager {
     private static void closeConnection(Connection conn) {
         if (conn != null) {
             try {
+                if (conn.isClosed()) return;
                 if (!conn.getAutoCommit()) {
                     conn.commit();
                 }
@@ -194,10 +209,44 @@ public class SqlAdminManager {
     
     // ==================== AUTHENTICATION ====================
     
+    /**
+     * Everything a login needs about one admin, read in a single query
+     */
+    private static class AdminAccountState {
+        final Admin admin;
+        final String passwordHash;
+        final String salt;
+        final boolean needsPasswordReset;
+        
+        AdminAccountState(Admin admin, String passwordHash, String salt, boolean needsPasswordReset) {
+            this.admin = admin;
+            this.passwordHash = passwordHash;
+            this.salt = salt;
+            this.needsPasswordReset = needsPasswordReset;
+        }
+    }
+    
+    /**
+     * Where a login attempt ends up; each state decides what gets written
+     */
+    private enum LoginState {
+        BLOCKED,        // locked out before the attempt
+        UNAVAILABLE,    // account state could not be read
+        UNKNOWN,        // no such active admin
+        REJECTED,       // wrong password
+        LOCKED_OUT,     // wrong password that reached the lockout limit
+        AUTHENTICATED
+    }
+    
     public static boolean validateAdminCredentials(String adminId, String password) {
         return validateAdminCredentials(adminId, password, null, null);
     }
     
+    /**
+     * Check an admin login: one read of the account state, the outcome worked
+     * out in memory (lockout included, see LoginLockout), then everything the
+     * outcome changes queued as one batch on the single writer.
+     */
     public static boolean validateAdminCredentials(String adminId, String password, String ipAddress, String userAgent) {
         System.out.println("🔐 [SqlAdminManager] Validating admin: " + adminId);
         
@@ -212,240 +261,154 @@ public class SqlAdminManager {
             return false;
         }
         
-        // Check if account is locked
-        if (isAccountLocked(adminId)) {
-            System.out.println("❌ [SqlAdminManager] Account is locked: " + adminId);
-            logAdminAction(adminId, "LOGIN_BLOCKED", "Account locked due to too many failed attempts", ipAddress, userAgent);
-            return false;
-        }
+        AdminAccountState account = null;
+        LoginState state;
+        int attempts = 0;
         
-        Connection conn = getConnection();
-        if (conn == null) {
-            System.out.println("❌ [SqlAdminManager] Database not available");
-            logFailedLoginAttempt(adminId, ipAddress, "Database unavailable");
-            return false;
+        if (LoginLockout.isLocked(AuthService.Realm.ADMIN, adminId)) {
+            state = LoginState.BLOCKED;
+        } else {
+            try {
+                account = loadAccountState(adminId);
+                if (account == null) {
+                    state = LoginState.UNKNOWN;
+                } else if (SecurityUtils.verifyCredential(password, account.passwordHash, account.salt)) {
+                    state = LoginState.AUTHENTICATED;
+                } else {
+                    attempts = LoginLockout.recordFailure(AuthService.Realm.ADMIN, adminId);
+                    state = attempts >= LoginLockout.getMaxAttempts(AuthService.Realm.ADMIN)
+                            ? LoginState.LOCKED_OUT : LoginState.REJECTED;
+                }
+            } catch (SQLException e) {
+                System.out.println("❌ [SqlAdminManager] Database error: " + e.getMessage());
+                state = LoginState.UNAVAILABLE;
+            }
         }
         
-        String sql = "SELECT password_hash, salt, needs_password_reset, failed_login_attempts FROM admins WHERE admin_id = ? AND is_active = 1";
+        DatabaseWriter.Batch writes = new DatabaseWriter.Batch();
+        int maxAttempts = LoginLockout.getMaxAttempts(AuthService.Realm.ADMIN);
         
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, adminId);
-            try (ResultSet rs = stmt.executeQuery()) {
+        switch (state) {
+            case BLOCKED:
+                System.out.println("❌ [SqlAdminManager] Account is locked: " + adminId);
+                // A blocked burst is audited once per lock
+                if (LoginLockout.isFirstBlockedAttempt(AuthService.Realm.ADMIN, adminId)) {
+                    addAuditEntry(writes, adminId, "LOGIN_BLOCKED", "Account locked due to too many failed attempts", ipAddress, userAgent);
+                }
+                break;
                 
-                if (rs.next()) {
-                    String storedHash = rs.getString("password_hash");
-                    String salt = rs.getString("salt");
-                    int needsReset = rs.getInt("needs_password_reset");
-                    int failedAttempts = rs.getInt("failed_login_attempts");
-                    
-                    System.out.println("✅ [SqlAdminManager] Admin found in database");
-                    
-                    String inputHash = SecurityUtils.hashPassword(password, salt);
-                    
-                    if (inputHash != null && inputHash.equals(storedHash)) {
-                        System.out.println("✅ [SqlAdminManager] Login successful for: " + adminId);
-                        
-                        // Reset failed attempts on successful login
-                        resetFailedLoginAttempts(adminId);
-                        
-                        // Update last login
-                        updateLastLogin(adminId);
-                        
-                        if (needsReset == 1) {
-                            clearPasswordResetFlag(adminId);
-                            System.out.println("⚠️ [SqlAdminManager] Password reset flag cleared");
-                        }
-                        
-                        // Log successful login
-                        logAdminAction(adminId, "LOGIN_SUCCESS", "Admin logged in successfully", ipAddress, userAgent);
-                        logSuccessfulLoginAttempt(adminId, ipAddress);
-                        
-                        // Update cache
-                        adminCache.remove(adminId);
-                        
-                        return true;
-                    } else {
-                        // Increment failed attempts
-                        incrementFailedLoginAttempts(adminId);
-                        int newAttempts = failedAttempts + 1;
-                        
-                        if (newAttempts >= 5) {
-                            lockAccount(adminId);
-                            System.out.println("❌ [SqlAdminManager] Account locked due to 5 failed attempts: " + adminId);
-                        } else {
-                            System.out.println("❌ [SqlAdminManager] Password mismatch for: " + adminId + " (Attempt " + newAttempts + "/5)");
-                        }
-                        
-                        logFailedLoginAttempt(adminId, ipAddress, "Incorrect password");
-                        logAdminAction(adminId, "LOGIN_FAILED", "Incorrect password entered - Attempt " + newAttempts, ipAddress, userAgent);
-                        return false;
-                    }
+            case UNAVAILABLE:
+                addLoginAttempt(writes, adminId, ipAddress, false);
+                break;
+                
+            case UNKNOWN:
+                System.out.println("❌ [SqlAdminManager] Admin not found or inactive: " + adminId);
+                addLoginAttempt(writes, adminId, ipAddress, false);
+                break;
+                
+            case REJECTED:
+            case LOCKED_OUT:
+                if (state == LoginState.LOCKED_OUT) {
+                    System.out.println("❌ [SqlAdminManager] Account locked due to " + maxAttempts + " failed attempts: " + adminId);
                 } else {
-                    System.out.println("❌ [SqlAdminManager] Admin not found or inactive: " + adminId);
-                    logFailedLoginAttempt(adminId, ipAddress, "Admin not found");
-                    return false;
+                    System.out.println("❌ [SqlAdminManager] Password mismatch for: " + adminId + " (Attempt " + attempts + "/" + maxAttempts + ")");
                 }
-            }
-        } catch (SQLException e) {
-            System.out.println("❌ [SqlAdminManager] Database error: " + e.getMessage());
-            logFailedLoginAttempt(adminId, ipAddress, "Database error: " + e.getMessage());
-            return false;
-        } finally {
-            closeConnection(conn);
+                addLoginAttempt(writes, adminId, ipAddress, false);
+                addAuditEntry(writes, adminId, "LOGIN_FAILED", "Incorrect password entered - Attempt " + attempts, ipAddress, userAgent);
+                break;
+                
+            case AUTHENTICATED:
+                System.out.println("✅ [SqlAdminManager] Login successful for: " + adminId);
+                LoginLockout.clear(AuthService.Realm.ADMIN, adminId);
+                addSuccessfulLogin(writes, adminId, password, account);
+                addLoginAttempt(writes, adminId, ipAddress, true);
+                addAuditEntry(writes, adminId, "LOGIN_SUCCESS", "Admin logged in successfully", ipAddress, userAgent);
+                
+                // The same read serves the name/role lookups that follow a login
+                adminCache.put(adminId, account.admin);
+                break;
         }
+        
+        DatabaseWriter.enqueue(writes);
+        return state == LoginState.AUTHENTICATED;
     }
     
+    public static final String ACCOUNT_STATE_SQL = "SELECT admin_id, name, role, password_hash, salt, needs_password_reset FROM admins WHERE admin_id = ? AND is_active = 1";
+    
     /**
-     * Check if account is locked
+     * Hash, salt, reset flag, name and role of an active admin; null if there is none.
+     * Read on the snapshot pool, so concurrent logins never share (or close) a connection.
      */
-    private static boolean isAccountLocked(String adminId) {
-        Connection conn = getConnection();
-        if (conn == null) return false;
-        
-        String sql = "SELECT account_locked_until FROM admins WHERE admin_id = ? AND is_active = 1";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, adminId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    Timestamp lockedUntil = rs.getTimestamp("account_locked_until");
-                    if (lockedUntil != null) {
-                        if (lockedUntil.after(new Timestamp(System.currentTimeMillis()))) {
-                            return true;
-                        } else {
-                            // Lock has expired, unlock the account
-                            unlockAccount(adminId);
-                            return false;
-                        }
-                    }
+    private static AdminAccountState loadAccountState(String adminId) throws SQLException {
+        return ReadConnectionPool.withSnapshot(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(ACCOUNT_STATE_SQL)) {
+                stmt.setString(1, adminId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (!rs.next()) return null;
+                    
+                    Admin admin = new Admin();
+                    admin.setAdminId(rs.getString("admin_id"));
+                    admin.setName(rs.getString("name"));
+                    admin.setRole(rs.getString("role"));
+                    return new AdminAccountState(admin, rs.getString("password_hash"), rs.getString("salt"),
+                                                 rs.getInt("needs_password_reset") == 1);
                 }
             }
-        } catch (SQLException e) {
-            System.err.println("❌ [SqlAdminManager] Error checking account lock: " + e.getMessage());
-        } finally {
-            closeConnection(conn);
-        }
-        
-        return false;
+        });
     }
     
     /**
-     * Lock account for 15 minutes
+     * One UPDATE for a successful login: last login time, the reset flag and,
+     * if the stored hash is outdated, the hash re-done with the current parameters.
+     * It only applies while the row still holds the hash that was verified, so a
+     * password change committed while the batch is queued is not undone.
      */
-    private static void lockAccount(String adminId) {
-        Connection conn = getConnection();
-        if (conn == null) return;
-        
-        // Lock for 15 minutes
-        Timestamp lockUntil = new Timestamp(System.currentTimeMillis() + (15 * 60 * 1000));
-        String sql = "UPDATE admins SET account_locked_until = ? WHERE admin_id = ?";
+    private static void addSuccessfulLogin(DatabaseWriter.Batch writes, String adminId, String password, AdminAccountState account) {
+        List<Object> params = new ArrayList<>();
+        boolean rehashed = false;
         
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setTimestamp(1, lockUntil);
-            stmt.setString(2, adminId);
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            System.err.println("❌ [SqlAdminManager] Error locking account: " + e.getMessage());
-        } finally {
-            closeConnection(conn);
+        if (account.needsPasswordReset) {
+            System.out.println("⚠️ [SqlAdminManager] Password reset flag cleared");
         }
-    }
-    
-    /**
-     * Unlock account
-     */
-    private static void unlockAccount(String adminId) {
-        Connection conn = getConnection();
-        if (conn == null) return;
         
-        String sql = "UPDATE admins SET account_locked_until = NULL, failed_login_attempts = 0 WHERE admin_id = ?";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, adminId);
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            System.err.println("❌ [SqlAdminManager] Error unlocking account: " + e.getMessage());
-        } finally {
-            closeConnection(conn);
+        if (SecurityUtils.needsRehash(account.passwordHash)) {
+            String salt = SecurityUtils.generateSalt();
+            String newHash = SecurityUtils.encodePassword(password, salt);
+            if (newHash != null) {
+                params.add(newHash);
+                params.add(salt);
+                rehashed = true;
+                System.out.println("🔐 [SqlAdminManager] Password hash upgraded for: " + adminId);
+            }
         }
-    }
-    
-    /**
-     * Increment failed login attempts
-     */
-    private static void incrementFailedLoginAttempts(String adminId) {
-        Connection conn = getConnection();
-        if (conn == null) return;
-        
-        String sql = "UPDATE admins SET failed_login_attempts = failed_login_attempts + 1 WHERE admin_id = ?";
         
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, adminId);
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            System.err.println("❌ [SqlAdminManager] Error incrementing failed attempts: " + e.getMessage());
-        } finally {
-            closeConnection(conn);
-        }
+        params.add(adminId);
+        params.add(account.passwordHash);
+        writes.add(successfulLoginSql(account.needsPasswordReset, rehashed), params.toArray());
     }
     
     /**
-     * Reset failed login attempts
+     * The UPDATE of addSuccessfulLogin; binds the new hash and salt (when rehashing),
+     * then admin_id and the verified hash
      */
-    private static void resetFailedLoginAttempts(String adminId) {
-        Connection conn = getConnection();
-        if (conn == null) return;
-        
-        String sql = "UPDATE admins SET failed_login_attempts = 0, account_locked_until = NULL WHERE admin_id = ?";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, adminId);
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            System.err.println("❌ [SqlAdminManager] Error resetting failed attempts: " + e.getMessage());
-        } finally {
-            closeConnection(conn);
-        }
+    public static String successfulLoginSql(boolean clearResetFlag, boolean rehash) {
+        return "UPDATE admins SET last_login = CURRENT_TIMESTAMP" +
+               (clearResetFlag ? ", needs_password_reset = 0" : "") +
+               (rehash ? ", password_hash = ?, salt = ?" : "") +
+               " WHERE admin_id = ? AND password_hash = ?";
     }
     
-    /**
-     * Log failed login attempt
-     */
-    private static void logFailedLoginAttempt(String adminId, String ipAddress, String reason) {
-        Connection conn = getConnection();
-        if (conn == null) return;
-        
-        String sql = "INSERT INTO login_attempts (admin_id, ip_address, success, attempt_time) VALUES (?, ?, 0, CURRENT_TIMESTAMP)";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, adminId);
-            stmt.setString(2, ipAddress);
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            System.err.println("❌ [SqlAdminManager] Error logging failed attempt: " + e.getMessage());
-        } finally {
-            closeConnection(conn);
-        }
+    public static final String LOGIN_ATTEMPT_SQL = "INSERT INTO login_attempts (admin_id, ip_address, success, attempt_time) VALUES (?, ?, ?, CURRENT_TIMESTAMP)";
+    
+    private static void addLoginAttempt(DatabaseWriter.Batch writes, String adminId, String ipAddress, boolean success) {
+        writes.add(LOGIN_ATTEMPT_SQL, adminId, ipAddress, success ? 1 : 0);
     }
     
-    /**
-     * Log successful login attempt
-     */
-    private static void logSuccessfulLoginAttempt(String adminId, String ipAddress) {
-        Connection conn = getConnection();
-        if (conn == null) return;
-        
-        String sql = "INSERT INTO login_attempts (admin_id, ip_address, success, attempt_time) VALUES (?, ?, 1, CURRENT_TIMESTAMP)";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, adminId);
-            stmt.setString(2, ipAddress);
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            System.err.println("❌ [SqlAdminManager] Error logging successful attempt: " + e.getMessage());
-        } finally {
-            closeConnection(conn);
-        }
+    public static final String AUDIT_ENTRY_SQL = "INSERT INTO audit_logs (admin_id, action, details, ip_address, user_agent) VALUES (?, ?, ?, ?, ?)";
+    
+    private static void addAuditEntry(DatabaseWriter.Batch writes, String adminId, String action, String details,
+                                      String ipAddress, String userAgent) {
+        writes.add(AUDIT_ENTRY_SQL, adminId, action, details, ipAddress, userAgent);
     }
     
     /**
@@ -474,42 +437,10 @@ public class SqlAdminManager {
         return updatePasswordHash(adminId, newPassword, true, "PASSWORD_RESET");
     }
     
-    private static void clearPasswordResetFlag(String adminId) {
-        Connection conn = getConnection();
-        if (conn == null) return;
-        
-        String sql = "UPDATE admins SET needs_password_reset = 0 WHERE admin_id = ?";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, adminId);
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            System.err.println("⚠️ [SqlAdminManager] Could not clear password reset flag: " + e.getMessage());
-        } finally {
-            closeConnection(conn);
-        }
-    }
-    
-    private static void updateLastLogin(String adminId) {
-        Connection conn = getConnection();
-        if (conn == null) return;
-        
-        String sql = "UPDATE admins SET last_login = CURRENT_TIMESTAMP WHERE admin_id = ?";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, adminId);
-            stmt.executeUpdate();
-            // Clear from cache
-            adminCache.remove(adminId);
-        } catch (SQLException e) {
-            System.err.println("⚠️ [SqlAdminManager] Could not update last login: " + e.getMessage());
-        } finally {
-            closeConnection(conn);
-        }
-    }
-    
     // ==================== ADMIN CRUD OPERATIONS ====================
     
+    public static final String ADMIN_BY_ID_SQL = "SELECT admin_id, name, role, needs_password_reset FROM admins WHERE admin_id = ? AND is_active = 1";
+    
     public static Admin getAdminById(String adminId) {
         // Check cache first
         if (adminCache.containsKey(adminId)) {
@@ -519,9 +450,7 @@ public class SqlAdminManager {
         Connection conn = getConnection();
         if (conn == null) return null;
         
-        String sql = "SELECT admin_id, name, role, needs_password_reset FROM admins WHERE admin_id = ? AND is_active = 1";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(ADMIN_BY_ID_SQL)) {
             stmt.setString(1, adminId);
             try (ResultSet rs = stmt.executeQuery()) {
                 
@@ -593,7 +522,7 @@ public class SqlAdminManager {
             
             // Hash password
             String salt = SecurityUtils.generateSalt();
-            String passwordHash = SecurityUtils.hashPassword(password, salt);
+            String passwordHash = SecurityUtils.encodePassword(password, salt);
             
             if (passwordHash == null) {
                 System.out.println("❌ [SqlAdminManager] Failed to hash password");
@@ -711,6 +640,8 @@ public class SqlAdminManager {
         }
     }
 
+    public static final String DEACTIVATE_ADMIN_SQL = "UPDATE admins SET is_active = 0 WHERE admin_id = ?";
+
     public static boolean deleteAdmin(String adminId) {
         Connection conn = null;
         try {
@@ -719,9 +650,7 @@ public class SqlAdminManager {
             
             conn.setAutoCommit(false);
             
-            String sql = "UPDATE admins SET is_active = 0 WHERE admin_id = ?";
-            
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            try (PreparedStatement stmt = conn.prepareStatement(DEACTIVATE_ADMIN_SQL)) {
                 stmt.setString(1, adminId);
                 int rows = stmt.executeUpdate();
                 
@@ -770,15 +699,15 @@ public class SqlAdminManager {
         }
     }
     
+    public static final String ACTIVE_ADMINS_SQL = "SELECT admin_id, name, role FROM admins WHERE is_active = 1 ORDER BY created_at DESC";
+    
     public static List<Admin> getAllAdmins() {
         List<Admin> admins = new ArrayList<>();
         Connection conn = getConnection();
         if (conn == null) return admins;
         
-        String sql = "SELECT admin_id, name, role FROM admins WHERE is_active = 1 ORDER BY created_at DESC";
-        
         try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             ResultSet rs = stmt.executeQuery(ACTIVE_ADMINS_SQL)) {
             
             while (rs.next()) {
                 Admin admin = new Admin();
@@ -799,13 +728,98 @@ public class SqlAdminManager {
         return admins;
     }
     
-    public static boolean adminExists(String adminId) {
+    /**
+     * Get one page of active admins, newest first.
+     * Pass null for the first page, then the previous page's token.
+     * Admins without a created_at come last, by ID; their tokens carry an
+     * empty sort key, so paging continues among them instead of stopping.
+     */
+    public static Page<Admin> getAdminsPage(String afterToken, int pageSize) {
+        if (pageSize <= 0) return Page.empty();
+        
+        String[] key = splitPageToken(afterToken);
+        boolean inNullTail = key != null && key[0].isEmpty();
+        
         Connection conn = getConnection();
-        if (conn == null) return false;
+        if (conn == null) return Page.empty();
         
-        String sql = "SELECT 1 FROM admins WHERE admin_id = ? AND is_active = 1";
+        // One extra row tells us whether more follow
+        List<String[]> rows = new ArrayList<>();
+        List<Admin> admins = new ArrayList<>();
         
+        try {
+            if (!inNullTail) {
+                readAdminPageRows(conn, adminsPageSql(false, key != null), key, pageSize + 1, admins, rows);
+            }
+            if (admins.size() <= pageSize) {
+                readAdminPageRows(conn, adminsPageSql(true, inNullTail), inNullTail ? new String[]{ key[1] } : null,
+                                  pageSize + 1 - admins.size(), admins, rows);
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ [SqlAdminManager] Error retrieving admin page: " + e.getMessage());
+            return Page.empty();
+        } finally {
+            closeConnection(conn);
+        }
+        
+        if (admins.size() <= pageSize) {
+            return new Page<>(admins, null);
+        }
+        admins.remove(pageSize);
+        String[] last = rows.get(pageSize - 1);
+        return new Page<>(admins, (last[0] != null ? last[0] : "") + "|" + last[1]);
+    }
+    
+    /**
+     * Page query over admins with a created_at (newest first), or over those
+     * without one (by ID); afterKey adds the keyset predicate
+     */
+    public static String adminsPageSql(boolean withoutCreatedAt, boolean afterKey) {
+        if (withoutCreatedAt) {
+            return "SELECT admin_id, name, role, created_at FROM admins WHERE is_active = 1 AND created_at IS NULL " +
+                   (afterKey ? "AND admin_id < ? " : "") +
+                   "ORDER BY admin_id DESC LIMIT ?";
+        }
+        return "SELECT admin_id, name, role, created_at FROM admins WHERE is_active = 1 AND created_at IS NOT NULL " +
+               (afterKey ? "AND (created_at, admin_id) < (?, ?) " : "") +
+               "ORDER BY created_at DESC, admin_id DESC LIMIT ?";
+    }
+    
+    /**
+     * Run one admin page query, appending the admins and their (created_at, admin_id) keys
+     */
+    private static void readAdminPageRows(Connection conn, String sql, String[] keyParams, int limit,
+                                          List<Admin> admins, List<String[]> rows) throws SQLException {
         try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int param = 1;
+            if (keyParams != null) {
+                for (String value : keyParams) {
+                    stmt.setString(param++, value);
+                }
+            }
+            stmt.setInt(param, limit);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Admin admin = new Admin();
+                    admin.setAdminId(rs.getString("admin_id"));
+                    admin.setName(rs.getString("name"));
+                    admin.setRole(rs.getString("role"));
+                    admins.add(admin);
+                    adminCache.put(admin.getAdminId(), admin);
+                    rows.add(new String[]{ rs.getString("created_at"), admin.getAdminId() });
+                }
+            }
+        }
+    }
+    
+    public static final String ADMIN_EXISTS_SQL = "SELECT 1 FROM admins WHERE admin_id = ? AND is_active = 1";
+    
+    public static boolean adminExists(String adminId) {
+        Connection conn = getConnection();
+        if (conn == null) return false;
+        
+        try (PreparedStatement stmt = conn.prepareStatement(ADMIN_EXISTS_SQL)) {
             stmt.setString(1, adminId);
             try (ResultSet rs = stmt.executeQuery()) {
                 return rs.next();
@@ -841,6 +855,8 @@ public class SqlAdminManager {
         return updatePasswordHash(adminId, newPassword, true, "PASSWORD_RESET_BY_ADMIN");
     }
     
+    public static final String UPDATE_PASSWORD_HASH_SQL = "UPDATE admins SET password_hash = ?, salt = ?, needs_password_reset = ? WHERE admin_id = ?";
+    
     /**
      * Centralized password update method
      */
@@ -849,16 +865,14 @@ public class SqlAdminManager {
         if (conn == null) return false;
         
         String salt = SecurityUtils.generateSalt();
-        String newHash = SecurityUtils.hashPassword(newPassword, salt);
+        String newHash = SecurityUtils.encodePassword(newPassword, salt);
         
         if (newHash == null) {
             System.out.println("❌ [SqlAdminManager] Failed to hash new password");
             return false;
         }
         
-        String sql = "UPDATE admins SET password_hash = ?, salt = ?, needs_password_reset = ? WHERE admin_id = ?";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(UPDATE_PASSWORD_HASH_SQL)) {
             stmt.setString(1, newHash);
             stmt.setString(2, salt);
             stmt.setInt(3, needsReset ? 1 : 0);
@@ -905,23 +919,8 @@ public class SqlAdminManager {
     }
     
     public static void logAdminAction(String adminId, String action, String details, String ipAddress, String userAgent) {
-        Connection conn = getConnection();
-        if (conn == null) return;
-        
-        String sql = "INSERT INTO audit_logs (admin_id, action, details, ip_address, user_agent) VALUES (?, ?, ?, ?, ?)";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, adminId);
-            stmt.setString(2, action);
-            stmt.setString(3, details);
-            stmt.setString(4, ipAddress);
-            stmt.setString(5, userAgent);
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            System.err.println("⚠️ [SqlAdminManager] Could not log action: " + e.getMessage());
-        } finally {
-            closeConnection(conn);
-        }
+        // Audit rows are queued on the single writer and committed in batches
+        DatabaseWriter.enqueue(AUDIT_ENTRY_SQL, adminId, action, details, ipAddress, userAgent);
     }
     
     // ==================== SUPERADMIN-SPECIFIC METHODS ====================
@@ -972,6 +971,8 @@ public class SqlAdminManager {
         return success;
     }
     
+    public static final String REASSIGN_ROLE_SQL = "UPDATE admins SET role = ? WHERE admin_id = ? AND is_active = 1";
+    
     public static boolean reassignAdminRoleBySuper(String superAdminId, String targetAdminId, String newRole) {
         Admin superAdmin = getAdminById(superAdminId);
         if (superAdmin == null || !superAdmin.getRole().equals(AdminRole.SUPERADMIN)) {
@@ -997,9 +998,7 @@ public class SqlAdminManager {
             return false;
         }
         
-        String sql = "UPDATE admins SET role = ? WHERE admin_id = ? AND is_active = 1";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(REASSIGN_ROLE_SQL)) {
             stmt.setString(1, newRole);
             stmt.setString(2, targetAdminId);
             int rowsAffected = stmt.executeUpdate();
@@ -1023,6 +1022,8 @@ public class SqlAdminManager {
         return false;
     }
     
+    public static final String RESET_ADMIN_PASSWORD_SQL = "UPDATE admins SET password_hash = ?, salt = ?, needs_password_reset = 1 WHERE admin_id = ? AND is_active = 1";
+    
     public static boolean changeAdminPasswordBySuper(String superAdminId, String targetAdminId, String newPassword) {
         Admin superAdmin = getAdminById(superAdminId);
         if (superAdmin == null || !superAdmin.getRole().equals(AdminRole.SUPERADMIN)) {
@@ -1043,16 +1044,14 @@ public class SqlAdminManager {
         }
         
         String salt = SecurityUtils.generateSalt();
-        String passwordHash = SecurityUtils.hashPassword(newPassword, salt);
+        String passwordHash = SecurityUtils.encodePassword(newPassword, salt);
         
         if (passwordHash == null) {
             System.out.println("❌ [SqlAdminManager] Failed to hash password");
             return false;
         }
         
-        String sql = "UPDATE admins SET password_hash = ?, salt = ?, needs_password_reset = 1 WHERE admin_id = ? AND is_active = 1";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(RESET_ADMIN_PASSWORD_SQL)) {
             stmt.setString(1, passwordHash);
             stmt.setString(2, salt);
             stmt.setString(3, targetAdminId);
@@ -1078,6 +1077,8 @@ public class SqlAdminManager {
         return false;
     }
     
+    public static final String ALL_ADMINS_SQL = "SELECT admin_id, name, role, is_active, created_at, last_login, needs_password_reset FROM admins ORDER BY created_at ASC";
+    
     public static List<Admin> getAllAdmins(String superAdminId) {
         Admin superAdmin = getAdminById(superAdminId);
         if (superAdmin == null || !superAdmin.getRole().equals(AdminRole.SUPERADMIN)) {
@@ -1090,10 +1091,9 @@ public class SqlAdminManager {
         if (conn == null) return new ArrayList<>();
         
         List<Admin> admins = new ArrayList<>();
-        String sql = "SELECT admin_id, name, role, is_active, created_at, last_login, needs_password_reset FROM admins ORDER BY created_at ASC";
         
         try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             ResultSet rs = stmt.executeQuery(ALL_ADMINS_SQL)) {
             
             while (rs.next()) {
                 Admin admin = new Admin();
@@ -1116,14 +1116,14 @@ public class SqlAdminManager {
     
     // ==================== UTILITY METHODS ====================
     
+    public static final String COUNT_ACTIVE_ADMINS_SQL = "SELECT COUNT(*) as cnt FROM admins WHERE is_active = 1";
+    
     private static boolean isFirstSetup() {
         Connection conn = getConnection();
         if (conn == null) return true;
         
-        String sql = "SELECT COUNT(*) as cnt FROM admins WHERE is_active = 1";
-        
         try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             ResultSet rs = stmt.executeQuery(COUNT_ACTIVE_ADMINS_SQL)) {
             if (rs.next()) {
                 return rs.getInt("cnt") == 0;
             }
@@ -1140,10 +1140,8 @@ public class SqlAdminManager {
         Connection conn = getConnection();
         if (conn == null) return 0;
         
-        String sql = "SELECT COUNT(*) as cnt FROM admins WHERE is_active = 1";
-        
         try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             ResultSet rs = stmt.executeQuery(COUNT_ACTIVE_ADMINS_SQL)) {
             if (rs.next()) {
                 return rs.getInt("cnt");
             }
@@ -1165,6 +1163,8 @@ public class SqlAdminManager {
         return null;
     }
     
+    public static final String COUNT_ADMINS_BY_ROLE_SQL = "SELECT COUNT(*) as cnt FROM admins WHERE role = ? AND is_active = 1";
+    
     /**
      * Ensures at least one SuperAdmin exists. Called from Main at startup.
      * Creates default superadmin (superadmin / super123) if no admins exist.
@@ -1183,9 +1183,7 @@ public class SqlAdminManager {
                 return;
             }
             
-            String sql = "SELECT COUNT(*) as cnt FROM admins WHERE role = ? AND is_active = 1";
-            
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            try (PreparedStatement stmt = conn.prepareStatement(COUNT_ADMINS_BY_ROLE_SQL)) {
                 stmt.setString(1, AdminRole.SUPERADMIN);
                 try (ResultSet rs = stmt.executeQuery()) {
                     if (rs.next()) {
@@ -1355,6 +1353,8 @@ public class SqlAdminManager {
     
     // ==================== DEBUG & MAINTENANCE ====================
     
+    public static final String DEBUG_ADMINS_SQL = "SELECT admin_id, name, role, is_active, created_at FROM admins";
+    
     public static void debugCheckAdminsTable() {
         System.out.println("\n🔍 [SqlAdminManager] DEBUG: Checking admins table");
         
@@ -1365,9 +1365,8 @@ public class SqlAdminManager {
         }
         
         try {
-            String sql = "SELECT admin_id, name, role, is_active, created_at FROM admins";
             try (Statement stmt = conn.createStatement(); 
-                 ResultSet rs = stmt.executeQuery(sql)) {
+                 ResultSet rs = stmt.executeQuery(DEBUG_ADMINS_SQL)) {
                 System.out.println("👥 SQL Admin records:");
                 boolean found = false;
                 while (rs.next()) {
@@ -1408,67 +1407,134 @@ public class SqlAdminManager {
         return ids;
     }
     
+    public static final String ADMIN_AUDIT_TRAIL_SQL = "SELECT action, details, timestamp FROM audit_logs WHERE admin_id = ? ORDER BY timestamp DESC LIMIT 50";
+    
     /**
      * Get admin's audit trail
      */
     public static List<String> getAdminAuditTrail(String adminId) {
-        List<String> auditLogs = new ArrayList<>();
-        Connection conn = getConnection();
-        if (conn == null) return auditLogs;
-        
-        String sql = "SELECT action, details, timestamp FROM audit_logs WHERE admin_id = ? ORDER BY timestamp DESC LIMIT 50";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, adminId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                
-                while (rs.next()) {
-                    String log = String.format("[%s] %s - %s", 
-                        rs.getTimestamp("timestamp"),
-                        rs.getString("action"),
-                        rs.getString("details"));
-                    auditLogs.add(log);
+        // Audit viewer reads from the snapshot pool, away from the write path
+        try {
+            return ReadConnectionPool.withSnapshot(conn -> {
+                List<String> auditLogs = new ArrayList<>();
+                try (PreparedStatement stmt = conn.prepareStatement(ADMIN_AUDIT_TRAIL_SQL)) {
+                    stmt.setString(1, adminId);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            String log = String.format("[%s] %s - %s", 
+                                rs.getTimestamp("timestamp"),
+                                rs.getString("action"),
+                                rs.getString("details"));
+                            auditLogs.add(log);
+                        }
+                    }
                 }
-            }
+                return auditLogs;
+            });
         } catch (SQLException e) {
             System.err.println("❌ [SqlAdminManager] Error retrieving audit trail: " + e.getMessage());
-        } finally {
-            closeConnection(conn);
+            return new ArrayList<>();
         }
-        
-        return auditLogs;
     }
     
+    public static final String RECENT_AUDIT_LOGS_SQL = "SELECT admin_id, action, details, timestamp FROM audit_logs ORDER BY timestamp DESC LIMIT ?";
+    
     /**
      * Get all audit logs for system monitoring
      */
     public static List<String> getAllAuditLogs(int limit) {
-        List<String> auditLogs = new ArrayList<>();
-        Connection conn = getConnection();
-        if (conn == null) return auditLogs;
-        
-        String sql = "SELECT admin_id, action, details, timestamp FROM audit_logs ORDER BY timestamp DESC LIMIT ?";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, limit);
-            try (ResultSet rs = stmt.executeQuery()) {
-                
-                while (rs.next()) {
-                    String log = String.format("[%s] %s: %s - %s", 
-                        rs.getTimestamp("timestamp"),
-                        rs.getString("admin_id"),
-                        rs.getString("action"),
-                        rs.getString("details"));
-                    auditLogs.add(log);
+        try {
+            return ReadConnectionPool.withSnapshot(conn -> {
+                List<String> auditLogs = new ArrayList<>();
+                try (PreparedStatement stmt = conn.prepareStatement(RECENT_AUDIT_LOGS_SQL)) {
+                    stmt.setInt(1, limit);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            String log = String.format("[%s] %s: %s - %s", 
+                                rs.getTimestamp("timestamp"),
+                                rs.getString("admin_id"),
+                                rs.getString("action"),
+                                rs.getString("details"));
+                            auditLogs.add(log);
+                        }
+                    }
                 }
-            }
+                return auditLogs;
+            });
         } catch (SQLException e) {
             System.err.println("❌ [SqlAdminManager] Error retrieving audit logs: " + e.getMessage());
-        } finally {
-            closeConnection(conn);
+            return new ArrayList<>();
         }
+    }
+    
+    /**
+     * Get one page of audit logs, newest first, optionally for a single admin.
+     * Pass null for the first page, then the previous page's token.
+     * Backed by idx_audit_timestamp / idx_audit_admin_timestamp, so deep pages
+     * cost the same as the first one.
+     */
+    public static Page<String> getAuditLogsPage(String adminId, String afterToken, int pageSize) {
+        if (pageSize <= 0) return Page.empty();
         
-        return auditLogs;
+        String[] key = splitPageToken(afterToken);
+        String sql = auditLogsPageSql(adminId != null, key != null);
+        
+        try {
+            return ReadConnectionPool.withSnapshot(conn -> {
+                List<String> auditLogs = new ArrayList<>();
+                String lastKey = null;
+                
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    int param = 1;
+                    if (adminId != null) {
+                        stmt.setString(param++, adminId);
+                    }
+                    if (key != null) {
+                        stmt.setString(param++, key[0]);
+                        stmt.setLong(param++, Long.parseLong(key[1]));
+                    }
+                    stmt.setInt(param, pageSize + 1);  // one extra row tells us whether more follow
+                    
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            if (auditLogs.size() == pageSize) {
+                                return new Page<>(auditLogs, lastKey);
+                            }
+                            auditLogs.add(String.format("[%s] %s: %s - %s",
+                                rs.getString("timestamp"),
+                                rs.getString("admin_id"),
+                                rs.getString("action"),
+                                rs.getString("details")));
+                            lastKey = rs.getString("timestamp") + "|" + rs.getLong("seq");
+                        }
+                    }
+                }
+                return new Page<>(auditLogs, null);
+            });
+        } catch (SQLException | NumberFormatException e) {
+            System.err.println("❌ [SqlAdminManager] Error retrieving audit log page: " + e.getMessage());
+            return Page.empty();
+        }
+    }
+    
+    /**
+     * Audit page query, optionally for one admin; afterKey adds the keyset predicate
+     */
+    public static String auditLogsPageSql(boolean byAdmin, boolean afterKey) {
+        return "SELECT rowid AS seq, admin_id, action, details, timestamp FROM audit_logs WHERE 1 = 1 " +
+               (byAdmin ? "AND admin_id = ? " : "") +
+               (afterKey ? "AND (timestamp, rowid) < (?, ?) " : "") +
+               "ORDER BY timestamp DESC, rowid DESC LIMIT ?";
+    }
+    
+    /**
+     * Split a "sortKey|tieBreaker" continuation token, or null for the first page
+     */
+    private static String[] splitPageToken(String token) {
+        if (token == null) return null;
+        int sep = token.indexOf('|');
+        if (sep < 0) return null;
+        return new String[]{ token.substring(0, sep), token.substring(sep + 1) };
     }
     
     /**
@@ -1480,6 +1546,9 @@ public class SqlAdminManager {
         System.out.println("✅ [SqlAdminManager] All caches cleared");
     }
     
+    public static final String PURGE_OLD_AUDIT_LOGS_SQL =
+        "DELETE FROM audit_logs WHERE timestamp < " + DatabaseManager.getDialect().daysAgo("?");
+    
     /**
      * Clean up old audit logs
      */
@@ -1487,9 +1556,7 @@ public class SqlAdminManager {
         Connection conn = getConnection();
         if (conn == null) return 0;
         
-        String sql = "DELETE FROM audit_logs WHERE timestamp < datetime('now', '-' || ? || ' days')";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(PURGE_OLD_AUDIT_LOGS_SQL)) {
             stmt.setInt(1, daysToKeep);
             int deleted = stmt.executeUpdate();
             System.out.println("✅ [SqlAdminManager] Cleaned up " + deleted + " old audit logs");
@@ -1502,25 +1569,30 @@ public class SqlAdminManager {
         }
     }
     
+    public static final String CREATE_SESSION_SQL = "INSERT INTO admin_sessions (session_id, admin_id, ip_address, user_agent, expires_at) VALUES (?, ?, ?, ?, ?)";
+    
     /**
      * Session Management Methods
+     *
+     * Validated sessions are served from AdminSessionCache: last_activity is
+     * written behind in batches and expired rows are purged by its sweeper.
      */
     public static String createSession(String adminId, String ipAddress, String userAgent, int timeoutMinutes) {
         Connection conn = getConnection();
         if (conn == null) return null;
         
         String sessionId = UUID.randomUUID().toString();
-        Timestamp expiresAt = new Timestamp(System.currentTimeMillis() + (timeoutMinutes * 60 * 1000));
-        
-        String sql = "INSERT INTO admin_sessions (session_id, admin_id, ip_address, user_agent, expires_at) VALUES (?, ?, ?, ?, ?)";
+        long now = System.currentTimeMillis();
+        Timestamp expiresAt = new Timestamp(now + (timeoutMinutes * 60L * 1000));
         
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(CREATE_SESSION_SQL)) {
             stmt.setString(1, sessionId);
             stmt.setString(2, adminId);
             stmt.setString(3, ipAddress);
             stmt.setString(4, userAgent);
             stmt.setTimestamp(5, expiresAt);
             stmt.executeUpdate();
+            AdminSessionCache.put(new AdminSessionCache.Session(sessionId, adminId, ipAddress, expiresAt.getTime(), now));
             return sessionId;
         } catch (SQLException e) {
             System.err.println("❌ [SqlAdminManager] Error creating session: " + e.getMessage());
@@ -1531,84 +1603,80 @@ public class SqlAdminManager {
     }
     
     public static boolean validateSession(String sessionId, String ipAddress) {
-        Connection conn = getConnection();
-        if (conn == null) return false;
+        if (sessionId == null) return false;
         
-        String sql = "SELECT admin_id, expires_at FROM admin_sessions WHERE session_id = ? AND ip_address = ?";
+        AdminSessionCache.Session session = AdminSessionCache.get(sessionId);
+        if (session == null) {
+            session = loadSession(sessionId, ipAddress);
+            if (session == null) return false;
+        }
         
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, sessionId);
-            stmt.setString(2, ipAddress);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    Timestamp expiresAt = rs.getTimestamp("expires_at");
-                    if (expiresAt.after(new Timestamp(System.currentTimeMillis()))) {
-                        // Update last activity
-                        updateSessionActivity(sessionId);
-                        return true;
-                    } else {
-                        // Session expired, delete it
-                        deleteSession(sessionId);
-                        return false;
+        if (!Objects.equals(session.ipAddress, ipAddress)) return false;
+        if (session.isExpired(System.currentTimeMillis())) {
+            // The sweeper deletes the row
+            AdminSessionCache.remove(sessionId);
+            return false;
+        }
+        
+        AdminSessionCache.touch(session);
+        return true;
+    }
+    
+    public static final String LOAD_SESSION_SQL = "SELECT admin_id, expires_at FROM admin_sessions WHERE session_id = ? AND ip_address = ?";
+    
+    /**
+     * Read a session the cache does not hold; cached unless it has expired
+     */
+    private static AdminSessionCache.Session loadSession(String sessionId, String ipAddress) {
+        try {
+            AdminSessionCache.Session session = ReadConnectionPool.withSnapshot(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(LOAD_SESSION_SQL)) {
+                    stmt.setString(1, sessionId);
+                    stmt.setString(2, ipAddress);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (!rs.next()) return null;
+                        
+                        Timestamp expiresAt = rs.getTimestamp("expires_at");
+                        return new AdminSessionCache.Session(sessionId, rs.getString("admin_id"), ipAddress,
+                                                             expiresAt != null ? expiresAt.getTime() : 0,
+                                                             System.currentTimeMillis());
                     }
                 }
+            });
+            if (session != null && !session.isExpired(System.currentTimeMillis())
+                    && !AdminSessionCache.loaded(session)) {
+                return null;  // logged out while the row was being read
             }
+            return session;
         } catch (SQLException e) {
             System.err.println("❌ [SqlAdminManager] Error validating session: " + e.getMessage());
-        } finally {
-            closeConnection(conn);
+            return null;
         }
-        
-        return false;
     }
     
-    private static void updateSessionActivity(String sessionId) {
-        Connection conn = getConnection();
-        if (conn == null) return;
-        
-        String sql = "UPDATE admin_sessions SET last_activity = CURRENT_TIMESTAMP WHERE session_id = ?";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, sessionId);
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            System.err.println("❌ [SqlAdminManager] Error updating session activity: " + e.getMessage());
-        } finally {
-            closeConnection(conn);
-        }
-    }
+    public static final String DELETE_SESSION_SQL = "DELETE FROM admin_sessions WHERE session_id = ?";
     
     public static void deleteSession(String sessionId) {
-        Connection conn = getConnection();
-        if (conn == null) return;
-        
-        String sql = "DELETE FROM admin_sessions WHERE session_id = ?";
+        if (sessionId == null) return;
         
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, sessionId);
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            System.err.println("❌ [SqlAdminManager] Error deleting session: " + e.getMessage());
-        } finally {
-            closeConnection(conn);
-        }
+        AdminSessionCache.end(sessionId);
+        DatabaseWriter.enqueue(DELETE_SESSION_SQL, sessionId);
     }
     
+    public static final String PURGE_EXPIRED_SESSIONS_SQL = "DELETE FROM admin_sessions WHERE expires_at < ?";
+    
+    /**
+     * Purge expired session rows; run by the AdminSessionCache sweeper
+     */
     public static void cleanupExpiredSessions() {
-        Connection conn = getConnection();
-        if (conn == null) return;
-        
-        String sql = "DELETE FROM admin_sessions WHERE expires_at < CURRENT_TIMESTAMP";
-        
-        try (Statement stmt = conn.createStatement()) {
-            int deleted = stmt.executeUpdate(sql);
-            if (deleted > 0) {
-                System.out.println("✅ [SqlAdminManager] Cleaned up " + deleted + " expired sessions");
-            }
-        } catch (SQLException e) {
-            System.err.println("❌ [SqlAdminManager] Error cleaning up sessions: " + e.getMessage());
-        } finally {
-            closeConnection(conn);
-        }
+        // Bound as a Timestamp so it compares like the expires_at values createSession writes
+        DatabaseWriter.submit(PURGE_EXPIRED_SESSIONS_SQL, new Timestamp(System.currentTimeMillis()))
+            .whenComplete((deleted, error) -> {
+                if (error != null) {
+                    System.err.println("❌ [SqlAdminManager] Error cleaning up sessions: " + error.getMessage());
+                } else if (deleted != null && deleted > 0) {
+                    System.out.println("✅ [SqlAdminManager] Cleaned up " + deleted + " expired sessions");
+                }
+            });
     }
 }
\ No newline at end of file
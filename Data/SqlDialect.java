@@ -0,0 +1,132 @@
+package Data;
+
+import java.sql.*;
+import java.util.*;
+
+/**
+ * The engine-specific parts of the SQL layer: connection URLs and settings,
+ * DDL details, upserts, date arithmetic, schema introspection, the votes
+ * triggers and error classification. Everything else is plain SQL that runs
+ * unchanged on every supported engine.
+ *
+ * The engine is chosen at startup with -Delection.dialect=sqlite|h2
+ * (default sqlite) and exposed through DatabaseManager.getDialect().
+ *
+ * Upsert expressions refer to the incoming row as "excluded.column" and to
+ * the stored row as "table.column"; both engines accept that spelling.
+ * RunDialectSuite runs the same checks and workload against each engine.
+ */
+public interface SqlDialect {
+
+    String getName();
+
+    String getDriverClass();
+
+    /**
+     * JDBC URL for a database file path such as "election_system.db"
+     */
+    String getJdbcUrl(String path);
+
+    // ==================== CONNECTIONS ====================
+
+    /**
+     * Settings applied to every new connection (journal mode, lock timeout)
+     */
+    void configureConnection(Connection conn) throws SQLException;
+
+    /**
+     * How long a statement waits for a lock before failing with a busy error
+     */
+    void setLockTimeout(Connection conn, int millis) throws SQLException;
+
+    /**
+     * Turn a connection into a snapshot reader for ReadConnectionPool
+     */
+    void makeReadOnly(Connection conn) throws SQLException;
+
+    // ==================== DDL ====================
+
+    /**
+     * Column definition for an auto-numbered integer primary key
+     */
+    String autoIncrementKey(String column);
+
+    /**
+     * Suffix for tables that are nothing but their primary key (tallies)
+     */
+    String keyOnlyTableOptions();
+
+    /**
+     * Table constraint for a foreign key, or "" where the engine would enforce
+     * it (references are checked by triggers, see DatabaseManager)
+     */
+    String foreignKey(String column, String reference);
+
+    /**
+     * Triggers keeping tallies in step with votes
+     */
+    List<String> tallyTriggers();
+
+    /**
+     * Triggers that reject ballots for unknown voters or nominees (raising
+     * DatabaseManager.VOTE_UNKNOWN_VOTER / VOTE_UNKNOWN_NOMINEE) and set
+     * voters.has_voted
+     */
+    List<String> ballotTriggers();
+
+    // ==================== DML ====================
+
+    /**
+     * Insert one row, or update the row with the same key.
+     * updateSet and updateWhere may use excluded.column and table.column;
+     * a null updateWhere always updates. Parameters bind to columns in order.
+     * The update count is 0 when the WHERE clause skipped the update.
+     */
+    String upsert(String table, String[] columns, String[] keys, String updateSet, String updateWhere);
+
+    /**
+     * Insert one row unless a row with the same key exists (update count 0)
+     */
+    String insertIgnore(String table, String[] columns, String[] keys);
+
+    /**
+     * Timestamp expression for "now minus the given number of days";
+     * days is a SQL expression such as "?" or "1"
+     */
+    String daysAgo(String days);
+
+    // ==================== INTROSPECTION ====================
+
+    boolean tableExists(Connection conn, String table) throws SQLException;
+
+    /**
+     * Column names of a table, lower case; empty if the table does not exist
+     */
+    Set<String> getColumns(Connection conn, String table) throws SQLException;
+
+    // ==================== ERRORS ====================
+
+    /**
+     * True if the statement failed only because another connection held a lock
+     * and may simply be retried
+     */
+    boolean isBusy(SQLException e);
+
+    /**
+     * True if the statement violated a unique or primary key constraint
+     */
+    boolean isUniqueViolation(SQLException e);
+
+    /**
+     * Dialect for a name from -Delection.dialect; unknown names fall back to SQLite
+     */
+    static SqlDialect forName(String name) {
+        if (name != null && name.trim().equalsIgnoreCase("h2")) {
+            return new H2Dialect();
+        }
+        if (name != null && !name.trim().equalsIgnoreCase("sqlite")) {
+            System.err.println("⚠️ [SqlDialect] Unknown dialect '" + name + "', using SQLite");
+        }
+        return new SqliteDialect();
+    }
+}
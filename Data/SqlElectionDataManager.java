@@ -6,6 +6,9 @@ import Utils.SecurityUtils;
 import java.sql.*;
 import java.util.*;
 import java.io.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * SQL-based Election Data Manager - Replaces plain text file storage.
@@ -69,7 +72,7 @@ public class SqlElectionDataManager {
                         // Generate new salt for migrated voter
                         String salt = SecurityUtils.generateSalt();
                         String tempPassword = "Voter123!"; // Temporary password
-                        String newHash = SecurityUtils.hashPassword(tempPassword, salt);
+                        String newHash = SecurityUtils.encodePassword(tempPassword, salt);
                         
                         if (newHash != null) {
                             // Use existing addVoter method
@@ -114,6 +117,7 @@ public class SqlElectionDataManager {
             stmt.setInt(6, hasVoted ? 1 : 0);
             
             stmt.executeUpdate();
+            VoterIdFilter.addedToDatabase(voterId);
             return true;
         } catch (SQLException e) {
             System.out.println("❌ Error adding voter in migration: " + e.getMessage());
@@ -250,6 +254,8 @@ public class SqlElectionDataManager {
         return migrated;
     }
     
+    public static final String VOTE_EXISTS_SQL = "SELECT 1 FROM votes WHERE vote_id = ?";
+    
     /**
      * Check if vote exists
      */
@@ -257,9 +263,7 @@ public class SqlElectionDataManager {
         Connection conn = DatabaseManager.getConnection();
         if (conn == null) return false;
         
-        String sql = "SELECT 1 FROM votes WHERE vote_id = ?";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(VOTE_EXISTS_SQL)) {
             stmt.setString(1, voteId);
             return stmt.executeQuery().next();
         } catch (SQLException e) {
@@ -289,6 +293,8 @@ public class SqlElectionDataManager {
         }
     }
     
+    public static final String MARK_VOTED_SQL = "UPDATE voters SET has_voted = 1 WHERE voter_id = ?";
+    
     /**
      * Update voter's has_voted status
      */
@@ -296,9 +302,7 @@ public class SqlElectionDataManager {
         Connection conn = DatabaseManager.getConnection();
         if (conn == null) return;
         
-        String sql = "UPDATE voters SET has_voted = 1 WHERE voter_id = ?";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(MARK_VOTED_SQL)) {
             stmt.setString(1, voterId);
             stmt.executeUpdate();
         } catch (SQLException e) {
@@ -345,6 +349,7 @@ public class SqlElectionDataManager {
             stmt.setString(2, name);
             stmt.setString(3, email != null && !email.isEmpty() ? email : null);
             stmt.executeUpdate();
+            VoterIdFilter.addedToDatabase(voterId);
             System.out.println("✅ Voter added: " + voterId + (email != null && !email.isEmpty() ? " (" + email + ")" : ""));
             return true;
         } catch (SQLException e) {
@@ -353,6 +358,8 @@ public class SqlElectionDataManager {
         }
     }
     
+    public static final String DELETE_VOTER_SQL = "DELETE FROM voters WHERE voter_id = ?";
+    
     /**
      * Delete a voter from the database
      */
@@ -360,13 +367,12 @@ public class SqlElectionDataManager {
         Connection conn = DatabaseManager.getConnection();
         if (conn == null) return false;
         
-        String sql = "DELETE FROM voters WHERE voter_id = ?";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(DELETE_VOTER_SQL)) {
             stmt.setString(1, voterId);
             int rows = stmt.executeUpdate();
             
             if (rows > 0) {
+                VoterIdFilter.removedFromDatabase();
                 System.out.println("✅ Voter deleted: " + voterId);
                 return true;
             }
@@ -377,16 +383,18 @@ public class SqlElectionDataManager {
         return false;
     }
     
+    public static final String VOTER_EXISTS_SQL = "SELECT 1 FROM voters WHERE voter_id = ?";
+    
     /**
      * Check if voter ID exists
      */
     public static boolean voterIdExists(String voterId) {
+        if (!VoterIdFilter.mightExistInDatabase(voterId)) return false;
+        
         Connection conn = DatabaseManager.getConnection();
         if (conn == null) return false;
         
-        String sql = "SELECT 1 FROM voters WHERE voter_id = ?";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(VOTER_EXISTS_SQL)) {
             stmt.setString(1, voterId);
             return stmt.executeQuery().next();
         } catch (SQLException e) {
@@ -395,6 +403,8 @@ public class SqlElectionDataManager {
         }
     }
     
+    public static final String REGISTER_VOTER_SQL = "UPDATE voters SET password_hash = ?, salt = ?, is_registered = 1, registered_at = CURRENT_TIMESTAMP WHERE voter_id = ?";
+    
     /**
      * Register a voter (set password)
      */
@@ -413,16 +423,14 @@ public class SqlElectionDataManager {
         if (conn == null) return false;
         
         String salt = SecurityUtils.generateSalt();
-        String passwordHash = SecurityUtils.hashPassword(password, salt);
+        String passwordHash = SecurityUtils.encodePassword(password, salt);
         
         if (passwordHash == null) {
             System.out.println("❌ Failed to hash password");
             return false;
         }
         
-        String sql = "UPDATE voters SET password_hash = ?, salt = ?, is_registered = 1, registered_at = CURRENT_TIMESTAMP WHERE voter_id = ?";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(REGISTER_VOTER_SQL)) {
             stmt.setString(1, passwordHash);
             stmt.setString(2, salt);
             stmt.setString(3, voterId);
@@ -436,16 +444,18 @@ public class SqlElectionDataManager {
         }
     }
     
+    public static final String VOTER_REGISTERED_SQL = "SELECT is_registered FROM voters WHERE voter_id = ?";
+    
     /**
      * Check if voter is registered (has password set)
      */
     public static boolean isVoterRegistered(String voterId) {
+        if (!VoterIdFilter.mightExistInDatabase(voterId)) return false;
+        
         Connection conn = DatabaseManager.getConnection();
         if (conn == null) return false;
         
-        String sql = "SELECT is_registered FROM voters WHERE voter_id = ?";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(VOTER_REGISTERED_SQL)) {
             stmt.setString(1, voterId);
             ResultSet rs = stmt.executeQuery();
             
@@ -459,16 +469,20 @@ public class SqlElectionDataManager {
         return false;
     }
     
+    public static final String VOTER_REHASH_SQL =
+        "UPDATE voters SET password_hash = ?, salt = ? WHERE voter_id = ? AND password_hash = ?";
+    public static final String VOTER_CREDENTIALS_SQL = "SELECT password_hash, salt FROM voters WHERE voter_id = ? AND is_registered = 1";
+    
     /**
      * Validate voter credentials
      */
     public static boolean validateVoterCredentials(String voterId, String password) {
+        if (!VoterIdFilter.mightExistInDatabase(voterId)) return false;
+        
         Connection conn = DatabaseManager.getConnection();
         if (conn == null) return false;
         
-        String sql = "SELECT password_hash, salt FROM voters WHERE voter_id = ? AND is_registered = 1";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(VOTER_CREDENTIALS_SQL)) {
             stmt.setString(1, voterId);
             ResultSet rs = stmt.executeQuery();
             
@@ -476,10 +490,18 @@ public class SqlElectionDataManager {
                 String storedHash = rs.getString("password_hash");
                 String salt = rs.getString("salt");
                 
-                String inputHash = SecurityUtils.hashPassword(password, salt);
-                
-                if (inputHash != null && inputHash.equals(storedHash)) {
+                if (SecurityUtils.verifyCredential(password, storedHash, salt)) {
                     updateVoterLastLogin(voterId);
+                    
+                    // Re-hash with the current algorithm/cost while we have the password;
+                    // a no-op if the password was changed after it was read
+                    if (SecurityUtils.needsRehash(storedHash)) {
+                        String newSalt = SecurityUtils.generateSalt();
+                        String newHash = SecurityUtils.encodePassword(password, newSalt);
+                        if (newHash != null) {
+                            DatabaseWriter.enqueue(VOTER_REHASH_SQL, newHash, newSalt, voterId, storedHash);
+                        }
+                    }
                     return true;
                 }
             }
@@ -490,6 +512,8 @@ public class SqlElectionDataManager {
         return false;
     }
     
+    public static final String VOTER_NAME_SQL = "SELECT name FROM voters WHERE voter_id = ?";
+    
     /**
      * Get voter name by ID
      */
@@ -497,9 +521,7 @@ public class SqlElectionDataManager {
         Connection conn = DatabaseManager.getConnection();
         if (conn == null) return "Unknown";
         
-        String sql = "SELECT name FROM voters WHERE voter_id = ?";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(VOTER_NAME_SQL)) {
             stmt.setString(1, voterId);
             ResultSet rs = stmt.executeQuery();
             
@@ -513,6 +535,8 @@ public class SqlElectionDataManager {
         return "Unknown";
     }
     
+    public static final String ALL_VOTERS_SQL = "SELECT voter_id, name, is_registered, has_voted FROM voters ORDER BY voter_id";
+    
     /**
      * Get all voters
      */
@@ -521,10 +545,8 @@ public class SqlElectionDataManager {
         Connection conn = DatabaseManager.getConnection();
         if (conn == null) return voters;
         
-        String sql = "SELECT voter_id, name, is_registered, has_voted FROM voters ORDER BY voter_id";
-        
         try (Statement stmt = conn.createStatement()) {
-            ResultSet rs = stmt.executeQuery(sql);
+            ResultSet rs = stmt.executeQuery(ALL_VOTERS_SQL);
             
             while (rs.next()) {
                 Voter voter = new Voter();
@@ -539,6 +561,53 @@ public class SqlElectionDataManager {
         return voters;
     }
     
+    public static final String FIRST_VOTERS_PAGE_SQL = "SELECT voter_id, name FROM voters ORDER BY voter_id LIMIT ?";
+    
+    public static final String NEXT_VOTERS_PAGE_SQL = "SELECT voter_id, name FROM voters WHERE voter_id > ? ORDER BY voter_id LIMIT ?";
+    
+    /**
+     * Get one page of voters ordered by voter_id.
+     * Pass null for the first page, then the previous page's token.
+     * Uses the primary key index, so every page costs the same.
+     */
+    public static Page<Voter> getVotersPage(String afterToken, int pageSize) {
+        Connection conn = DatabaseManager.getConnection();
+        if (conn == null || pageSize <= 0) return Page.empty();
+        
+        String sql = afterToken == null
+            ? FIRST_VOTERS_PAGE_SQL
+            : NEXT_VOTERS_PAGE_SQL;
+        
+        List<Voter> voters = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int param = 1;
+            if (afterToken != null) {
+                stmt.setString(param++, afterToken);
+            }
+            stmt.setInt(param, pageSize + 1);  // one extra row tells us whether more follow
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Voter voter = new Voter();
+                    voter.setId(rs.getString("voter_id"));
+                    voter.setName(rs.getString("name"));
+                    voters.add(voter);
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("❌ Error retrieving voter page: " + e.getMessage());
+            return Page.empty();
+        }
+        
+        if (voters.size() <= pageSize) {
+            return new Page<>(voters, null);
+        }
+        voters.remove(pageSize);
+        return new Page<>(voters, voters.get(pageSize - 1).getId());
+    }
+    
+    public static final String VOTER_HAS_VOTED_SQL = "SELECT has_voted FROM voters WHERE voter_id = ?";
+    
     /**
      * Check if voter has already voted
      */
@@ -546,9 +615,7 @@ public class SqlElectionDataManager {
         Connection conn = DatabaseManager.getConnection();
         if (conn == null) return false;
         
-        String sql = "SELECT has_voted FROM voters WHERE voter_id = ?";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(VOTER_HAS_VOTED_SQL)) {
             stmt.setString(1, voterId);
             ResultSet rs = stmt.executeQuery();
             
@@ -562,6 +629,107 @@ public class SqlElectionDataManager {
         return false;
     }
     
+    public static final String VOTED_IN_ELECTION_SQL = "SELECT 1 FROM votes WHERE election_id = ? AND voter_id = ?";
+    
+    /**
+     * Check whether a voter has cast a ballot in one election
+     * (answered from the (election_id, voter_id) index alone)
+     */
+    public static boolean hasVoterVoted(String voterId, String electionId) {
+        String election = electionId != null ? electionId : DEFAULT_ELECTION;
+        ReadConnectionPool.SnapshotReader<Boolean> reader = conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(VOTED_IN_ELECTION_SQL)) {
+                stmt.setString(1, election);
+                stmt.setString(2, voterId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next();
+                }
+            }
+        };
+        
+        try {
+            if (BallotShards.isEnabled() && BallotShards.read(election, reader, false)) {
+                return true;
+            }
+            // Without ballot files, or a ballot cast before they were enabled
+            Connection conn = DatabaseManager.getConnection();
+            return conn != null && reader.read(conn);
+        } catch (SQLException e) {
+            System.out.println("❌ Error checking vote status: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    public static final String ELIGIBLE_TO_VOTE_SQL =
+        "SELECT 1 FROM voters WHERE voter_id = ? AND is_registered = 1 " +
+        "AND NOT EXISTS (SELECT 1 FROM votes WHERE election_id = ? AND voter_id = voters.voter_id)";
+    
+    /**
+     * A voter may vote in an election if registered and without a ballot there yet
+     */
+    public static boolean isEligibleToVote(String voterId, String electionId) {
+        if (BallotShards.isEnabled()) {
+            // Registration lives in the catalog, ballots in the election's file
+            return isVoterRegistered(voterId) && !hasVoterVoted(voterId, electionId);
+        }
+        
+        Connection conn = DatabaseManager.getConnection();
+        if (conn == null) return false;
+        
+        try (PreparedStatement stmt = conn.prepareStatement(ELIGIBLE_TO_VOTE_SQL)) {
+            stmt.setString(1, voterId);
+            stmt.setString(2, electionId != null ? electionId : DEFAULT_ELECTION);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            System.out.println("❌ Error checking voter eligibility: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    public static final String VOTING_HISTORY_SQL = "SELECT election_id, cast_at FROM votes WHERE voter_id = ?";
+    
+    /**
+     * Elections the voter has cast a ballot in, oldest first.
+     * With per-election ballot files this fans out across every file.
+     */
+    public static List<String> getVotingHistory(String voterId) {
+        ReadConnectionPool.SnapshotReader<List<String[]>> reader = conn -> {
+            List<String[]> rows = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(VOTING_HISTORY_SQL)) {
+                stmt.setString(1, voterId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        rows.add(new String[]{ rs.getString("election_id"), rs.getString("cast_at") });
+                    }
+                }
+            }
+            return rows;
+        };
+        
+        List<String[]> rows = new ArrayList<>();
+        try {
+            rows.addAll(ReadConnectionPool.withSnapshot(reader));
+        } catch (SQLException e) {
+            System.out.println("❌ Error reading voting history: " + e.getMessage());
+        }
+        if (BallotShards.isEnabled()) {
+            for (List<String[]> shardRows : BallotShards.fanOut(reader)) {
+                rows.addAll(shardRows);
+            }
+        }
+        
+        rows.sort(Comparator.comparing((String[] row) -> row[1] != null ? row[1] : ""));
+        List<String> elections = new ArrayList<>();
+        for (String[] row : rows) {
+            elections.add(row[0]);
+        }
+        return elections;
+    }
+    
+    public static final String VOTER_LAST_LOGIN_SQL = "UPDATE voters SET last_login = CURRENT_TIMESTAMP WHERE voter_id = ?";
+    
     /**
      * Update voter last login
      */
@@ -569,9 +737,7 @@ public class SqlElectionDataManager {
         Connection conn = DatabaseManager.getConnection();
         if (conn == null) return;
         
-        String sql = "UPDATE voters SET last_login = CURRENT_TIMESTAMP WHERE voter_id = ?";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(VOTER_LAST_LOGIN_SQL)) {
             stmt.setString(1, voterId);
             stmt.executeUpdate();
         } catch (SQLException e) {
@@ -609,6 +775,7 @@ public class SqlElectionDataManager {
             stmt.setString(3, email != null && !email.isEmpty() ? email : null);
             stmt.setString(4, imagePath != null && !imagePath.isEmpty() ? imagePath : null);
             stmt.executeUpdate();
+            VoterIdFilter.addedToDatabase(voterId);
             System.out.println("✅ Voter added with image: " + voterId + " (" + name + ")");
             return true;
         } catch (SQLException e) {
@@ -617,6 +784,12 @@ public class SqlElectionDataManager {
         }
     }
     
+    public static final String UPDATE_VOTER_PROFILE_SQL =
+        "UPDATE voters SET name = COALESCE(?, name), " +
+        "email = COALESCE(?, email), " +
+        "image_path = COALESCE(?, image_path) " +
+        "WHERE voter_id = ?";
+    
     /**
      * Update voter profile information (name, email, image)
      */
@@ -634,12 +807,7 @@ public class SqlElectionDataManager {
         Connection conn = DatabaseManager.getConnection();
         if (conn == null) return false;
         
-        String sql = "UPDATE voters SET name = COALESCE(?, name), " +
-                     "email = COALESCE(?, email), " +
-                     "image_path = COALESCE(?, image_path) " +
-                     "WHERE voter_id = ?";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(UPDATE_VOTER_PROFILE_SQL)) {
             stmt.setString(1, name);
             stmt.setString(2, email != null && !email.isEmpty() ? email : null);
             stmt.setString(3, imagePath != null && !imagePath.isEmpty() ? imagePath : null);
@@ -658,6 +826,8 @@ public class SqlElectionDataManager {
         }
     }
     
+    public static final String VOTER_INFO_SQL = "SELECT voter_id, name, email, image_path, is_registered, has_voted FROM voters WHERE voter_id = ?";
+    
     /**
      * Get voter information from SQL database
      * Returns format: voterId:name:email:imagePath:isRegistered:hasVoted
@@ -666,9 +836,7 @@ public class SqlElectionDataManager {
         Connection conn = DatabaseManager.getConnection();
         if (conn == null) return null;
         
-        String sql = "SELECT voter_id, name, email, image_path, is_registered, has_voted FROM voters WHERE voter_id = ?";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(VOTER_INFO_SQL)) {
             stmt.setString(1, voterId);
             ResultSet rs = stmt.executeQuery();
             
@@ -688,6 +856,8 @@ public class SqlElectionDataManager {
         return null;
     }
     
+    public static final String VOTER_EMAIL_SQL = "SELECT email FROM voters WHERE voter_id = ?";
+    
     /**
      * Get voter email from SQL database
      */
@@ -695,9 +865,7 @@ public class SqlElectionDataManager {
         Connection conn = DatabaseManager.getConnection();
         if (conn == null) return null;
         
-        String sql = "SELECT email FROM voters WHERE voter_id = ?";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(VOTER_EMAIL_SQL)) {
             stmt.setString(1, voterId);
             ResultSet rs = stmt.executeQuery();
             
@@ -710,6 +878,8 @@ public class SqlElectionDataManager {
         return null;
     }
     
+    public static final String VOTER_IMAGE_PATH_SQL = "SELECT image_path FROM voters WHERE voter_id = ?";
+    
     /**
      * Get voter image path from SQL database
      */
@@ -717,9 +887,7 @@ public class SqlElectionDataManager {
         Connection conn = DatabaseManager.getConnection();
         if (conn == null) return null;
         
-        String sql = "SELECT image_path FROM voters WHERE voter_id = ?";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(VOTER_IMAGE_PATH_SQL)) {
             stmt.setString(1, voterId);
             ResultSet rs = stmt.executeQuery();
             
@@ -732,6 +900,225 @@ public class SqlElectionDataManager {
         return null;
     }
     
+    // ==================== BULK VOTER UPSERT ====================
+    
+    private static final int UPSERT_CHUNK_SIZE = 1000;
+    
+    /**
+     * One roster entry for upsertVoters (email and image path may be null)
+     */
+    public static class VoterRecord {
+        public final String voterId;
+        public final String name;
+        public final String email;
+        public final String imagePath;
+        
+        public VoterRecord(String voterId, String name, String email, String imagePath) {
+            this.voterId = voterId;
+            this.name = name;
+            this.email = email;
+            this.imagePath = imagePath;
+        }
+    }
+    
+    public enum UpsertOutcome {
+        INSERTED,
+        UPDATED,
+        UNCHANGED,
+        INVALID,
+        FAILED
+    }
+    
+    /**
+     * Outcome for one roster entry, in input order
+     */
+    public static class UpsertResult {
+        public final String voterId;
+        public final UpsertOutcome outcome;
+        public final String message;
+        
+        UpsertResult(String voterId, UpsertOutcome outcome, String message) {
+            this.voterId = voterId;
+            this.outcome = outcome;
+            this.message = message;
+        }
+    }
+    
+    /**
+     * Insert or update voters from a stream (e.g. a CSV roster read line by line)
+     */
+    public static List<UpsertResult> upsertVoters(java.util.stream.Stream<VoterRecord> records) {
+        return upsertVoters(records::iterator);
+    }
+    
+    /**
+     * Insert or update voters in chunked transactions.
+     * New voters are added unregistered. Existing voters get the new name,
+     * plus email / image path when given. Registration, passwords and voting
+     * status are never touched. Each chunk is one transaction on a dedicated
+     * connection, retried as a whole if the database is locked.
+     */
+    public static List<UpsertResult> upsertVoters(Iterable<VoterRecord> records) {
+        List<UpsertResult> results = new ArrayList<>();
+        List<VoterRecord> chunk = new ArrayList<>(UPSERT_CHUNK_SIZE);
+        long start = System.currentTimeMillis();
+        
+        Connection conn = null;
+        try {
+            conn = DatabaseManager.openDedicatedConnection();
+            if (conn == null) {
+                for (VoterRecord record : records) {
+                    results.add(new UpsertResult(record.voterId, UpsertOutcome.FAILED, "Database unavailable"));
+                }
+                return results;
+            }
+            
+            for (VoterRecord record : records) {
+                chunk.add(record);
+                if (chunk.size() == UPSERT_CHUNK_SIZE) {
+                    results.addAll(upsertChunk(conn, chunk));
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                results.addAll(upsertChunk(conn, chunk));
+            }
+        } catch (SQLException e) {
+            System.out.println("❌ Error opening connection for voter upsert: " + e.getMessage());
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    System.out.println("⚠️ Error closing upsert connection: " + e.getMessage());
+                }
+            }
+        }
+        
+        Map<UpsertOutcome, Integer> summary = new EnumMap<>(UpsertOutcome.class);
+        for (UpsertResult result : results) {
+            summary.merge(result.outcome, 1, Integer::sum);
+        }
+        System.out.println("✅ Voter upsert: " + results.size() + " records in " +
+                           (System.currentTimeMillis() - start) + "ms " + summary);
+        return results;
+    }
+    
+    private static List<UpsertResult> upsertChunk(Connection conn, List<VoterRecord> chunk) {
+        try {
+            return RetryPolicy.execute(() -> applyUpsertChunk(conn, chunk));
+        } catch (SQLException e) {
+            System.out.println("❌ Voter upsert chunk failed: " + e.getMessage());
+            List<UpsertResult> failed = new ArrayList<>();
+            for (VoterRecord record : chunk) {
+                failed.add(new UpsertResult(record.voterId, UpsertOutcome.FAILED, e.getMessage()));
+            }
+            return failed;
+        }
+    }
+    
+    public static final String VOTER_UPSERT_SQL = DatabaseManager.getDialect().upsert("voters",
+        new String[]{ "voter_id", "name", "email", "image_path", "is_registered" },
+        new String[]{ "voter_id" },
+        "name = excluded.name, " +
+        "email = COALESCE(excluded.email, voters.email), " +
+        "image_path = COALESCE(excluded.image_path, voters.image_path)",
+        "voters.name IS DISTINCT FROM excluded.name " +
+        "OR (excluded.email IS NOT NULL AND voters.email IS DISTINCT FROM excluded.email) " +
+        "OR (excluded.image_path IS NOT NULL AND voters.image_path IS DISTINCT FROM excluded.image_path)");
+    
+    private static List<UpsertResult> applyUpsertChunk(Connection conn, List<VoterRecord> chunk) throws SQLException {
+        List<UpsertResult> results = new ArrayList<>(chunk.size());
+        
+        try {
+            conn.setAutoCommit(false);
+            Set<String> existing = existingVoterIds(conn, chunk);
+            
+            try (PreparedStatement stmt = conn.prepareStatement(VOTER_UPSERT_SQL)) {
+                for (VoterRecord record : chunk) {
+                    if (!SecurityUtils.isValidId(record.voterId)) {
+                        results.add(new UpsertResult(record.voterId, UpsertOutcome.INVALID, "Invalid voter ID format"));
+                        continue;
+                    }
+                    if (!SecurityUtils.isValidName(record.name)) {
+                        results.add(new UpsertResult(record.voterId, UpsertOutcome.INVALID, "Invalid voter name"));
+                        continue;
+                    }
+                    
+                    stmt.setString(1, record.voterId);
+                    stmt.setString(2, record.name);
+                    stmt.setString(3, record.email != null && !record.email.isEmpty() ? record.email : null);
+                    stmt.setString(4, record.imagePath != null && !record.imagePath.isEmpty() ? record.imagePath : null);
+                    stmt.setInt(5, 0);
+                    try {
+                        int count = stmt.executeUpdate();
+                        UpsertOutcome outcome = count == 0 ? UpsertOutcome.UNCHANGED
+                                              : existing.add(record.voterId) ? UpsertOutcome.INSERTED
+                                              : UpsertOutcome.UPDATED;
+                        results.add(new UpsertResult(record.voterId, outcome, null));
+                    } catch (SQLException e) {
+                        if (RetryPolicy.isBusy(e)) throw e;
+                        results.add(new UpsertResult(record.voterId, UpsertOutcome.FAILED, e.getMessage()));
+                    }
+                }
+            }
+            
+            conn.commit();
+            for (UpsertResult result : results) {
+                if (result.outcome == UpsertOutcome.INSERTED) VoterIdFilter.addedToDatabase(result.voterId);
+            }
+            return results;
+        } catch (SQLException e) {
+            try {
+                conn.rollback();
+            } catch (SQLException rollbackEx) {
+                System.out.println("⚠️ Rollback failed: " + rollbackEx.getMessage());
+            }
+            throw e;
+        } finally {
+            // A failure here must not replace the SQLException RetryPolicy is judging
+            try {
+                conn.setAutoCommit(true);
+            } catch (SQLException e) {
+                System.out.println("⚠️ Could not set autocommit: " + e.getMessage());
+            }
+        }
+    }
+    
+    public static final String EXISTING_VOTER_IDS_SQL = existingVoterIdsSql(UPSERT_CHUNK_SIZE);
+    
+    /**
+     * Which of the chunk's voter ids are already stored (one indexed lookup per chunk).
+     * Full chunks share EXISTING_VOTER_IDS_SQL; only the last one builds its own.
+     */
+    private static Set<String> existingVoterIds(Connection conn, List<VoterRecord> chunk) throws SQLException {
+        Set<String> existing = new HashSet<>();
+        String sql = chunk.size() == UPSERT_CHUNK_SIZE ? EXISTING_VOTER_IDS_SQL : existingVoterIdsSql(chunk.size());
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < chunk.size(); i++) {
+                stmt.setString(i + 1, chunk.get(i).voterId);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    existing.add(rs.getString("voter_id"));
+                }
+            }
+        }
+        return existing;
+    }
+    
+    /**
+     * The lookup of existingVoterIds for a chunk of the given size
+     */
+    public static String existingVoterIdsSql(int count) {
+        StringBuilder sql = new StringBuilder("SELECT voter_id FROM voters WHERE voter_id IN (");
+        for (int i = 0; i < count; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        return sql.append(")").toString();
+    }
+    
     // ==================== EXISTING NOMINEE OPERATIONS ====================
     // (Keep all your existing nominee methods as they are)
     
@@ -739,6 +1126,15 @@ public class SqlElectionDataManager {
      * Add a new nominee
      */
     public static boolean addNominee(String nomineeId, String name, String party) {
+        return addNominee(nomineeId, name, party, DEFAULT_ELECTION);
+    }
+    
+    public static final String ADD_NOMINEE_SQL = "INSERT INTO nominees (nominee_id, name, party, election_id, is_active) VALUES (?, ?, ?, ?, 1)";
+    
+    /**
+     * Add a nominee standing in a specific election
+     */
+    public static boolean addNominee(String nomineeId, String name, String party, String electionId) {
         if (!SecurityUtils.isValidId(nomineeId)) {
             System.out.println("❌ Invalid nominee ID format");
             return false;
@@ -762,12 +1158,11 @@ public class SqlElectionDataManager {
         Connection conn = DatabaseManager.getConnection();
         if (conn == null) return false;
         
-        String sql = "INSERT INTO nominees (nominee_id, name, party, is_active) VALUES (?, ?, ?, 1)";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(ADD_NOMINEE_SQL)) {
             stmt.setString(1, nomineeId);
             stmt.setString(2, name);
             stmt.setString(3, party);
+            stmt.setString(4, electionId != null ? electionId : DEFAULT_ELECTION);
             stmt.executeUpdate();
             System.out.println("✅ Nominee added: " + nomineeId);
             return true;
@@ -777,6 +1172,8 @@ public class SqlElectionDataManager {
         }
     }
     
+    public static final String DEACTIVATE_NOMINEE_SQL = "UPDATE nominees SET is_active = 0 WHERE nominee_id = ?";
+    
     /**
      * Delete a nominee
      */
@@ -784,9 +1181,7 @@ public class SqlElectionDataManager {
         Connection conn = DatabaseManager.getConnection();
         if (conn == null) return false;
         
-        String sql = "UPDATE nominees SET is_active = 0 WHERE nominee_id = ?";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(DEACTIVATE_NOMINEE_SQL)) {
             stmt.setString(1, nomineeId);
             int rows = stmt.executeUpdate();
             
@@ -801,6 +1196,8 @@ public class SqlElectionDataManager {
         return false;
     }
     
+    public static final String NOMINEE_EXISTS_SQL = "SELECT 1 FROM nominees WHERE nominee_id = ? AND is_active = 1";
+    
     /**
      * Check if nominee exists
      */
@@ -808,9 +1205,7 @@ public class SqlElectionDataManager {
         Connection conn = DatabaseManager.getConnection();
         if (conn == null) return false;
         
-        String sql = "SELECT 1 FROM nominees WHERE nominee_id = ? AND is_active = 1";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(NOMINEE_EXISTS_SQL)) {
             stmt.setString(1, nomineeId);
             return stmt.executeQuery().next();
         } catch (SQLException e) {
@@ -819,6 +1214,8 @@ public class SqlElectionDataManager {
         }
     }
     
+    public static final String ALL_NOMINEES_SQL = "SELECT nominee_id, name, party FROM nominees WHERE is_active = 1 ORDER BY nominee_id";
+    
     /**
      * Get all active nominees
      */
@@ -827,10 +1224,8 @@ public class SqlElectionDataManager {
         Connection conn = DatabaseManager.getConnection();
         if (conn == null) return nominees;
         
-        String sql = "SELECT nominee_id, name, party FROM nominees WHERE is_active = 1 ORDER BY nominee_id";
-        
         try (Statement stmt = conn.createStatement()) {
-            ResultSet rs = stmt.executeQuery(sql);
+            ResultSet rs = stmt.executeQuery(ALL_NOMINEES_SQL);
             
             while (rs.next()) {
                 Nominee nominee = new Nominee();
@@ -846,54 +1241,373 @@ public class SqlElectionDataManager {
         return nominees;
     }
     
+    public static final String ELECTION_NOMINEES_SQL =
+        "SELECT nominee_id, name, party, election_id FROM nominees " +
+        "WHERE election_id = ? AND is_active = 1 ORDER BY nominee_id";
+    
+    /**
+     * Get the active nominees standing in one election
+     */
+    public static List<Nominee> getNomineesForElection(String electionId) {
+        List<Nominee> nominees = new ArrayList<>();
+        Connection conn = DatabaseManager.getConnection();
+        if (conn == null) return nominees;
+        
+        try (PreparedStatement stmt = conn.prepareStatement(ELECTION_NOMINEES_SQL)) {
+            stmt.setString(1, electionId != null ? electionId : DEFAULT_ELECTION);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    nominees.add(new Nominee(rs.getString("nominee_id"), rs.getString("name"),
+                                             rs.getString("party"), rs.getString("election_id")));
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("❌ Error retrieving nominees: " + e.getMessage());
+        }
+        
+        return nominees;
+    }
+    
     // ==================== EXISTING VOTE OPERATIONS ====================
     // (Keep all your existing vote methods as they are)
     
+    /** Election id used by callers that predate per-election ballots */
+    public static final String DEFAULT_ELECTION = "DEFAULT";
+    
+    /** How long a caller waits for the writer to commit a ballot (-Delection.ballotTimeoutSeconds) */
+    private static final long BALLOT_TIMEOUT_SECONDS = Long.getLong("election.ballotTimeoutSeconds", 15);
+    
+    /**
+     * Result of casting a ballot, mapped from the votes table constraints
+     */
+    public enum VoteOutcome {
+        RECORDED,
+        UNKNOWN_VOTER,
+        UNKNOWN_NOMINEE,
+        ALREADY_VOTED,
+        DATABASE_UNAVAILABLE,
+        /** The writer did not confirm in time; resubmit with the same ballot token */
+        TIMED_OUT,
+        FAILED
+    }
+    
     /**
      * Record a vote
      */
     public static boolean recordVote(String voterId, String nomineeId) {
-        if (!voterIdExists(voterId)) {
-            System.out.println("❌ Voter not found: " + voterId);
-            return false;
+        return castBallot(voterId, nomineeId, DEFAULT_ELECTION) == VoteOutcome.RECORDED;
+    }
+    
+    /**
+     * Cast a ballot with a single INSERT. The schema (see DatabaseManager)
+     * rejects unknown voters/nominees and second ballots in the same election,
+     * and marks the voter as voted, so no pre-checks are needed here.
+     */
+    public static VoteOutcome castBallot(String voterId, String nomineeId, String electionId) {
+        return castBallot(voterId, nomineeId, electionId, null);
+    }
+    
+    public static final String CAST_BALLOT_SQL = "INSERT INTO votes (voter_id, nominee_id, election_id) VALUES (?, ?, ?)";
+    
+    /**
+     * Cast a ballot carrying a client-generated token (e.g. a UUID created when
+     * the voter pressed "Vote"). Resubmitting the same token after a timeout or
+     * crash returns RECORDED without inserting a second ballot.
+     */
+    public static VoteOutcome castBallot(String voterId, String nomineeId, String electionId, String ballotToken) {
+        String token = ballotToken != null ? "ballot:" + ballotToken : null;
+        
+        String election = electionId != null ? electionId : DEFAULT_ELECTION;
+        
+        try {
+            // Ballots go through the single writer (or the election's own writer); wait for the commit
+            int count = BallotShards.isEnabled()
+                ? BallotShards.writerFor(election).submitIdempotent(token, CAST_BALLOT_SQL, voterId, nomineeId, election)
+                    .get(BALLOT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                : DatabaseWriter.submitIdempotent(token, CAST_BALLOT_SQL, voterId, nomineeId, election)
+                    .get(BALLOT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            
+            if (BallotShards.isEnabled() && count != DatabaseWriter.ALREADY_APPLIED) {
+                // The ballot file cannot set the catalog flag in its own transaction
+                DatabaseWriter.enqueue(MARK_VOTED_SQL, voterId);
+            }
+            
+            if (count == DatabaseWriter.ALREADY_APPLIED) {
+                System.out.println("ℹ️ Ballot " + ballotToken + " was already recorded for " + voterId);
+            } else {
+                System.out.println("✅ Vote recorded: " + voterId + " -> " + nomineeId);
+            }
+            return VoteOutcome.RECORDED;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLNonTransientConnectionException) {
+                System.out.println("❌ Error recording vote: " + e.getCause().getMessage());
+                return VoteOutcome.DATABASE_UNAVAILABLE;
+            }
+            if (!(e.getCause() instanceof SQLException)) {
+                System.out.println("❌ Error recording vote: " + e.getCause());
+                return VoteOutcome.FAILED;
+            }
+            
+            SQLException cause = (SQLException) e.getCause();
+            VoteOutcome outcome = classifyVoteFailure(cause);
+            switch (outcome) {
+                case UNKNOWN_VOTER:
+                    System.out.println("❌ Voter not found: " + voterId);
+                    break;
+                case UNKNOWN_NOMINEE:
+                    System.out.println("❌ Nominee not found: " + nomineeId);
+                    break;
+                case ALREADY_VOTED:
+                    System.out.println("❌ Voter has already voted: " + voterId);
+                    break;
+                default:
+                    System.out.println("❌ Error recording vote: " + cause.getMessage());
+            }
+            return outcome;
+        } catch (TimeoutException e) {
+            // The ballot may still commit; its token makes a resubmit safe
+            System.out.println("⚠️ No confirmation for the vote of " + voterId + " after " + BALLOT_TIMEOUT_SECONDS + "s");
+            return VoteOutcome.TIMED_OUT;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("❌ Interrupted while recording vote for " + voterId);
+            return VoteOutcome.FAILED;
         }
+    }
+    
+    /**
+     * Map a constraint violation from the votes table to a rejection reason
+     */
+    private static VoteOutcome classifyVoteFailure(SQLException e) {
+        String message = e.getMessage() != null ? e.getMessage() : "";
         
-        if (!nomineeExists(nomineeId)) {
-            System.out.println("❌ Nominee not found: " + nomineeId);
-            return false;
+        if (message.contains(DatabaseManager.VOTE_UNKNOWN_VOTER)) {
+            return VoteOutcome.UNKNOWN_VOTER;
+        }
+        if (message.contains(DatabaseManager.VOTE_UNKNOWN_NOMINEE)) {
+            return VoteOutcome.UNKNOWN_NOMINEE;
+        }
+        if (DatabaseManager.getDialect().isUniqueViolation(e)) {
+            return VoteOutcome.ALREADY_VOTED;
+        }
+        return VoteOutcome.FAILED;
+    }
+    
+    /**
+     * Vote counts and totals read from one consistent point in time
+     */
+    public static class ResultsSnapshot {
+        public final Map<String, Integer> voteCounts;
+        public final int totalVotesCast;
+        public final int totalRegisteredVoters;
+        public final long takenAt;
+        
+        ResultsSnapshot(Map<String, Integer> voteCounts, int totalVotesCast, int totalRegisteredVoters) {
+            this.voteCounts = voteCounts;
+            this.totalVotesCast = totalVotesCast;
+            this.totalRegisteredVoters = totalRegisteredVoters;
+            this.takenAt = System.currentTimeMillis();
+        }
+    }
+    
+    /**
+     * Read counts and totals together on a snapshot connection, so the
+     * figures always agree with each other and never wait on the vote path.
+     * With per-election ballot files, an all-elections snapshot is assembled
+     * from one read per file and is consistent per election only.
+     */
+    public static ResultsSnapshot getResultsSnapshot() {
+        return getResultsSnapshot(null);
+    }
+    
+    /**
+     * Results snapshot for one election (null = all elections combined)
+     */
+    public static ResultsSnapshot getResultsSnapshot(String electionId) {
+        try {
+            if (BallotShards.isEnabled()) {
+                return new ResultsSnapshot(collectVoteCounts(electionId), collectTotalVotesCast(electionId),
+                    ReadConnectionPool.withSnapshot(SqlElectionDataManager::readTotalRegisteredVoters));
+            }
+            return ReadConnectionPool.withSnapshot(conn -> new ResultsSnapshot(
+                readVoteCounts(conn, electionId), readTotalVotesCast(conn, electionId),
+                readTotalRegisteredVoters(conn)));
+        } catch (SQLException e) {
+            System.out.println("❌ Error reading results snapshot: " + e.getMessage());
+            return new ResultsSnapshot(new HashMap<>(), 0, 0);
+        }
+    }
+    
+    /**
+     * Get vote counts for all nominees
+     */
+    public static Map<String, Integer> getVoteCounts() {
+        return getVoteCounts(null);
+    }
+    
+    /**
+     * Get vote counts for the nominees of one election (null = all elections)
+     */
+    public static Map<String, Integer> getVoteCounts(String electionId) {
+        try {
+            return collectVoteCounts(electionId);
+        } catch (SQLException e) {
+            System.out.println("❌ Error getting vote counts: " + e.getMessage());
+            return new HashMap<>();
+        }
+    }
+    
+    /**
+     * Get total votes cast
+     */
+    public static int getTotalVotesCast() {
+        return getTotalVotesCast(null);
+    }
+    
+    /**
+     * Get total votes cast in one election (null = all elections)
+     */
+    public static int getTotalVotesCast(String electionId) {
+        try {
+            return collectTotalVotesCast(electionId);
+        } catch (SQLException e) {
+            System.out.println("❌ Error getting total votes: " + e.getMessage());
+            return 0;
+        }
+    }
+    
+    /**
+     * Get total registered voters
+     */
+    public static int getTotalRegisteredVoters() {
+        try {
+            return ReadConnectionPool.withSnapshot(SqlElectionDataManager::readTotalRegisteredVoters);
+        } catch (SQLException e) {
+            System.out.println("❌ Error getting registered voters: " + e.getMessage());
+            return 0;
+        }
+    }
+    
+    /**
+     * Vote counts from the main database, plus (with ballot files) the
+     * election's file or, for all elections, every file
+     */
+    private static Map<String, Integer> collectVoteCounts(String electionId) throws SQLException {
+        // Ballots recorded before ballot files were enabled stay in the main database
+        Map<String, Integer> counts = ReadConnectionPool.withSnapshot(conn -> readVoteCounts(conn, electionId));
+        if (!BallotShards.isEnabled()) {
+            return counts;
         }
         
-        if (hasVoterVoted(voterId)) {
-            System.out.println("❌ Voter has already voted: " + voterId);
-            return false;
+        List<Map<String, Integer>> shardCounts = electionId != null
+            ? Collections.singletonList(BallotShards.read(electionId, conn -> readVoteCounts(conn, electionId), new HashMap<>()))
+            : BallotShards.fanOut(conn -> readVoteCounts(conn, null));
+        for (Map<String, Integer> shard : shardCounts) {
+            shard.forEach((nomineeId, votes) -> counts.merge(nomineeId, votes, Integer::sum));
         }
+        return counts;
+    }
+    
+    private static int collectTotalVotesCast(String electionId) throws SQLException {
+        int total = ReadConnectionPool.withSnapshot(conn -> readTotalVotesCast(conn, electionId));
+        if (!BallotShards.isEnabled()) {
+            return total;
+        }
+        
+        if (electionId != null) {
+            return total + BallotShards.read(electionId, conn -> readTotalVotesCast(conn, electionId), 0);
+        }
+        for (int shardTotal : BallotShards.fanOut(conn -> readTotalVotesCast(conn, null))) {
+            total += shardTotal;
+        }
+        return total;
+    }
+    
+    public static final String VOTE_COUNTS_SQL =
+        "SELECT nominee_id, SUM(vote_count) as vote_count FROM tallies " +
+        "WHERE vote_count > 0 GROUP BY nominee_id";
+    public static final String ELECTION_VOTE_COUNTS_SQL =
+        "SELECT nominee_id, vote_count FROM tallies " +
+        "WHERE election_id = ? AND vote_count > 0";
+    
+    private static Map<String, Integer> readVoteCounts(Connection conn, String electionId) throws SQLException {
+        Map<String, Integer> counts = new HashMap<>();
+        
+        // Read the materialized tallies rather than scanning votes;
+        // scoped to one election this is a primary key range lookup
+        String sql = electionId == null ? VOTE_COUNTS_SQL : ELECTION_VOTE_COUNTS_SQL;
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            if (electionId != null) {
+                stmt.setString(1, electionId);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    counts.put(rs.getString("nominee_id"), rs.getInt("vote_count"));
+                }
+            }
+        }
+        return counts;
+    }
+    
+    public static final String TOTAL_VOTES_CAST_SQL = "SELECT COALESCE(SUM(vote_count), 0) as total FROM tallies";
+    public static final String ELECTION_TOTAL_VOTES_CAST_SQL = TOTAL_VOTES_CAST_SQL + " WHERE election_id = ?";
+    
+    private static int readTotalVotesCast(Connection conn, String electionId) throws SQLException {
+        String sql = electionId == null ? TOTAL_VOTES_CAST_SQL : ELECTION_TOTAL_VOTES_CAST_SQL;
         
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            if (electionId != null) {
+                stmt.setString(1, electionId);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt("total") : 0;
+            }
+        }
+    }
+    
+    public static final String TOTAL_REGISTERED_VOTERS_SQL = "SELECT COUNT(*) as total FROM voters WHERE is_registered = 1";
+    
+    private static int readTotalRegisteredVoters(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(TOTAL_REGISTERED_VOTERS_SQL)) {
+            return rs.next() ? rs.getInt("total") : 0;
+        }
+    }
+    
+    public static final String CLEAR_VOTES_SQL = "DELETE FROM votes";
+    
+    public static final String RESET_VOTED_FLAGS_SQL = "UPDATE voters SET has_voted = 0";
+    
+    /**
+     * Clear all votes (admin only, use with caution)
+     */
+    public static boolean clearVotes() {
         Connection conn = DatabaseManager.getConnection();
         if (conn == null) return false;
         
         try {
             conn.setAutoCommit(false);
             
-            // Record the vote
-            String insertVoteSql = "INSERT INTO votes (voter_id, nominee_id) VALUES (?, ?)";
-            try (PreparedStatement stmt = conn.prepareStatement(insertVoteSql)) {
-                stmt.setString(1, voterId);
-                stmt.setString(2, nomineeId);
-                stmt.executeUpdate();
+            // Clear votes
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate(CLEAR_VOTES_SQL);
             }
             
-            // Update voter's has_voted flag
-            String updateVoterSql = "UPDATE voters SET has_voted = 1 WHERE voter_id = ?";
-            try (PreparedStatement stmt = conn.prepareStatement(updateVoterSql)) {
-                stmt.setString(1, voterId);
-                stmt.executeUpdate();
+            // Reset voter has_voted flags
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate(RESET_VOTED_FLAGS_SQL);
             }
             
             conn.commit();
-            System.out.println("✅ Vote recorded: " + voterId + " -> " + nomineeId);
+            if (BallotShards.isEnabled() && !BallotShards.clearAll()) {
+                System.out.println("⚠️ Votes cleared, but some ballot files could not be cleared");
+                return false;
+            }
+            System.out.println("✅ All votes cleared");
             return true;
         } catch (SQLException e) {
-            System.out.println("❌ Error recording vote: " + e.getMessage());
+            System.out.println("❌ Error clearing votes: " + e.getMessage());
             try {
                 conn.rollback();
             } catch (SQLException rollbackEx) {
@@ -909,98 +1623,161 @@ public class SqlElectionDataManager {
         }
     }
     
+    // ==================== RESULTS ====================
+    
     /**
-     * Get vote counts for all nominees
+     * Ranked results for all elections combined
      */
-    public static Map<String, Integer> getVoteCounts() {
-        Map<String, Integer> counts = new HashMap<>();
-        Connection conn = DatabaseManager.getConnection();
-        if (conn == null) return counts;
-        
-        String sql = "SELECT nominee_id, COUNT(*) as vote_count FROM votes GROUP BY nominee_id";
-        
-        try (Statement stmt = conn.createStatement()) {
-            ResultSet rs = stmt.executeQuery(sql);
-            
-            while (rs.next()) {
-                counts.put(rs.getString("nominee_id"), rs.getInt("vote_count"));
-            }
-        } catch (SQLException e) {
-            System.out.println("❌ Error getting vote counts: " + e.getMessage());
-        }
-        
-        return counts;
+    public static List<ResultRow> getResults() {
+        return getResults(null);
     }
     
+    public static final String NOMINEE_CATALOG_SQL = "SELECT nominee_id, name, party FROM nominees";
+    
     /**
-     * Get total votes cast
+     * Ranked results for one election (null = all elections combined):
+     * tallies joined to nominees, with rank and percentage computed in the
+     * same query, highest first. Nominees without votes are not listed.
      */
-    public static int getTotalVotesCast() {
-        Connection conn = DatabaseManager.getConnection();
-        if (conn == null) return 0;
-        
-        String sql = "SELECT COUNT(*) as total FROM votes";
-        
-        try (Statement stmt = conn.createStatement()) {
-            ResultSet rs = stmt.executeQuery(sql);
-            if (rs.next()) {
-                return rs.getInt("total");
+    public static List<ResultRow> getResults(String electionId) {
+        try {
+            if (BallotShards.isEnabled()) {
+                // Tallies live in the ballot files, so join them to the catalog in memory
+                return ResultRow.rank(collectVoteCounts(electionId), ReadConnectionPool.withSnapshot(conn -> {
+                    Map<String, String[]> nominees = new HashMap<>();
+                    try (Statement stmt = conn.createStatement();
+                         ResultSet rs = stmt.executeQuery(NOMINEE_CATALOG_SQL)) {
+                        while (rs.next()) {
+                            nominees.put(rs.getString("nominee_id"), new String[]{ rs.getString("name"), rs.getString("party") });
+                        }
+                    }
+                    return nominees;
+                }));
             }
+            return ReadConnectionPool.withSnapshot(conn -> readResults(conn, electionId));
         } catch (SQLException e) {
-            System.out.println("❌ Error getting total votes: " + e.getMessage());
+            System.out.println("❌ Error reading election results: " + e.getMessage());
+            return new ArrayList<>();
         }
+    }
+    
+    public static final String RESULTS_SQL = rankedResultsSql(VOTE_COUNTS_SQL);
+    public static final String ELECTION_RESULTS_SQL = rankedResultsSql(ELECTION_VOTE_COUNTS_SQL);
+    
+    private static String rankedResultsSql(String tallies) {
+        return "SELECT t.nominee_id, n.name, n.party, t.vote_count, " +
+               "RANK() OVER (ORDER BY t.vote_count DESC) as result_rank, " +
+               "100.0 * t.vote_count / SUM(t.vote_count) OVER () as percentage " +
+               "FROM (" + tallies + ") t LEFT JOIN nominees n ON n.nominee_id = t.nominee_id " +
+               "ORDER BY result_rank, t.nominee_id";
+    }
+    
+    private static List<ResultRow> readResults(Connection conn, String electionId) throws SQLException {
+        String sql = electionId == null ? RESULTS_SQL : ELECTION_RESULTS_SQL;
         
-        return 0;
+        List<ResultRow> rows = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            if (electionId != null) {
+                stmt.setString(1, electionId);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(new ResultRow(
+                        rs.getString("nominee_id"),
+                        rs.getString("name"),
+                        rs.getString("party"),
+                        rs.getInt("vote_count"),
+                        rs.getDouble("percentage"),
+                        rs.getInt("result_rank")));
+                }
+            }
+        }
+        return rows;
     }
     
+    // ==================== TALLY VERIFICATION ====================
+    
+    public static final String VERIFY_TALLIES_SQL =
+        "SELECT election_id, nominee_id, SUM(stored) as stored, SUM(actual) as actual FROM (" +
+        "SELECT election_id, nominee_id, vote_count as stored, 0 as actual FROM tallies " +
+        "UNION ALL " +
+        "SELECT election_id, nominee_id, 0, COUNT(*) FROM votes GROUP BY election_id, nominee_id" +
+        ") GROUP BY election_id, nominee_id HAVING SUM(stored) <> SUM(actual)";
+    
     /**
-     * Get total registered voters
+     * Recompute tallies from the votes table and report any drift.
+     * Returns "electionId:nomineeId" -> (stored tally - actual votes) for
+     * every entry that disagrees; an empty map means the tallies are exact.
+     * With ballot files, each file is checked against its own votes too.
      */
-    public static int getTotalRegisteredVoters() {
+    public static Map<String, Integer> verifyTallies() {
+        Map<String, Integer> drift = new LinkedHashMap<>();
         Connection conn = DatabaseManager.getConnection();
-        if (conn == null) return 0;
-        
-        String sql = "SELECT COUNT(*) as total FROM voters WHERE is_registered = 1";
+        if (conn == null) return drift;
         
-        try (Statement stmt = conn.createStatement()) {
-            ResultSet rs = stmt.executeQuery(sql);
-            if (rs.next()) {
-                return rs.getInt("total");
-            }
+        try {
+            drift.putAll(readTallyDrift(conn));
         } catch (SQLException e) {
-            System.out.println("❌ Error getting registered voters: " + e.getMessage());
+            System.out.println("❌ Error verifying tallies: " + e.getMessage());
+        }
+        if (BallotShards.isEnabled()) {
+            for (Map<String, Integer> shardDrift : BallotShards.fanOut(SqlElectionDataManager::readTallyDrift)) {
+                shardDrift.forEach((key, delta) -> drift.merge(key, delta, Integer::sum));
+            }
         }
         
-        return 0;
+        if (drift.isEmpty()) {
+            System.out.println("✅ Tallies match recorded votes");
+        }
+        return drift;
+    }
+    
+    private static Map<String, Integer> readTallyDrift(Connection conn) throws SQLException {
+        Map<String, Integer> drift = new LinkedHashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(VERIFY_TALLIES_SQL)) {
+            while (rs.next()) {
+                String key = rs.getString("election_id") + ":" + rs.getString("nominee_id");
+                int stored = rs.getInt("stored");
+                int actual = rs.getInt("actual");
+                drift.put(key, stored - actual);
+                System.out.println("⚠️ Tally drift for " + key + ": stored " + stored + ", actual " + actual);
+            }
+        }
+        return drift;
     }
     
+    public static final String CLEAR_TALLIES_SQL = "DELETE FROM tallies";
+    public static final String REBUILD_TALLIES_SQL =
+        "INSERT INTO tallies (election_id, nominee_id, vote_count) " +
+        "SELECT election_id, nominee_id, COUNT(*) FROM votes " +
+        "GROUP BY election_id, nominee_id";
+    
     /**
-     * Clear all votes (admin only, use with caution)
+     * Rebuild the tallies table from the votes table (and each ballot file's
+     * tallies from its own votes)
      */
-    public static boolean clearVotes() {
+    public static boolean rebuildTallies() {
         Connection conn = DatabaseManager.getConnection();
         if (conn == null) return false;
         
         try {
             conn.setAutoCommit(false);
             
-            // Clear votes
-            String clearVotes = "DELETE FROM votes";
-            try (Statement stmt = conn.createStatement()) {
-                stmt.executeUpdate(clearVotes);
-            }
-            
-            // Reset voter has_voted flags
-            String resetVoters = "UPDATE voters SET has_voted = 0";
             try (Statement stmt = conn.createStatement()) {
-                stmt.executeUpdate(resetVoters);
+                stmt.executeUpdate(CLEAR_TALLIES_SQL);
+                stmt.executeUpdate(REBUILD_TALLIES_SQL);
             }
             
             conn.commit();
-            System.out.println("✅ All votes cleared");
+            if (BallotShards.isEnabled() && !BallotShards.rebuildAllTallies()) {
+                System.out.println("⚠️ Tallies rebuilt, but some ballot files could not be rebuilt");
+                return false;
+            }
+            System.out.println("✅ Tallies rebuilt from votes");
             return true;
         } catch (SQLException e) {
-            System.out.println("❌ Error clearing votes: " + e.getMessage());
+            System.out.println("❌ Error rebuilding tallies: " + e.getMessage());
             try {
                 conn.rollback();
             } catch (SQLException rollbackEx) {
@@ -1015,4 +1792,4 @@ public class SqlElectionDataManager {
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,200 @@
+package Data;
+
+import java.sql.*;
+import java.util.*;
+
+/**
+ * SQLite (xerial sqlite-jdbc): one file, WAL journal, one writer at a time.
+ */
+class SqliteDialect implements SqlDialect {
+
+    @Override
+    public String getName() {
+        return "sqlite";
+    }
+
+    @Override
+    public String getDriverClass() {
+        return "org.sqlite.JDBC";
+    }
+
+    @Override
+    public String getJdbcUrl(String path) {
+        return "jdbc:sqlite:" + path;
+    }
+
+    // ==================== CONNECTIONS ====================
+
+    /**
+     * WAL lets readers keep working (and keep result sets open) while the
+     * background writer commits; busy_timeout waits out short lock overlaps.
+     */
+    @Override
+    public void configureConnection(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA journal_mode = WAL");
+        }
+        setLockTimeout(conn, 5000);
+    }
+
+    @Override
+    public void setLockTimeout(Connection conn, int millis) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout = " + millis);
+        }
+    }
+
+    /**
+     * A WAL read transaction already sees one snapshot; query_only refuses writes
+     */
+    @Override
+    public void makeReadOnly(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA query_only = 1");
+        }
+    }
+
+    // ==================== DDL ====================
+
+    @Override
+    public String autoIncrementKey(String column) {
+        return column + " INTEGER PRIMARY KEY AUTOINCREMENT";
+    }
+
+    @Override
+    public String keyOnlyTableOptions() {
+        return " WITHOUT ROWID";
+    }
+
+    /**
+     * Declared for documentation only: PRAGMA foreign_keys stays off
+     */
+    @Override
+    public String foreignKey(String column, String reference) {
+        return ", FOREIGN KEY (" + column + ") REFERENCES " + reference;
+    }
+
+    @Override
+    public List<String> tallyTriggers() {
+        return Arrays.asList(
+            "CREATE TRIGGER IF NOT EXISTS trg_votes_tally_insert AFTER INSERT ON votes " +
+            "BEGIN " +
+            "INSERT INTO tallies (election_id, nominee_id, vote_count) VALUES (NEW.election_id, NEW.nominee_id, 1) " +
+            "ON CONFLICT(election_id, nominee_id) DO UPDATE SET vote_count = vote_count + 1; " +
+            "END",
+
+            "CREATE TRIGGER IF NOT EXISTS trg_votes_tally_delete AFTER DELETE ON votes " +
+            "BEGIN " +
+            "UPDATE tallies SET vote_count = vote_count - 1 " +
+            "WHERE election_id = OLD.election_id AND nominee_id = OLD.nominee_id; " +
+            "END",
+
+            "CREATE TRIGGER IF NOT EXISTS trg_votes_tally_update AFTER UPDATE OF election_id, nominee_id ON votes " +
+            "BEGIN " +
+            "UPDATE tallies SET vote_count = vote_count - 1 " +
+            "WHERE election_id = OLD.election_id AND nominee_id = OLD.nominee_id; " +
+            "INSERT INTO tallies (election_id, nominee_id, vote_count) VALUES (NEW.election_id, NEW.nominee_id, 1) " +
+            "ON CONFLICT(election_id, nominee_id) DO UPDATE SET vote_count = vote_count + 1; " +
+            "END"
+        );
+    }
+
+    @Override
+    public List<String> ballotTriggers() {
+        return Arrays.asList(
+            // Recreated on every start so older databases pick up the election check
+            "DROP TRIGGER IF EXISTS trg_votes_check_refs",
+            "CREATE TRIGGER trg_votes_check_refs BEFORE INSERT ON votes " +
+            "BEGIN " +
+            "SELECT RAISE(ABORT, '" + DatabaseManager.VOTE_UNKNOWN_VOTER + "') " +
+            "WHERE NOT EXISTS (SELECT 1 FROM voters WHERE voter_id = NEW.voter_id); " +
+            "SELECT RAISE(ABORT, '" + DatabaseManager.VOTE_UNKNOWN_NOMINEE + "') " +
+            "WHERE NOT EXISTS (SELECT 1 FROM nominees WHERE nominee_id = NEW.nominee_id " +
+            "AND election_id = NEW.election_id AND is_active = 1); " +
+            "END",
+
+            "CREATE TRIGGER IF NOT EXISTS trg_votes_mark_voted AFTER INSERT ON votes " +
+            "BEGIN " +
+            "UPDATE voters SET has_voted = 1 WHERE voter_id = NEW.voter_id; " +
+            "END"
+        );
+    }
+
+    // ==================== DML ====================
+
+    @Override
+    public String upsert(String table, String[] columns, String[] keys, String updateSet, String updateWhere) {
+        return insertInto(table, columns) +
+               " ON CONFLICT(" + String.join(", ", keys) + ") DO UPDATE SET " + updateSet +
+               (updateWhere != null ? " WHERE " + updateWhere : "");
+    }
+
+    @Override
+    public String insertIgnore(String table, String[] columns, String[] keys) {
+        return insertInto(table, columns) + " ON CONFLICT(" + String.join(", ", keys) + ") DO NOTHING";
+    }
+
+    private static String insertInto(String table, String[] columns) {
+        return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES (" +
+               String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+    }
+
+    @Override
+    public String daysAgo(String days) {
+        return "datetime('now', '-' || " + days + " || ' days')";
+    }
+
+    // ==================== INTROSPECTION ====================
+
+    @Override
+    public boolean tableExists(Connection conn, String table) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = ?")) {
+            stmt.setString(1, table);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    @Override
+    public Set<String> getColumns(Connection conn, String table) throws SQLException {
+        Set<String> columns = new HashSet<>();
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT name FROM pragma_table_info(?)")) {
+            stmt.setString(1, table);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    columns.add(rs.getString("name").toLowerCase());
+                }
+            }
+        }
+        return columns;
+    }
+
+    // ==================== ERRORS ====================
+
+    /**
+     * SQLITE_BUSY (5) and SQLITE_LOCKED (6), including extended codes
+     */
+    @Override
+    public boolean isBusy(SQLException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLException) {
+                int code = ((SQLException) t).getErrorCode() & 0xff;
+                if (code == 5 || code == 6) return true;
+            }
+            String message = t.getMessage();
+            if (message != null && (message.contains("SQLITE_BUSY") || message.contains("SQLITE_LOCKED")
+                                    || message.contains("database is locked"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isUniqueViolation(SQLException e) {
+        String message = e.getMessage();
+        return message != null && message.contains("UNIQUE");
+    }
+}
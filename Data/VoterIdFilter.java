@@ -0,0 +1,232 @@
+package Data;
+
+import Utils.BloomFilter;
+import java.io.*;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fast rejection of unknown voter IDs, one Bloom filter per voter store.
+ *
+ * Looking up an ID that does not exist is the most expensive case (the
+ * whole voter file is read), and it is exactly what typos and ID
+ * enumeration produce. The filter answers "certainly not a voter" from
+ * memory; only probable hits go on to the file or the index.
+ *
+ *   FILE      database_voters.txt; rebuilt when the file's size or timestamp
+ *             changes behind our back, so a writer that does not report its
+ *             inserts can never cause a false "unknown voter"
+ *   DATABASE  the voters table; inserts are reported by the code that makes
+ *             them, and the filter is also rebuilt after MAX_AGE to pick up
+ *             rows written by another process
+ *
+ * Inserts add to the filter; deletes cannot be removed from a Bloom filter,
+ * so they drop it and the next lookup rebuilds it. Until the first build,
+ * or if building fails, everything passes through to the real lookup.
+ */
+public class VoterIdFilter {
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_CAPACITY = 1024;
+    private static final long RETRY_AFTER_FAILURE_NANOS = 5_000_000_000L;
+    private static final long MAX_AGE_NANOS =
+        Long.getLong("election.voterFilterMaxAgeSeconds", 300) * 1_000_000_000L;
+
+    private static final StoreFilter FILE = new StoreFilter("file", new File(ElectionData.VOTER_FILE), 0,
+                                                            VoterIdFilter::readFileIds);
+    private static final StoreFilter DATABASE = new StoreFilter("database", null, MAX_AGE_NANOS,
+                                                                VoterIdFilter::readDatabaseIds);
+
+    /**
+     * Reads every voter ID of a store; null when the store cannot be read
+     */
+    private interface IdSource {
+        List<String> readAll();
+    }
+
+    /**
+     * The current filter of one store and how to rebuild it
+     */
+    private static class StoreFilter {
+        final String name;
+        final File stampFile;       // rebuild when this file changes (null = no file)
+        final long maxAgeNanos;     // rebuild after this long (0 = never)
+        final IdSource source;
+
+        volatile BloomFilter filter = null;
+        volatile long stamp = 0;
+        volatile long builtAt = 0;
+        volatile long failedAt = 0;
+
+        final AtomicLong rejected = new AtomicLong();
+        final AtomicLong passed = new AtomicLong();
+        final AtomicLong rebuilds = new AtomicLong();
+
+        StoreFilter(String name, File stampFile, long maxAgeNanos, IdSource source) {
+            this.name = name;
+            this.stampFile = stampFile;
+            this.maxAgeNanos = maxAgeNanos;
+            this.source = source;
+        }
+
+        boolean mightContain(String voterId) {
+            BloomFilter current = isCurrent() || recentlyFailed() ? filter : rebuild();
+            if (current == null || current.mightContain(voterId)) {
+                passed.incrementAndGet();
+                return true;
+            }
+            rejected.incrementAndGet();
+            return false;
+        }
+
+        private boolean isCurrent() {
+            if (filter == null) return false;
+            if (stampFile != null && currentStamp() != stamp) return false;
+            return maxAgeNanos <= 0 || System.nanoTime() - builtAt < maxAgeNanos;
+        }
+
+        private boolean recentlyFailed() {
+            return filter == null && failedAt != 0 && System.nanoTime() - failedAt < RETRY_AFTER_FAILURE_NANOS;
+        }
+
+        private long currentStamp() {
+            return stampFile.lastModified() * 31 + stampFile.length();
+        }
+
+        synchronized BloomFilter rebuild() {
+            if (isCurrent()) return filter;
+
+            // Stamp first: a write during the read below triggers another rebuild
+            long newStamp = stampFile != null ? currentStamp() : 0;
+            long started = System.nanoTime();
+            List<String> ids = source.readAll();
+            if (ids == null) {
+                filter = null;
+                failedAt = System.nanoTime();
+                return null;
+            }
+
+            BloomFilter built = new BloomFilter(Math.max(MIN_CAPACITY, ids.size() * 2), FALSE_POSITIVE_RATE);
+            for (String id : ids) {
+                built.add(id);
+            }
+            stamp = newStamp;
+            builtAt = System.nanoTime();
+            filter = built;
+            rebuilds.incrementAndGet();
+            System.out.println("🔎 [VoterIdFilter] " + name + " filter built in "
+                               + (builtAt - started) / 1_000_000 + "ms: " + built);
+            return built;
+        }
+
+        synchronized void add(String voterId) {
+            BloomFilter current = filter;
+            if (current == null) return;
+            if (current.isSaturated()) {
+                filter = null;  // grown past its size: rebuild bigger on the next lookup
+                return;
+            }
+            current.add(voterId);
+            if (stampFile != null) stamp = currentStamp();
+        }
+
+        synchronized void invalidate() {
+            filter = null;
+        }
+
+        String getStats() {
+            BloomFilter current = filter;
+            return name + ": rejected=" + rejected.get() + " passed=" + passed.get() + " rebuilds=" + rebuilds.get()
+                   + " (" + (current != null ? current.toString() : "not built") + ")";
+        }
+    }
+
+    // ==================== TEXT FILE ====================
+
+    /**
+     * False if the ID is certainly not in the voter file
+     */
+    public static boolean mightExistInFile(String voterId) {
+        return voterId != null && FILE.mightContain(voterId);
+    }
+
+    /**
+     * Call after writing a new voter to the file
+     */
+    public static void addedToFile(String voterId) {
+        FILE.add(voterId);
+    }
+
+    /**
+     * Call after removing voters from the file
+     */
+    public static void removedFromFile() {
+        FILE.invalidate();
+    }
+
+    private static List<String> readFileIds() {
+        List<String> ids = new ArrayList<>();
+        if (!new File(ElectionData.VOTER_FILE).exists()) return ids;
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(ElectionData.VOTER_FILE))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) continue;
+                ids.add(line.split(":", 2)[0]);
+            }
+            return ids;
+        } catch (IOException e) {
+            System.err.println("⚠️ [VoterIdFilter] Could not read voter file: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // ==================== DATABASE ====================
+
+    /**
+     * False if the ID is certainly not in the voters table
+     */
+    public static boolean mightExistInDatabase(String voterId) {
+        return voterId != null && DATABASE.mightContain(voterId);
+    }
+
+    /**
+     * Call after inserting voters into the table
+     */
+    public static void addedToDatabase(String voterId) {
+        DATABASE.add(voterId);
+    }
+
+    /**
+     * Call after deleting voters from the table
+     */
+    public static void removedFromDatabase() {
+        DATABASE.invalidate();
+    }
+
+    public static final String ALL_VOTER_IDS_SQL = "SELECT voter_id FROM voters";
+
+    private static List<String> readDatabaseIds() {
+        try {
+            return ReadConnectionPool.withSnapshot(conn -> {
+                List<String> ids = new ArrayList<>();
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery(ALL_VOTER_IDS_SQL)) {
+                    while (rs.next()) {
+                        ids.add(rs.getString(1));
+                    }
+                }
+                return ids;
+            });
+        } catch (SQLException e) {
+            System.err.println("⚠️ [VoterIdFilter] Could not read voter IDs: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // ==================== STATUS ====================
+
+    public static String getStats() {
+        return FILE.getStats() + " | " + DATABASE.getStats();
+    }
+}
@@ -0,0 +1,381 @@
+package Data;
+
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single writer for one SQLite database file.
+ * SQLite allows one writer at a time, so instead of every thread competing
+ * for the write lock, writes are queued here and applied by one thread on its
+ * own connection. Whatever is waiting in the queue when the thread wakes up is
+ * committed together in one transaction (each write inside its own savepoint,
+ * so one failing statement does not undo the others).
+ *
+ * DatabaseWriter owns the queue for the main database; BallotShards keeps
+ * one per election file so ballots for different elections commit in parallel.
+ *
+ * A batch that hits a locked database is rolled back and retried whole under
+ * RetryPolicy. Writes submitted with an idempotency token are applied at most
+ * once: the token is claimed in write_tokens in the same transaction, and a
+ * repeat submission completes with ALREADY_APPLIED instead of running again.
+ */
+class WriteQueue {
+    private static final int MAX_BATCH = 200;
+    private static final int WRITER_BUSY_TIMEOUT_MS = 250;  // short, so RetryPolicy does the waiting
+    static final String CLAIM_TOKEN_SQL = DatabaseManager.getDialect().insertIgnore(
+        "write_tokens", new String[]{ "token" }, new String[]{ "token" });
+
+    /** Update count reported for a token that was already applied by an earlier submission */
+    static final int ALREADY_APPLIED = -1;
+
+    /**
+     * Opens the writer's connection; returns null when the database is unavailable
+     */
+    interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    private final String threadName;
+    private final ConnectionFactory connectionFactory;
+    private final BlockingQueue<WriteOp> queue = new LinkedBlockingQueue<>();
+    private Thread writerThread = null;
+    private volatile boolean running = false;
+    private boolean shutdownHookInstalled = false;
+
+    // Metrics
+    private final AtomicLong committedBatches = new AtomicLong();
+    private final AtomicLong committedWrites = new AtomicLong();
+    private final AtomicLong failedWrites = new AtomicLong();
+    private final AtomicLong totalCommitNanos = new AtomicLong();
+    private volatile long lastCommitNanos = 0;
+    private volatile long maxCommitNanos = 0;
+    private volatile int maxBatchSize = 0;
+
+    WriteQueue(String threadName, ConnectionFactory connectionFactory) {
+        this.threadName = threadName;
+        this.connectionFactory = connectionFactory;
+    }
+
+    /**
+     * One or more queued statements applied together, and the future that
+     * reports their update count. No statements marks a flush.
+     */
+    private static class WriteOp {
+        final String token;
+        final List<String> sql;
+        final List<Object[]> params;
+        final CompletableFuture<Integer> result = new CompletableFuture<>();
+
+        WriteOp(String token, List<String> sql, List<Object[]> params) {
+            this.token = token;
+            this.sql = sql;
+            this.params = params;
+        }
+    }
+
+    // ==================== SUBMISSION ====================
+
+    /**
+     * Queue a write. The future completes with the update count once the
+     * batch containing it has committed, or exceptionally with the SQLException.
+     */
+    CompletableFuture<Integer> submit(String sql, Object... params) {
+        return submitIdempotent(null, sql, params);
+    }
+
+    /**
+     * Queue a write that must take effect at most once. If a write with the
+     * same token has already committed, the statement is not run again and the
+     * future completes with ALREADY_APPLIED. A null token behaves like submit().
+     */
+    CompletableFuture<Integer> submitIdempotent(String token, String sql, Object... params) {
+        return add(new WriteOp(token,
+                               sql == null ? Collections.emptyList() : Collections.singletonList(sql),
+                               sql == null ? Collections.emptyList() : Collections.singletonList(params)));
+    }
+
+    /**
+     * Queue several statements that commit or fail together (one savepoint).
+     * The future completes with the sum of their update counts.
+     */
+    CompletableFuture<Integer> submitAll(List<String> sql, List<Object[]> params) {
+        return add(new WriteOp(null, new ArrayList<>(sql), new ArrayList<>(params)));
+    }
+
+    private CompletableFuture<Integer> add(WriteOp op) {
+        ensureStarted();
+        queue.add(op);
+        return op.result;
+    }
+
+    /**
+     * Queue a write whose outcome the caller does not wait for.
+     * Failures are logged by the writer thread.
+     */
+    void enqueue(String sql, Object... params) {
+        logFailure(submit(sql, params));
+    }
+
+    /**
+     * Like submitAll(), without waiting for the outcome
+     */
+    void enqueueAll(List<String> sql, List<Object[]> params) {
+        logFailure(submitAll(sql, params));
+    }
+
+    private void logFailure(CompletableFuture<Integer> result) {
+        result.whenComplete((count, error) -> {
+            if (error != null) {
+                System.err.println("⚠️ [" + threadName + "] Background write failed: " + error.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Block until everything queued before this call has been committed
+     */
+    void flush() {
+        try {
+            submit(null).get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            System.err.println("⚠️ [" + threadName + "] Flush did not complete: " + e.getMessage());
+        }
+    }
+
+    // ==================== WRITER THREAD ====================
+
+    private synchronized void ensureStarted() {
+        if (running) return;
+
+        running = true;
+        writerThread = new Thread(this::runWriter, threadName);
+        writerThread.setDaemon(true);
+        writerThread.start();
+
+        // Commit whatever is still queued when the application exits
+        if (!shutdownHookInstalled) {
+            try {
+                Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, threadName + "-shutdown"));
+                shutdownHookInstalled = true;
+            } catch (IllegalStateException e) {
+                // JVM is already shutting down
+            }
+        }
+    }
+
+    /**
+     * Stop the writer after draining the queue
+     */
+    void shutdown() {
+        Thread thread;
+        synchronized (this) {
+            if (!running) return;
+            running = false;
+            thread = writerThread;
+            writerThread = null;
+        }
+        thread.interrupt();
+        try {
+            thread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWriter() {
+        Connection conn = null;
+        List<WriteOp> batch = new ArrayList<>();
+
+        while (running || !queue.isEmpty()) {
+            try {
+                batch.clear();
+                WriteOp first = running ? queue.take() : queue.poll();
+                if (first == null) break;
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+            } catch (InterruptedException e) {
+                continue;  // shutdown requested: loop again to drain what is left
+            }
+
+            try {
+                if (conn == null || conn.isClosed()) {
+                    conn = connectionFactory.open();
+                    if (conn != null) {
+                        DatabaseManager.getDialect().setLockTimeout(conn, WRITER_BUSY_TIMEOUT_MS);
+                    }
+                }
+            } catch (SQLException e) {
+                conn = null;
+            }
+
+            if (conn == null) {
+                for (WriteOp op : batch) {
+                    fail(op, new SQLNonTransientConnectionException("Database connection unavailable"));
+                }
+                continue;
+            }
+
+            commitBatch(conn, batch);
+        }
+
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                System.err.println("⚠️ [" + threadName + "] Error closing writer connection: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Commit a batch, retrying the whole transaction while the database is locked
+     */
+    private void commitBatch(Connection conn, List<WriteOp> batch) {
+        long start = System.nanoTime();
+        Map<WriteOp, Object> outcomes;
+
+        try {
+            outcomes = RetryPolicy.execute(() -> applyBatch(conn, batch));
+        } catch (SQLException e) {
+            System.err.println("❌ [" + threadName + "] Batch commit failed: " + e.getMessage());
+            for (WriteOp op : batch) {
+                fail(op, e);
+            }
+            return;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        lastCommitNanos = elapsed;
+        maxCommitNanos = Math.max(maxCommitNanos, elapsed);
+        maxBatchSize = Math.max(maxBatchSize, batch.size());
+        totalCommitNanos.addAndGet(elapsed);
+        committedBatches.incrementAndGet();
+
+        // Futures are completed only after the commit, so a retried batch never reports twice
+        for (Map.Entry<WriteOp, Object> entry : outcomes.entrySet()) {
+            if (entry.getValue() instanceof SQLException) {
+                fail(entry.getKey(), (SQLException) entry.getValue());
+            } else {
+                committedWrites.incrementAndGet();
+                entry.getKey().result.complete((Integer) entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Apply a batch in one transaction, isolating each statement in a savepoint.
+     * Returns each op's update count or its SQLException. A locked database
+     * aborts the whole attempt: everything is rolled back and the error is thrown
+     * so the batch can be retried from the start.
+     */
+    private Map<WriteOp, Object> applyBatch(Connection conn, List<WriteOp> batch) throws SQLException {
+        Map<WriteOp, Object> outcomes = new LinkedHashMap<>();
+
+        try {
+            conn.setAutoCommit(false);
+
+            for (WriteOp op : batch) {
+                if (op.sql.isEmpty()) {  // flush marker
+                    outcomes.put(op, 0);
+                    continue;
+                }
+
+                Savepoint savepoint = conn.setSavepoint();
+                try {
+                    if (op.token != null && !claimToken(conn, op.token)) {
+                        outcomes.put(op, ALREADY_APPLIED);
+                    } else {
+                        int count = 0;
+                        for (int n = 0; n < op.sql.size(); n++) {
+                            try (PreparedStatement stmt = conn.prepareStatement(op.sql.get(n))) {
+                                Object[] params = op.params.get(n);
+                                for (int i = 0; i < params.length; i++) {
+                                    stmt.setObject(i + 1, params[i]);
+                                }
+                                count += stmt.executeUpdate();
+                            }
+                        }
+                        outcomes.put(op, count);
+                    }
+                    conn.releaseSavepoint(savepoint);
+                } catch (SQLException e) {
+                    if (RetryPolicy.isBusy(e)) throw e;
+                    conn.rollback(savepoint);
+                    conn.releaseSavepoint(savepoint);
+                    outcomes.put(op, e);
+                }
+            }
+
+            conn.commit();
+            return outcomes;
+        } catch (SQLException e) {
+            try {
+                conn.rollback();
+            } catch (SQLException rollbackEx) {
+                System.err.println("⚠️ [" + threadName + "] Rollback failed: " + rollbackEx.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Record the token; false if an earlier write already claimed it
+     */
+    private static boolean claimToken(Connection conn, String token) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(CLAIM_TOKEN_SQL)) {
+            stmt.setString(1, token);
+            return stmt.executeUpdate() == 1;
+        }
+    }
+
+    private void fail(WriteOp op, SQLException e) {
+        failedWrites.incrementAndGet();
+        op.result.completeExceptionally(e);
+    }
+
+    // ==================== METRICS ====================
+
+    int getQueueDepth() {
+        return queue.size();
+    }
+
+    long getCommittedBatches() {
+        return committedBatches.get();
+    }
+
+    long getCommittedWrites() {
+        return committedWrites.get();
+    }
+
+    long getFailedWrites() {
+        return failedWrites.get();
+    }
+
+    int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    double getLastCommitMillis() {
+        return lastCommitNanos / 1_000_000.0;
+    }
+
+    double getMaxCommitMillis() {
+        return maxCommitNanos / 1_000_000.0;
+    }
+
+    double getAverageCommitMillis() {
+        long batches = committedBatches.get();
+        return batches == 0 ? 0.0 : totalCommitNanos.get() / 1_000_000.0 / batches;
+    }
+
+    /**
+     * One-line summary for logs and the admin dashboard
+     */
+    String getStats() {
+        return String.format("queue=%d batches=%d writes=%d failed=%d maxBatch=%d commit(last=%.2fms avg=%.2fms max=%.2fms)",
+            getQueueDepth(), getCommittedBatches(), getCommittedWrites(), getFailedWrites(),
+            getMaxBatchSize(), getLastCommitMillis(), getAverageCommitMillis(), getMaxCommitMillis());
+    }
+}
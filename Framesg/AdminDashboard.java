@@ -1,5 +1,6 @@
 package Framesg;
 
+import Data.Page;
 import Data.SqlAdminManager;
 import Data.SqlElectionDataManager;
 import Entities.Voter;
@@ -21,6 +22,7 @@ import javax.swing.*;
  */
 public class AdminDashboard extends JFrame implements ActionListener {
     private static final long serialVersionUID = 1L;
+    private static final int LIST_PAGE_SIZE = 50;
     
     private String adminId;
     private String adminRole;
@@ -817,37 +819,73 @@ public class AdminDashboard extends JFrame implements ActionListener {
         voterList.setFont(Theme.MONOSPACE_FONT);
         voterList.setBackground(Theme.BACKGROUND_LIGHT);
         
-        try {
-            // Try to get voters from SqlElectionManager
-            java.util.List<Voter> voters = SqlElectionDataManager.getAllVoters();
-            if (voters != null && !voters.isEmpty()) {
-                StringBuilder sb = new StringBuilder();
-                sb.append("Registered Voters:\n");
-                sb.append("══════════════════════════════════════════\n\n");
-                for (Voter voter : voters) {
-                    sb.append(String.format("ID: %-10s | Name: %-20s\n", 
-                        voter.getId(), voter.getName()));
-                }
-                voterList.setText(sb.toString());
-            } else {
-                voterList.setText("No voters found in database.\n\nAdd voters using the 'Add Voter' button.");
-            }
-        } catch (Exception e) {
-            voterList.setText("⚠️ SqlElectionManager.getAllVoters() not implemented\n\n" +
-                            "This feature requires voter data access methods.");
-        }
-        
         panel.add(new JScrollPane(voterList), BorderLayout.CENTER);
         
         JButton closeBtn = new JButton("Close");
         closeBtn.addActionListener(evt -> dialog.dispose());
         JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        
+        // Voters are fetched one keyset page at a time
+        addPager(bottomPanel, token -> {
+            Page<Voter> page = SqlElectionDataManager.getVotersPage(token, LIST_PAGE_SIZE);
+            if (page.isEmpty() && token == null) {
+                voterList.setText("No voters found in database.\n\nAdd voters using the 'Add Voter' button.");
+                return page;
+            }
+            StringBuilder sb = new StringBuilder();
+            sb.append("Registered Voters:\n");
+            sb.append("══════════════════════════════════════════\n\n");
+            for (Voter voter : page.getItems()) {
+                sb.append(String.format("ID: %-10s | Name: %-20s\n", 
+                    voter.getId(), voter.getName()));
+            }
+            voterList.setText(sb.toString());
+            voterList.setCaretPosition(0);
+            return page;
+        });
+        
         bottomPanel.add(closeBtn);
         panel.add(bottomPanel, BorderLayout.SOUTH);
         
         dialog.setContentPane(panel);
         dialog.setVisible(true);
     }
+    
+    /**
+     * Add Previous/Next buttons that walk a keyset-paginated listing.
+     * The loader renders the page for a continuation token and returns it;
+     * tokens of earlier pages are kept so Previous can go back.
+     */
+    private void addPager(JPanel buttonPanel, java.util.function.Function<String, Page<?>> loader) {
+        JButton prevBtn = new JButton("◀ Previous");
+        JButton nextBtn = new JButton("Next ▶");
+        Deque<String> previousTokens = new ArrayDeque<>();
+        String[] current = new String[1];  // token of the page on screen (null = first page)
+        String[] next = new String[1];
+        
+        Runnable refresh = () -> {
+            Page<?> page = loader.apply(current[0]);
+            next[0] = page.getNextToken();
+            prevBtn.setEnabled(current[0] != null);
+            nextBtn.setEnabled(page.hasMore());
+        };
+        
+        prevBtn.addActionListener(evt -> {
+            current[0] = previousTokens.isEmpty() ? null : previousTokens.pop();
+            refresh.run();
+        });
+        nextBtn.addActionListener(evt -> {
+            if (current[0] != null) {
+                previousTokens.push(current[0]);
+            }
+            current[0] = next[0];
+            refresh.run();
+        });
+        
+        buttonPanel.add(prevBtn);
+        buttonPanel.add(nextBtn);
+        refresh.run();
+    }
 
     private void showDeleteVoterDialog(JDialog parentDialog) {
         JDialog dialog = new JDialog(parentDialog, "Delete Voter", true);
@@ -1727,9 +1765,6 @@ public class AdminDashboard extends JFrame implements ActionListener {
     // ==================== AUDIT LOGS ====================
     
     private void showAuditLogs() {
-        // Get audit logs from SqlAdminManager
-        java.util.List<String> auditLogs = SqlAdminManager.getAdminAuditTrail(adminId);
-        
         JDialog dialog = new JDialog(this, "Audit Logs", true);
         dialog.setSize(600, 400);
         dialog.setLocationRelativeTo(this);
@@ -1738,22 +1773,35 @@ public class AdminDashboard extends JFrame implements ActionListener {
         textArea.setEditable(false);
         textArea.setFont(Theme.MONOSPACE_FONT);
         
-        if (auditLogs.isEmpty()) {
-            textArea.setText("📋 AUDIT LOGS\n" +
-                           "═════════════════════════════════════════\n\n" +
-                           "No audit logs found.");
-        } else {
+        JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        
+        // Get audit logs from SqlAdminManager one keyset page at a time
+        addPager(bottomPanel, token -> {
+            Page<String> page = SqlAdminManager.getAuditLogsPage(adminId, token, LIST_PAGE_SIZE);
+            if (page.isEmpty() && token == null) {
+                textArea.setText("📋 AUDIT LOGS\n" +
+                               "═════════════════════════════════════════\n\n" +
+                               "No audit logs found.");
+                return page;
+            }
             StringBuilder logs = new StringBuilder();
-            logs.append("📋 AUDIT LOGS (Last 50 entries)\n");
+            logs.append("📋 AUDIT LOGS (newest first, " + LIST_PAGE_SIZE + " per page)\n");
             logs.append("═════════════════════════════════════════\n\n");
-            for (String log : auditLogs) {
+            for (String log : page.getItems()) {
                 logs.append(log).append("\n");
             }
             textArea.setText(logs.toString());
-        }
+            textArea.setCaretPosition(0);
+            return page;
+        });
         
-        JScrollPane scrollPane = new JScrollPane(textArea);
-        dialog.add(scrollPane);
+        JButton closeBtn = new JButton("Close");
+        closeBtn.addActionListener(evt -> dialog.dispose());
+        bottomPanel.add(closeBtn);
+        
+        dialog.setLayout(new BorderLayout());
+        dialog.add(new JScrollPane(textArea), BorderLayout.CENTER);
+        dialog.add(bottomPanel, BorderLayout.SOUTH);
         dialog.setVisible(true);
     }
 
@@ -1,15 +1,18 @@
 package Framesg;
 
+import Data.AuthService;
 import Data.SqlAdminManager;
 import Utils.AdminRole;
 import java.awt.Color;
 import java.awt.Component;
+import java.awt.Cursor;
 import java.awt.Font;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.concurrent.CompletionException;
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
@@ -17,6 +20,7 @@ import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JPasswordField;
 import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
 
 public class AdminLogin extends JFrame implements ActionListener {
    private static final long serialVersionUID = 1L;
@@ -196,10 +200,23 @@ public class AdminLogin extends JFrame implements ActionListener {
          return;
       }
 
+      // Check credentials off the event thread (password hashing is slow)
+      System.out.println("🔐 [AdminLogin] Attempting login for: " + adminId);
+      setBusy(true);
+      AuthService.authenticateAdmin(adminId, password).whenComplete((valid, error) ->
+         SwingUtilities.invokeLater(() -> {
+            setBusy(false);
+            if (error != null) {
+               showLoginError(error);
+            } else {
+               finishLogin(adminId, valid);
+            }
+         }));
+   }
+   
+   private void finishLogin(String adminId, boolean valid) {
       try {
-         // Use SqlAdminManager for authentication
-         System.out.println("🔐 [AdminLogin] Attempting login for: " + adminId);
-         if (SqlAdminManager.validateAdminCredentials(adminId, password)) {
+         if (valid) {
             // Get admin details
             String adminName = SqlAdminManager.getAdminNameById(adminId);
             String role = SqlAdminManager.getRoleById(adminId);
@@ -235,16 +252,47 @@ public class AdminLogin extends JFrame implements ActionListener {
              JOptionPane.ERROR_MESSAGE);
          }
       } catch (Exception ex) {
-         System.err.println("❌ [AdminLogin] Exception during login: " + ex.getMessage());
-         ex.printStackTrace();
+         showLoginError(ex);
+      }
+   }
+   
+   private void showLoginError(Throwable error) {
+      long retryAfter = AuthService.getRetryAfterMillis(error);
+      if (retryAfter > 0) {
          JOptionPane.showMessageDialog(this,
-             "<html><b>Login Error</b><br><br>" +
-             "An unexpected error occurred:<br>" +
-             ex.getClass().getSimpleName() + ": " + ex.getMessage() + "<br><br>" +
-             "Please check the console for more details.</html>",
-             "System Error",
-             JOptionPane.ERROR_MESSAGE);
+             "Too many login attempts. Please wait " + ((retryAfter + 999) / 1000) + " second(s) and try again.",
+             "Too Many Attempts",
+             JOptionPane.WARNING_MESSAGE);
+         return;
+      }
+      if (AuthService.isOverloaded(error)) {
+         JOptionPane.showMessageDialog(this,
+             "Too many logins in progress. Please try again in a moment.",
+             "System Busy",
+             JOptionPane.WARNING_MESSAGE);
+         return;
       }
+      Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+      System.err.println("❌ [AdminLogin] Exception during login: " + cause.getMessage());
+      cause.printStackTrace();
+      JOptionPane.showMessageDialog(this,
+          "<html><b>Login Error</b><br><br>" +
+          "An unexpected error occurred:<br>" +
+          cause.getClass().getSimpleName() + ": " + cause.getMessage() + "<br><br>" +
+          "Please check the console for more details.</html>",
+          "System Error",
+          JOptionPane.ERROR_MESSAGE);
+   }
+   
+   /**
+    * Show that a login is being checked and block a second submit meanwhile
+    */
+   private void setBusy(boolean busy) {
+      this.loginButton.setEnabled(!busy);
+      this.loginButton.setText(busy ? "Verifying..." : "Login");
+      this.adminIdField.setEnabled(!busy);
+      this.passwordField.setEnabled(!busy);
+      this.setCursor(busy ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
    }
    
    private void handleForgotPassword() {
@@ -1,10 +1,11 @@
 package Framesg;
 
 import Data.ElectionData;
+import Data.ResultRow;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.Date;
-import java.util.Map;
+import java.util.List;
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.DefaultTableModel;
@@ -242,7 +243,7 @@ public class ElectionResults extends JFrame implements ActionListener {
     }
 
     private void loadResultsData() {
-        Map<String, Integer> voteCounts = ElectionData.getVoteCounts();
+        List<ResultRow> results = ElectionData.getResults();
         int totalVotes = ElectionData.getTotalVotesCast();
         int totalVoters = ElectionData.getTotalRegisteredVoters();
         int turnoutPercentage = totalVoters > 0 ? (totalVotes * 100 / totalVoters) : 0;
@@ -255,62 +256,23 @@ public class ElectionResults extends JFrame implements ActionListener {
         // Clear existing table data
         tableModel.setRowCount(0);
 
-        if (voteCounts.isEmpty()) {
+        if (results.isEmpty()) {
             tableModel.addRow(new Object[]{
                 "-", "N/A", "No votes cast yet", "N/A", "0", "0%", "PENDING"
             });
             leadingLabel.setText("None");
         } else {
-            // Find maximum votes for winner determination
-            int maxVotes = 0;
-            String leadingCandidate = "None";
-            for (Map.Entry<String, Integer> entry : voteCounts.entrySet()) {
-                if (entry.getValue() > maxVotes) {
-                    maxVotes = entry.getValue();
-                    // Find nominee name
-                    String nomineeId = entry.getKey();
-                    String[] nominees = ElectionData.getAllNominees();
-                    for (String nominee : nominees) {
-                        String[] parts = nominee.split(":");
-                        if (parts.length >= 3 && parts[0].equals(nomineeId)) {
-                            leadingCandidate = parts[1];
-                            break;
-                        }
-                    }
-                }
-            }
-            
-            leadingLabel.setText(leadingCandidate);
-
-            int rank = 1;
-            for (Map.Entry<String, Integer> entry : voteCounts.entrySet()) {
-                String nomineeId = entry.getKey();
-                int votes = entry.getValue();
-                int percentage = totalVotes > 0 ? (votes * 100 / totalVotes) : 0;
-
-                // Find nominee details
-                String nomineeName = "Unknown";
-                String partyName = "Unknown";
-                String[] nominees = ElectionData.getAllNominees();
-                for (String nominee : nominees) {
-                    String[] parts = nominee.split(":");
-                    if (parts.length >= 3 && parts[0].equals(nomineeId)) {
-                        nomineeName = parts[1];
-                        partyName = parts[2];
-                        break;
-                    }
-                }
+            leadingLabel.setText(results.get(0).getName());
 
-                String status = (votes == maxVotes) ? "🏆 LEADING" : "RUNNING";
-                
+            for (ResultRow row : results) {
                 tableModel.addRow(new Object[]{
-                    String.valueOf(rank++),
-                    nomineeId,
-                    nomineeName,
-                    partyName,
-                    String.valueOf(votes),
-                    percentage + "%",
-                    status
+                    String.valueOf(row.getRank()),
+                    row.getNomineeId(),
+                    row.getName(),
+                    row.getParty(),
+                    String.valueOf(row.getVotes()),
+                    String.format("%.1f%%", row.getPercentage()),
+                    row.isLeading() ? "🏆 LEADING" : "RUNNING"
                 });
             }
         }
@@ -326,7 +288,7 @@ public class ElectionResults extends JFrame implements ActionListener {
 
     private void exportResults() {
         try (java.io.PrintWriter writer = new java.io.PrintWriter("election_results_" + System.currentTimeMillis() + ".txt")) {
-            Map<String, Integer> voteCounts = ElectionData.getVoteCounts();
+            List<ResultRow> results = ElectionData.getResults();
             int totalVotes = ElectionData.getTotalVotesCast();
             int totalVoters = ElectionData.getTotalRegisteredVoters();
             
@@ -339,7 +301,7 @@ public class ElectionResults extends JFrame implements ActionListener {
             writer.println("Voter Turnout: " + (totalVoters > 0 ? (totalVotes * 100 / totalVoters) : 0) + "%");
             writer.println("═══════════════════════════════════════════════════\n");
             
-            if (voteCounts.isEmpty()) {
+            if (results.isEmpty()) {
                 writer.println("No votes have been cast in this election.");
             } else {
                 writer.println("DETAILED RESULTS:");
@@ -347,32 +309,10 @@ public class ElectionResults extends JFrame implements ActionListener {
                     "Rank", "Candidate ID", "Candidate Name", "Party", "Votes", "Percentage", "Status"));
                 writer.println("─────────────────────────────────────────────────────────────────────────────────────────────────────");
                 
-                int maxVotes = 0;
-                for (int votes : voteCounts.values()) {
-                    if (votes > maxVotes) maxVotes = votes;
-                }
-                
-                int rank = 1;
-                for (Map.Entry<String, Integer> entry : voteCounts.entrySet()) {
-                    String nomineeId = entry.getKey();
-                    int votes = entry.getValue();
-                    int percentage = totalVotes > 0 ? (votes * 100 / totalVotes) : 0;
-                    
-                    String nomineeName = "Unknown";
-                    String partyName = "Unknown";
-                    String[] nominees = ElectionData.getAllNominees();
-                    for (String nominee : nominees) {
-                        String[] parts = nominee.split(":");
-                        if (parts.length >= 3 && parts[0].equals(nomineeId)) {
-                            nomineeName = parts[1];
-                            partyName = parts[2];
-                            break;
-                        }
-                    }
-                    
-                    String status = (votes == maxVotes) ? "WINNER" : "RUNNER UP";
+                for (ResultRow row : results) {
                     writer.println(String.format("%-5d %-15s %-25s %-20s %-10d %-12s %-10s", 
-                        rank++, nomineeId, nomineeName, partyName, votes, percentage + "%", status));
+                        row.getRank(), row.getNomineeId(), row.getName(), row.getParty(), row.getVotes(),
+                        String.format("%.1f%%", row.getPercentage()), row.isLeading() ? "WINNER" : "RUNNER UP"));
                 }
             }
             
@@ -3,6 +3,7 @@ package Framesg;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import Data.AuthService;
 import Data.ElectionData;
 
 public class VoterLogin extends JFrame implements ActionListener {
@@ -142,26 +143,20 @@ public class VoterLogin extends JFrame implements ActionListener {
                     return;
                 }
 
-                // Validate login
-                if (!ElectionData.validateVoter(voterId, password)) {
-                    JOptionPane.showMessageDialog(this, "Invalid Password!");
-                    return;
-                }
-
-                if (ElectionData.hasVoted(voterId)) {
-                    JOptionPane.showMessageDialog(this, "You have already voted. Thank you!");
-                } else {
-                    setVisible(false);
-                    new VoterVoting(voterId, this).setVisible(true);
-                }
+                // Validate login off the event thread (password hashing is slow)
+                setBusy(true);
+                AuthService.authenticateVoter(voterId, password).whenComplete((valid, error) ->
+                    SwingUtilities.invokeLater(() -> {
+                        setBusy(false);
+                        if (error != null) {
+                            showLoginError(error);
+                        } else {
+                            finishLogin(voterId, valid);
+                        }
+                    }));
             } catch (Exception ex) {
-                System.err.println("❌ Login error: " + ex.getMessage());
-                ex.printStackTrace();
-                JOptionPane.showMessageDialog(this, 
-                    "Login error: " + ex.getMessage() + "\n\n" +
-                    "Please try again or contact administrator.",
-                    "Login Error",
-                    JOptionPane.ERROR_MESSAGE);
+                setBusy(false);
+                showLoginError(ex);
             }
 
         } else if (e.getSource() == backButton) {
@@ -169,4 +164,56 @@ public class VoterLogin extends JFrame implements ActionListener {
             parentFrame.setVisible(true);
         }
     }
+
+    private void finishLogin(String voterId, boolean valid) {
+        if (!valid) {
+            JOptionPane.showMessageDialog(this, "Invalid Password!");
+            return;
+        }
+
+        if (ElectionData.hasVoted(voterId)) {
+            JOptionPane.showMessageDialog(this, "You have already voted. Thank you!");
+        } else {
+            setVisible(false);
+            new VoterVoting(voterId, this).setVisible(true);
+        }
+    }
+
+    private void showLoginError(Throwable error) {
+        long retryAfter = AuthService.getRetryAfterMillis(error);
+        if (retryAfter > 0) {
+            JOptionPane.showMessageDialog(this,
+                "Too many login attempts. Please wait " + ((retryAfter + 999) / 1000) + " second(s) and try again.",
+                "Too Many Attempts",
+                JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        if (AuthService.isOverloaded(error)) {
+            JOptionPane.showMessageDialog(this,
+                "Too many logins in progress. Please try again in a moment.",
+                "System Busy",
+                JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        Throwable cause = error instanceof java.util.concurrent.CompletionException && error.getCause() != null
+            ? error.getCause() : error;
+        System.err.println("❌ Login error: " + cause.getMessage());
+        cause.printStackTrace();
+        JOptionPane.showMessageDialog(this, 
+            "Login error: " + cause.getMessage() + "\n\n" +
+            "Please try again or contact administrator.",
+            "Login Error",
+            JOptionPane.ERROR_MESSAGE);
+    }
+
+    /**
+     * Show that a login is being checked and block a second submit meanwhile
+     */
+    private void setBusy(boolean busy) {
+        loginButton.setEnabled(!busy);
+        loginButton.setText(busy ? "Verifying..." : "Login");
+        voterIdField.setEnabled(!busy);
+        passwordField.setEnabled(!busy);
+        setCursor(busy ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package Framesg;
 
+import Data.AuthService;
 import Data.ElectionData;
 import Data.SqlElectionDataManager;
 import Data.ElectionScheduler;
@@ -401,9 +402,7 @@ public class VoterProfile extends JFrame {
             String newP = new String(newPass.getPassword());
             String confirm = new String(confirmPass.getPassword());
             
-            if (validateAndChangePassword(current, newP, confirm)) {
-                dialog.dispose();
-            }
+            validateAndChangePassword(current, newP, confirm, changeBtn, dialog::dispose);
         });
         
         JButton cancelBtn = createStyledButton("Cancel", Theme.ERROR_RED);
@@ -418,38 +417,41 @@ public class VoterProfile extends JFrame {
         dialog.setVisible(true);
     }
     
-    private boolean validateAndChangePassword(String current, String newP, String confirm) {
+    /**
+     * Result of the password change that runs on the hashing pool
+     */
+    private enum PasswordChange { CHANGED, WRONG_PASSWORD, FAILED }
+    
+    /**
+     * Checks the form on the event thread, then verifies the current password and
+     * stores the new one on the hashing pool (both hash); onSuccess runs on the EDT.
+     */
+    private void validateAndChangePassword(String current, String newP, String confirm,
+                                           JButton changeBtn, Runnable onSuccess) {
         // Validate inputs
         if (current.isEmpty() || newP.isEmpty() || confirm.isEmpty()) {
             JOptionPane.showMessageDialog(this, "Please fill in all fields!", 
                 "Error", JOptionPane.ERROR_MESSAGE);
-            return false;
-        }
-        
-        // Check if current password is correct
-        if (!ElectionData.validateVoter(voterId, current)) {
-            JOptionPane.showMessageDialog(this, "Current password is incorrect!", 
-                "Error", JOptionPane.ERROR_MESSAGE);
-            return false;
+            return;
         }
         
         // Validate new password strength
         if (newP.length() < 6) {
             JOptionPane.showMessageDialog(this, "Password must be at least 6 characters long!", 
                 "Error", JOptionPane.ERROR_MESSAGE);
-            return false;
+            return;
         }
         
         if (newP.equals(current)) {
             JOptionPane.showMessageDialog(this, "New password must be different from current password!", 
                 "Error", JOptionPane.ERROR_MESSAGE);
-            return false;
+            return;
         }
         
         if (!newP.equals(confirm)) {
             JOptionPane.showMessageDialog(this, "New passwords do not match!", 
                 "Error", JOptionPane.ERROR_MESSAGE);
-            return false;
+            return;
         }
         
         // Additional security checks
@@ -457,23 +459,39 @@ public class VoterProfile extends JFrame {
             JOptionPane.showMessageDialog(this, 
                 "Password must be at least 6 characters long.", 
                 "Weak Password", JOptionPane.WARNING_MESSAGE);
-            return false;
+            return;
         }
         
-        // Update password
-        if (ElectionData.updateVoterPassword(voterId, newP)) {
-            JOptionPane.showMessageDialog(this, "Password changed successfully!", 
-                "Success", JOptionPane.INFORMATION_MESSAGE);
-            
-            // Log the password change
-            System.out.println("Password changed for voter: " + voterId);
+        // Check the current password and update it off the event thread
+        String label = changeBtn.getText();
+        changeBtn.setEnabled(false);
+        changeBtn.setText("Verifying...");
+        
+        AuthService.submit(() -> {
+            if (!ElectionData.validateVoter(voterId, current)) return PasswordChange.WRONG_PASSWORD;
+            return ElectionData.updateVoterPassword(voterId, newP) ? PasswordChange.CHANGED : PasswordChange.FAILED;
+        }).whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            changeBtn.setEnabled(true);
+            changeBtn.setText(label);
             
-            return true;
-        } else {
-            JOptionPane.showMessageDialog(this, "Failed to change password!", 
-                "Error", JOptionPane.ERROR_MESSAGE);
-            return false;
-        }
+            if (result == PasswordChange.CHANGED) {
+                JOptionPane.showMessageDialog(this, "Password changed successfully!", 
+                    "Success", JOptionPane.INFORMATION_MESSAGE);
+                
+                // Log the password change
+                System.out.println("Password changed for voter: " + voterId);
+                onSuccess.run();
+            } else if (result == PasswordChange.WRONG_PASSWORD) {
+                JOptionPane.showMessageDialog(this, "Current password is incorrect!", 
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            } else if (error != null && AuthService.isOverloaded(error)) {
+                JOptionPane.showMessageDialog(this, "The system is busy. Please try again in a moment.", 
+                    "System Busy", JOptionPane.WARNING_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(this, "Failed to change password!", 
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        }));
     }
     
     private void showVotingHistory() {
@@ -1,10 +1,16 @@
 import Framesg.AdminLogin;
 import Framesg.VoterLogin;
 import Framesg.VoterRegistration;
+import Data.AdminSessionCache;
+import Data.AuthService;
+import Data.BackupManager;
+import Data.CredentialUpgrade;
 import Data.DatabaseManager;
 import Data.DataMigrationUtility;
+import Data.LoginLockout;
 import Data.SqlAdminManager;
 import Data.SqlElectionDataManager;
+import Utils.SecurityUtils;
 import javax.swing.*;
 import java.awt.*;
 
@@ -47,6 +53,12 @@ public class Main {
         System.out.println("\n🔄 Step 2: Initializing Admin System...");
         initializeAdminSystemWithRetry();
         
+        // Failed-login counters and lockouts survive restarts
+        LoginLockout.start();
+        
+        // Admin session checks are served from memory
+        AdminSessionCache.start();
+        
         // Step 3: Check for data migration
         System.out.println("\n🔄 Step 3: Checking for data migration...");
         handleDataMigration();
@@ -58,6 +70,16 @@ public class Main {
         // Step 5: Show login statistics
         showSystemStatus();
         
+        // Online database backups while the election runs
+        BackupManager.start();
+        
+        // Calibrate password hashing in the background before the first login
+        AuthService.submit(SecurityUtils::getCurrentParameters);
+        
+        // Tag or hash legacy credentials in the database so each login needs one
+        // verification; the text files are upgraded offline (RunCredentialUpgrade)
+        CredentialUpgrade.startInBackground();
+        
         // Step 6: Create and show main window
         System.out.println("\n🚀 Starting GUI...");
         SwingUtilities.invokeLater(() -> createAndShowGUI());
@@ -0,0 +1,288 @@
+import Data.DatabaseManager;
+import Data.DatabaseWriter;
+import Data.ElectionData;
+import Data.SqlAdminManager;
+import Utils.SecurityUtils;
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntPredicate;
+
+/**
+ * Authentication benchmark: throughput and allocation of the password
+ * primitives and of the two login paths, single- and multi-threaded, so
+ * changes to hashing or login come with numbers.
+ *
+ * A plain main() harness like the other Run* tools (this build has no JMH):
+ * every case gets a warm-up, then a timed run on 1 thread and on N threads.
+ * Allocation is what the benchmark threads themselves allocate (ThreadMXBean),
+ * so the background writer is not counted. Console logging of the code under
+ * test is discarded while measuring, but its cost is still included.
+ *
+ * The login paths (ElectionData.validateVoter, SqlAdminManager.validateAdminCredentials)
+ * run in a child JVM per store size, each in its own temporary directory,
+ * because the text stores live in the working directory. Every seeded record
+ * has the same password, hashed once with the current parameters.
+ *
+ * Run: java -cp "out:lib/*" RunAuthBenchmark
+ *   -Dbench.seconds=3   measured seconds per case
+ *   -Dbench.warmup=1    warm-up seconds per case
+ *   -Dbench.sizes=100,1000,10000   seeded voters/admins per store
+ *   -Dbench.threads=4   thread count of the multi-thread runs (default: max(4, cores))
+ */
+public class RunAuthBenchmark {
+    private static final double SECONDS = Double.parseDouble(System.getProperty("bench.seconds", "3"));
+    private static final double WARMUP = Double.parseDouble(System.getProperty("bench.warmup", "1"));
+    private static final String SIZES = System.getProperty("bench.sizes", "100,1000,10000");
+    private static final int THREADS = Integer.getInteger("bench.threads",
+                                                          Math.max(4, Runtime.getRuntime().availableProcessors()));
+
+    private static final String PASSWORD = "Bench#Pass2024";
+    private static final String RESULT = "RESULT|";
+
+    private static final PrintStream OUT = System.out;
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && "--store".equals(args[0])) {
+            runStore(Integer.parseInt(args[1]));
+            System.exit(0);
+        }
+        runAll();
+        System.exit(0);
+    }
+
+    // ==================== DRIVER ====================
+
+    private static void runAll() throws Exception {
+        SecurityUtils.HashParameters params = SecurityUtils.getCurrentParameters();
+        OUT.println("=== Auth benchmark: " + Runtime.getRuntime().availableProcessors() + " cores, hashing "
+                    + params + ", " + WARMUP + "s warm-up + " + SECONDS + "s per case ===");
+        printHeader();
+
+        String salt = SecurityUtils.generateSalt();
+        String stored = SecurityUtils.encodePassword(PASSWORD, salt);
+        String legacyStored = SecurityUtils.hashPassword(PASSWORD, salt);
+
+        List<String> results = new ArrayList<>();
+        results.addAll(measureBoth("hashPassword", "-", i -> SecurityUtils.hashPassword(PASSWORD, salt) != null));
+        results.addAll(measureBoth("hashPasswordLegacy", "-", i -> SecurityUtils.hashPasswordLegacy(PASSWORD, salt) != null));
+        results.addAll(measureBoth("generateSalt", "-", i -> SecurityUtils.generateSalt() != null));
+        results.addAll(measureBoth("validatePassword", "-", i -> SecurityUtils.validatePassword(PASSWORD, legacyStored, salt)));
+        results.addAll(measureBoth("encodePassword", "-", i -> SecurityUtils.encodePassword(PASSWORD, salt) != null));
+        results.addAll(measureBoth("verifyCredential", "-", i -> SecurityUtils.verifyCredential(PASSWORD, stored, salt)));
+
+        for (String size : SIZES.split(",")) {
+            results.addAll(runChild(Integer.parseInt(size.trim()), params));
+        }
+
+        OUT.println();
+        OUT.println("=== Summary ===");
+        printHeader();
+        for (String line : results) {
+            OUT.println(line);
+        }
+    }
+
+    /**
+     * Run the login benchmarks for one store size in a fresh directory and JVM
+     */
+    private static List<String> runChild(int size, SecurityUtils.HashParameters params) throws Exception {
+        File directory = java.nio.file.Files.createTempDirectory("auth-bench-").toFile();
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+
+        List<String> command = new ArrayList<>(Arrays.asList(java, "-cp", absoluteClasspath(),
+            "-Delection.hashAlgorithm=" + params.algorithm, "-Delection.hashCost=" + params.cost,
+            "-Dbench.seconds=" + SECONDS, "-Dbench.warmup=" + WARMUP, "-Dbench.threads=" + THREADS,
+            "RunAuthBenchmark", "--store", String.valueOf(size)));
+
+        Process process = new ProcessBuilder(command).directory(directory).redirectErrorStream(true).start();
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(RESULT)) {
+                    String row = line.substring(RESULT.length());
+                    OUT.println(row);
+                    lines.add(row);
+                } else if (line.startsWith("SEED") || line.contains("Exception")) {
+                    OUT.println("[store " + size + "] " + line);
+                }
+            }
+        }
+        process.waitFor();
+        deleteRecursively(directory);
+        return lines;
+    }
+
+    /**
+     * The child runs in another directory, so relative entries like lib/* must be resolved here
+     */
+    private static String absoluteClasspath() {
+        StringJoiner joined = new StringJoiner(File.pathSeparator);
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            if (entry.endsWith("*")) {
+                joined.add(new File(entry.substring(0, entry.length() - 1)).getAbsolutePath() + File.separator + "*");
+            } else {
+                joined.add(new File(entry).getAbsolutePath());
+            }
+        }
+        return joined.toString();
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) deleteRecursively(child);
+        }
+        file.delete();
+    }
+
+    // ==================== LOGIN PATHS (child) ====================
+
+    private static void runStore(int size) throws Exception {
+        System.setProperty("election.db", new File("bench.db").getAbsolutePath());
+        if (DatabaseManager.getConnection() == null) {
+            OUT.println("SEED failed: no database connection");
+            return;
+        }
+        DatabaseManager.initializeDatabase();
+        SqlAdminManager.initializeAdminSystem();
+
+        String salt = SecurityUtils.generateSalt();
+        String stored = SecurityUtils.encodePassword(PASSWORD, salt);
+        seedVoterFile(size, stored, salt);
+        seedAdmins(size, stored, salt);
+        OUT.println("SEED " + size + " voters in " + ElectionData.VOTER_FILE + ", " + size + " admins in SQL");
+
+        String store = String.valueOf(size);
+        List<String> rows = new ArrayList<>();
+        rows.addAll(measureBoth("ElectionData.validateVoter", store,
+                                i -> ElectionData.validateVoter("BV" + (i % size), PASSWORD)));
+        rows.addAll(measureBoth("SqlAdminManager.validateAdminCredentials", store,
+                                i -> SqlAdminManager.validateAdminCredentials("BA" + (i % size), PASSWORD)));
+        DatabaseWriter.flush();
+
+        for (String row : rows) {
+            OUT.println(RESULT + row);
+        }
+    }
+
+    private static void seedVoterFile(int size, String stored, String salt) throws IOException {
+        try (PrintWriter voters = new PrintWriter(new FileWriter(ElectionData.VOTER_FILE));
+             PrintWriter salts = new PrintWriter(new FileWriter(ElectionData.VOTER_SALT_FILE))) {
+            for (int i = 0; i < size; i++) {
+                voters.println("BV" + i + ":Bench Voter:" + stored);
+                salts.println("BV" + i + ":" + salt);
+            }
+        }
+    }
+
+    private static void seedAdmins(int size, String stored, String salt) throws SQLException {
+        Connection conn = DatabaseManager.getConnection();
+        conn.setAutoCommit(false);
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO admins (admin_id, name, password_hash, salt, role, is_active) VALUES (?, ?, ?, ?, 'ADMIN', 1)")) {
+            for (int i = 0; i < size; i++) {
+                stmt.setString(1, "BA" + i);
+                stmt.setString(2, "Bench Admin");
+                stmt.setString(3, stored);
+                stmt.setString(4, salt);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    // ==================== MEASUREMENT ====================
+
+    private static List<String> measureBoth(String name, String store, IntPredicate op) throws InterruptedException {
+        List<String> rows = new ArrayList<>();
+        rows.add(measure(name, store, 1, op));
+        rows.add(measure(name, store, THREADS, op));
+        return rows;
+    }
+
+    /**
+     * Warm up, then run op on the given number of threads for SECONDS and
+     * report throughput, latency, allocation and failed operations
+     */
+    private static String measure(String name, String store, int threads, IntPredicate op) throws InterruptedException {
+        run(threads, WARMUP, op, new AtomicLong(), new AtomicLong(), new AtomicLong());
+
+        AtomicLong ops = new AtomicLong();
+        AtomicLong failures = new AtomicLong();
+        AtomicLong allocated = new AtomicLong();
+        long elapsed = run(threads, SECONDS, op, ops, failures, allocated);
+
+        double seconds = elapsed / 1e9;
+        long count = Math.max(1, ops.get());
+        String row = String.format("%-42s %7s %4d %11.1f %10.3f %10.1f %10.1f %8d",
+            name, store, threads, ops.get() / seconds, elapsed / 1e6 * threads / count,
+            allocated.get() / 1024.0 / count, allocated.get() / 1048576.0 / seconds, failures.get());
+        OUT.println(row);
+        return row;
+    }
+
+    private static long run(int threads, double seconds, IntPredicate op,
+                            AtomicLong ops, AtomicLong failures, AtomicLong allocated) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        long[] window = new long[2];
+        PrintStream quiet = new PrintStream(OutputStream.nullOutputStream());
+
+        for (int t = 0; t < threads; t++) {
+            int offset = t * 7919;  // spread threads over different records
+            Thread worker = new Thread(() -> {
+                long threadId = Thread.currentThread().getId();
+                try {
+                    start.await();
+                    long before = THREAD_BEAN.getThreadAllocatedBytes(threadId);
+                    long deadline = window[0] + (long) (seconds * 1e9);
+                    int i = offset;
+                    while (System.nanoTime() < deadline) {
+                        try {
+                            if (!op.test(i++)) failures.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            failures.incrementAndGet();
+                        }
+                        ops.incrementAndGet();
+                    }
+                    allocated.addAndGet(THREAD_BEAN.getThreadAllocatedBytes(threadId) - before);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "bench-" + t);
+            worker.start();
+        }
+
+        PrintStream console = System.out;
+        PrintStream consoleErr = System.err;
+        System.setOut(quiet);
+        System.setErr(quiet);
+        try {
+            window[0] = System.nanoTime();
+            start.countDown();
+            done.await();
+            window[1] = System.nanoTime();
+        } finally {
+            System.setOut(console);
+            System.setErr(consoleErr);
+        }
+        return window[1] - window[0];
+    }
+
+    private static void printHeader() {
+        OUT.println(String.format("%-42s %7s %4s %11s %10s %10s %10s %8s",
+            "case", "store", "thr", "ops/s", "ms/op", "KB/op", "MB/s", "failed"));
+    }
+}
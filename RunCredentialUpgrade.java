@@ -0,0 +1,28 @@
+import Data.CredentialUpgrade;
+import Data.DatabaseManager;
+
+/**
+ * Offline credential upgrade: hashes plaintext passwords and tags legacy
+ * hashes with their scheme in the text files and the database.
+ *
+ *   java -cp "out:lib/*" RunCredentialUpgrade            upgrade (backs up the text files first)
+ *   java -cp "out:lib/*" RunCredentialUpgrade --dry-run  only classify and report
+ */
+public class RunCredentialUpgrade {
+    public static void main(String[] args) {
+        boolean dryRun = args.length > 0 && "--dry-run".equals(args[0]);
+
+        System.out.println("==========================================");
+        System.out.println("   CREDENTIAL UPGRADE" + (dryRun ? " (DRY RUN)" : ""));
+        System.out.println("==========================================");
+
+        DatabaseManager.getConnection();
+        CredentialUpgrade.run(dryRun);
+
+        if (!dryRun) {
+            Data.DatabaseWriter.flush();
+        }
+        System.out.println("==========================================");
+        System.exit(0);
+    }
+}
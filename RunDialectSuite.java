@@ -0,0 +1,396 @@
+import Data.DatabaseManager;
+import Data.ElectionScheduler;
+import Data.ResultRow;
+import Data.RetryPolicy;
+import Data.SqlAdminManager;
+import Data.SqlDialect;
+import Data.SqlElectionDataManager;
+import Data.SqlElectionDataManager.UpsertOutcome;
+import Data.SqlElectionDataManager.UpsertResult;
+import Data.SqlElectionDataManager.VoteOutcome;
+import Data.SqlElectionDataManager.VoterRecord;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.sql.*;
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Dialect suite: the same store checks and the same workload run against
+ * every engine behind SqlDialect, each in its own JVM on a fresh database,
+ * with the workload timings printed side by side.
+ *
+ * The workload mirrors an election day: a roster import, ballots from many
+ * sessions through the writer queue, ballots from several connections
+ * writing at once (what a multi-writer engine would allow), and result reads.
+ *
+ * Run: java -cp "out:lib/*" RunDialectSuite          (all dialects, exit code 1 on failure)
+ *      java -cp "out:lib/*" RunDialectSuite h2       (one dialect in this JVM)
+ * The H2 run needs h2-2.x.jar on the classpath and a JDK (it compiles its triggers).
+ */
+public class RunDialectSuite {
+    private static final String[] DIALECTS = { "sqlite", "h2" };
+    private static final int VOTERS = 5000;
+    private static final int SESSION_THREADS = 8;
+    private static final int WRITER_CONNECTIONS = 4;
+    private static final int ROWS_PER_TRANSACTION = 50;
+    private static final int RESULT_READS = 1000;
+
+    private static final String ELECTION = "SUITE";
+    private static final String BENCH_ELECTION = "BENCH";
+    private static final String DIRECT_ELECTION = "BENCH-DIRECT";
+
+    private static int checks = 0;
+    private static int failures = 0;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.exit(runAll() ? 0 : 1);
+        }
+        runSuite(args[0]);
+    }
+
+    // ==================== DRIVER ====================
+
+    /**
+     * Run the suite once per dialect in a child JVM and compare the timings
+     */
+    private static boolean runAll() throws Exception {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        String classpath = System.getProperty("java.class.path");
+        Map<String, Map<String, String>> timings = new LinkedHashMap<>();
+        boolean allPassed = true;
+
+        for (String dialect : DIALECTS) {
+            System.out.println("=== Dialect suite: " + dialect + " ===");
+            Process process = new ProcessBuilder(java, "-cp", classpath, "RunDialectSuite", dialect)
+                .redirectErrorStream(true)
+                .start();
+
+            Map<String, String> dialectTimings = new LinkedHashMap<>();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith("BENCH ")) {
+                        String[] parts = line.split(" ", 3);
+                        dialectTimings.put(parts[2], parts[1]);
+                    }
+                    // Emoji may not survive the child's console encoding, so match the words
+                    if (line.matches("^\\S* ?(PASS|FAIL) .*") || line.contains("Database connection failed")
+                        || line.startsWith("BENCH ") || line.startsWith("Checks:")) {
+                        System.out.println("[" + dialect + "] " + line);
+                    }
+                }
+            }
+            int exit = process.waitFor();
+            if (exit != 0) {
+                System.out.println("❌ " + dialect + " suite failed (exit code " + exit + ")");
+                allPassed = false;
+            }
+            timings.put(dialect, dialectTimings);
+        }
+
+        System.out.println();
+        System.out.println("=== Workload timings (ms) ===");
+        Set<String> workloads = new LinkedHashSet<>();
+        for (Map<String, String> dialectTimings : timings.values()) {
+            workloads.addAll(dialectTimings.keySet());
+        }
+        StringBuilder header = new StringBuilder(String.format("%-48s", "workload"));
+        for (String dialect : timings.keySet()) {
+            header.append(String.format("%10s", dialect));
+        }
+        System.out.println(header);
+        for (String workload : workloads) {
+            StringBuilder row = new StringBuilder(String.format("%-48s", workload));
+            for (Map<String, String> dialectTimings : timings.values()) {
+                row.append(String.format("%10s", dialectTimings.getOrDefault(workload, "-")));
+            }
+            System.out.println(row);
+        }
+
+        System.out.println(allPassed ? "=== Dialect suite passed ===" : "=== Dialect suite FAILED ===");
+        return allPassed;
+    }
+
+    // ==================== SUITE ====================
+
+    private static void runSuite(String dialect) throws Exception {
+        File fixture = File.createTempFile("dialect-suite-", ".db");
+        String base = fixture.getPath().substring(0, fixture.getPath().length() - 3);
+        for (String suffix : new String[]{ ".db", ".db-wal", ".db-shm", ".mv.db", ".trace.db" }) {
+            new File(base + suffix).deleteOnExit();
+        }
+        fixture.delete();
+        System.setProperty("election.db", fixture.getPath());
+        System.setProperty("election.dialect", dialect);
+
+        if (DatabaseManager.getConnection() == null) {
+            System.out.println("❌ Database connection failed. Check the JDBC driver for " + dialect + ".");
+            System.exit(1);
+        }
+        SqlDialect sql = DatabaseManager.getDialect();
+        check("dialect selected", sql.getName().equals(dialect), sql.getName());
+
+        DatabaseManager.initializeDatabase();
+        SqlAdminManager.initializeAdminSystem();
+        ElectionScheduler.initializeTable();
+
+        checkSchema(sql);
+        checkVoterUpsert();
+        checkAdmins();
+        checkBallots();
+        checkSchedule();
+        checkMaintenance();
+
+        benchmark(fixture.getPath());
+
+        System.out.println("Checks: " + checks + ", failures: " + failures);
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    private static void checkSchema(SqlDialect sql) throws SQLException {
+        Connection conn = DatabaseManager.getConnection();
+        check("schema: all tables created", DatabaseManager.verifyTables(), null);
+        check("schema: table introspection",
+              sql.tableExists(conn, "tallies") && !sql.tableExists(conn, "no_such_table"), null);
+        Set<String> columns = sql.getColumns(conn, "voters");
+        check("schema: column introspection",
+              columns.contains("image_path") && columns.contains("has_voted"), columns.toString());
+    }
+
+    private static void checkVoterUpsert() {
+        List<VoterRecord> roster = Arrays.asList(
+            new VoterRecord("DS-1", "Ada Lovelace", "ada@example.com", null),
+            new VoterRecord("DS-2", "Alan Turing", null, null),
+            new VoterRecord("DS-3", "Grace Hopper", null, null),
+            new VoterRecord("not valid!", "Nobody", null, null));
+
+        List<UpsertResult> first = SqlElectionDataManager.upsertVoters(roster);
+        check("upsert: new voters inserted", outcomes(first).equals(Arrays.asList(
+            UpsertOutcome.INSERTED, UpsertOutcome.INSERTED, UpsertOutcome.INSERTED, UpsertOutcome.INVALID)),
+            outcomes(first).toString());
+
+        List<UpsertResult> again = SqlElectionDataManager.upsertVoters(roster.subList(0, 3));
+        check("upsert: unchanged rows skipped", outcomes(again).equals(Collections.nCopies(3, UpsertOutcome.UNCHANGED)),
+              outcomes(again).toString());
+
+        List<UpsertResult> renamed = SqlElectionDataManager.upsertVoters(
+            Collections.singletonList(new VoterRecord("DS-2", "Alan M Turing", null, null)));
+        check("upsert: changed row updated", outcomes(renamed).equals(Collections.singletonList(UpsertOutcome.UPDATED)),
+              outcomes(renamed).toString());
+        check("upsert: new name stored", "Alan M Turing".equals(SqlElectionDataManager.getVoterName("DS-2")),
+              SqlElectionDataManager.getVoterName("DS-2"));
+
+        check("paging: first page", SqlElectionDataManager.getVotersPage(null, 2).getItems().size() == 2
+              && SqlElectionDataManager.getVotersPage(null, 2).hasMore(), null);
+    }
+
+    private static void checkAdmins() {
+        boolean added = SqlAdminManager.addAdmin("suiteadmin", "Suite Admin", "Suite#Pass2024", "ADMIN");
+        check("admins: add", added, null);
+        check("admins: valid login", SqlAdminManager.validateAdminCredentials("suiteadmin", "Suite#Pass2024"), null);
+        check("admins: wrong password rejected", !SqlAdminManager.validateAdminCredentials("suiteadmin", "wrong-password"), null);
+    }
+
+    private static void checkBallots() {
+        SqlElectionDataManager.addNominee("DSN1", "Blue Candidate", "Blue", ELECTION);
+        SqlElectionDataManager.addNominee("DSN2", "Green Candidate", "Green", ELECTION);
+
+        expect("ballot: recorded", SqlElectionDataManager.castBallot("DS-1", "DSN1", ELECTION), VoteOutcome.RECORDED);
+        expect("ballot: second ballot rejected", SqlElectionDataManager.castBallot("DS-1", "DSN2", ELECTION), VoteOutcome.ALREADY_VOTED);
+        expect("ballot: unknown voter rejected", SqlElectionDataManager.castBallot("DS-404", "DSN1", ELECTION), VoteOutcome.UNKNOWN_VOTER);
+        expect("ballot: unknown nominee rejected", SqlElectionDataManager.castBallot("DS-2", "NOPE", ELECTION), VoteOutcome.UNKNOWN_NOMINEE);
+        expect("ballot: token recorded", SqlElectionDataManager.castBallot("DS-2", "DSN2", ELECTION, "suite-token"), VoteOutcome.RECORDED);
+        expect("ballot: token replay applied once", SqlElectionDataManager.castBallot("DS-2", "DSN2", ELECTION, "suite-token"), VoteOutcome.RECORDED);
+
+        check("ballot: voted flag", SqlElectionDataManager.hasVoterVoted("DS-1", ELECTION)
+              && !SqlElectionDataManager.hasVoterVoted("DS-3", ELECTION), null);
+        check("ballot: voting history", SqlElectionDataManager.getVotingHistory("DS-1").contains(ELECTION),
+              SqlElectionDataManager.getVotingHistory("DS-1").toString());
+
+        List<ResultRow> results = SqlElectionDataManager.getResults(ELECTION);
+        boolean tied = results.size() == 2 && results.get(0).getRank() == 1 && results.get(1).getRank() == 1
+                       && Math.abs(results.get(0).getPercentage() - 50.0) < 0.01;
+        check("results: tallies ranked", tied, describe(results));
+        check("results: total votes", SqlElectionDataManager.getTotalVotesCast(ELECTION) == 2,
+              String.valueOf(SqlElectionDataManager.getTotalVotesCast(ELECTION)));
+    }
+
+    private static void checkSchedule() {
+        long now = System.currentTimeMillis();
+        boolean set = ElectionScheduler.setElectionSchedule(ELECTION, new java.util.Date(now - 3_600_000L),
+                                                            new java.util.Date(now + 3_600_000L), true);
+        boolean moved = ElectionScheduler.setElectionSchedule(ELECTION, new java.util.Date(now - 7_200_000L),
+                                                              new java.util.Date(now + 7_200_000L), true);
+        check("schedule: insert then update", set && moved, null);
+        check("schedule: open elections", ElectionScheduler.getElectionsOpenAt(new java.util.Date(now)).contains(ELECTION),
+              ElectionScheduler.getElectionsOpenAt(new java.util.Date(now)).toString());
+    }
+
+    private static void checkMaintenance() {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        String old = format.format(new java.util.Date(System.currentTimeMillis() - 60L * 24 * 3_600_000L));
+        DatabaseManager.executeUpdate("INSERT INTO audit_logs (admin_id, action, details, timestamp) VALUES (?, ?, ?, ?)",
+                                      "system", "SUITE", "old entry", old);
+        DatabaseManager.executeUpdate("INSERT INTO audit_logs (admin_id, action, details) VALUES (?, ?, ?)",
+                                      "system", "SUITE", "recent entry");
+        int removed = SqlAdminManager.cleanupOldAuditLogs(30);
+        check("maintenance: old audit rows removed", removed == 1, removed + " removed");
+
+        check("maintenance: clear votes", SqlElectionDataManager.clearVotes()
+              && SqlElectionDataManager.getTotalVotesCast(ELECTION) == 0
+              && SqlElectionDataManager.getResults(ELECTION).isEmpty(), null);
+    }
+
+    // ==================== WORKLOAD ====================
+
+    private static void benchmark(String databasePath) throws Exception {
+        List<VoterRecord> roster = new ArrayList<>(VOTERS);
+        for (int i = 0; i < VOTERS; i++) {
+            roster.add(new VoterRecord("BV-" + i, "Bench Voter " + letters(i), null, null));
+        }
+        long start = System.nanoTime();
+        List<UpsertResult> imported = SqlElectionDataManager.upsertVoters(roster);
+        bench("roster import, " + VOTERS + " voters", start);
+        check("workload: roster imported", imported.stream().allMatch(r -> r.outcome == UpsertOutcome.INSERTED), null);
+
+        for (int n = 1; n <= 4; n++) {
+            SqlElectionDataManager.addNominee("BN" + n, "Bench Nominee " + letters(n), "Party", BENCH_ELECTION);
+            SqlElectionDataManager.addNominee("DN" + n, "Direct Nominee " + letters(n), "Party", DIRECT_ELECTION);
+        }
+
+        // Ballots from many sessions, all funnelled through the writer queue
+        ExecutorService sessions = Executors.newFixedThreadPool(SESSION_THREADS);
+        List<Future<VoteOutcome>> ballots = new ArrayList<>();
+        start = System.nanoTime();
+        for (int i = 0; i < VOTERS; i++) {
+            String voterId = "BV-" + i;
+            String nomineeId = "BN" + (1 + i % 4);
+            ballots.add(sessions.submit(() -> SqlElectionDataManager.castBallot(voterId, nomineeId, BENCH_ELECTION)));
+        }
+        int recorded = 0;
+        for (Future<VoteOutcome> ballot : ballots) {
+            if (ballot.get() == VoteOutcome.RECORDED) recorded++;
+        }
+        bench("ballots via writer queue, " + SESSION_THREADS + " sessions", start);
+        sessions.shutdown();
+        check("workload: queued ballots recorded", recorded == VOTERS, recorded + " recorded");
+
+        // Ballots from several connections writing at once
+        long retriesBefore = RetryPolicy.getRetries();
+        ExecutorService writers = Executors.newFixedThreadPool(WRITER_CONNECTIONS);
+        List<Future<Integer>> slices = new ArrayList<>();
+        start = System.nanoTime();
+        for (int w = 0; w < WRITER_CONNECTIONS; w++) {
+            int slice = w;
+            slices.add(writers.submit(() -> insertSlice(databasePath, slice)));
+        }
+        int inserted = 0;
+        for (Future<Integer> slice : slices) {
+            inserted += slice.get();
+        }
+        bench("ballots via " + WRITER_CONNECTIONS + " concurrent connections", start);
+        writers.shutdown();
+        System.out.println("BENCH " + (RetryPolicy.getRetries() - retriesBefore) + " lock retries, concurrent connections");
+        check("workload: concurrent ballots recorded", inserted == VOTERS
+              && SqlElectionDataManager.getTotalVotesCast(DIRECT_ELECTION) == VOTERS, inserted + " inserted");
+
+        start = System.nanoTime();
+        for (int i = 0; i < RESULT_READS; i++) {
+            SqlElectionDataManager.getResults(BENCH_ELECTION);
+        }
+        bench("result reads, " + RESULT_READS + "x", start);
+    }
+
+    /**
+     * One writer's share of the direct ballots, in short transactions on its own connection
+     */
+    private static int insertSlice(String databasePath, int slice) throws SQLException {
+        SqlDialect sql = DatabaseManager.getDialect();
+        int inserted = 0;
+        try (Connection conn = DriverManager.getConnection(sql.getJdbcUrl(databasePath))) {
+            sql.configureConnection(conn);
+            conn.setAutoCommit(false);
+
+            List<Integer> pending = new ArrayList<>();
+            for (int i = slice; i < VOTERS; i += WRITER_CONNECTIONS) {
+                pending.add(i);
+                if (pending.size() == ROWS_PER_TRANSACTION || i + WRITER_CONNECTIONS >= VOTERS) {
+                    List<Integer> batch = new ArrayList<>(pending);
+                    inserted += RetryPolicy.execute(() -> insertBatch(conn, batch));
+                    pending.clear();
+                }
+            }
+        }
+        return inserted;
+    }
+
+    private static int insertBatch(Connection conn, List<Integer> voters) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO votes (voter_id, nominee_id, election_id) VALUES (?, ?, ?)")) {
+            for (int i : voters) {
+                stmt.setString(1, "BV-" + i);
+                stmt.setString(2, "DN" + (1 + i % 4));
+                stmt.setString(3, DIRECT_ELECTION);
+                stmt.executeUpdate();
+            }
+            conn.commit();
+            return voters.size();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        }
+    }
+
+    // ==================== HELPERS ====================
+
+    private static void check(String name, boolean ok, String detail) {
+        checks++;
+        if (ok) {
+            System.out.println("✅ PASS " + name);
+        } else {
+            failures++;
+            System.out.println("❌ FAIL " + name + (detail != null ? " (" + detail + ")" : ""));
+        }
+    }
+
+    private static void expect(String name, VoteOutcome actual, VoteOutcome expected) {
+        check(name, actual == expected, String.valueOf(actual));
+    }
+
+    private static void bench(String workload, long startNanos) {
+        System.out.println("BENCH " + (System.nanoTime() - startNanos) / 1_000_000 + " " + workload);
+    }
+
+    private static List<UpsertOutcome> outcomes(List<UpsertResult> results) {
+        List<UpsertOutcome> outcomes = new ArrayList<>();
+        for (UpsertResult result : results) {
+            outcomes.add(result.outcome);
+        }
+        return outcomes;
+    }
+
+    private static String describe(List<ResultRow> rows) {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (ResultRow row : rows) {
+            joiner.add(row.getRank() + ":" + row.getNomineeId() + "=" + row.getVotes());
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Voter names may only hold letters, so numbers are spelled a-z
+     */
+    private static String letters(int n) {
+        StringBuilder sb = new StringBuilder();
+        do {
+            sb.append((char) ('a' + n % 26));
+            n /= 26;
+        } while (n > 0);
+        return sb.toString();
+    }
+}
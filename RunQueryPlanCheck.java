@@ -0,0 +1,265 @@
+import Data.AdminSessionCache;
+import Data.DatabaseManager;
+import Data.DatabaseWriter;
+import Data.ElectionScheduler;
+import Data.LoginLockout;
+import Data.SqlAdminManager;
+import Data.SqlElectionDataManager;
+import Data.VoterIdFilter;
+import Utils.AuditLogger;
+import java.io.File;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Query-plan regression check.
+ * Builds a populated fixture database, runs EXPLAIN QUERY PLAN over the SQL
+ * constants of SqlAdminManager, LoginLockout, VoterIdFilter,
+ * SqlElectionDataManager, ElectionScheduler and AuditLogger, and fails if a
+ * hot-path statement falls back to a table scan.
+ * Cold statements (full listings, migrations, maintenance) are printed only.
+ *
+ * Run: java -cp "out:lib/*" RunQueryPlanCheck   (exit code 1 on failure)
+ */
+public class RunQueryPlanCheck {
+
+    private static class Check {
+        final String source;
+        final String sql;
+        final boolean hot;
+        final boolean windowScans;
+
+        Check(String source, String sql, boolean hot, boolean windowScans) {
+            this.source = source;
+            this.sql = sql;
+            this.hot = hot;
+            this.windowScans = windowScans;
+        }
+    }
+
+    private static final List<Check> CHECKS = new ArrayList<>();
+
+    private static void hot(String source, String sql) { CHECKS.add(new Check(source, sql, true, false)); }
+    private static void cold(String source, String sql) { CHECKS.add(new Check(source, sql, false, false)); }
+
+    /**
+     * Hot statement with window functions: SQLite plans each window as a
+     * SCAN (subquery-N) over the rows the query already selected, which is
+     * accepted for this statement only
+     */
+    private static void hotWindowed(String source, String sql) { CHECKS.add(new Check(source, sql, true, true)); }
+
+    /**
+     * Register the statements to plan. Called once the fixture database is
+     * configured, since some of the SQL depends on the dialect.
+     */
+    private static void registerChecks() {
+        // ---------- SqlAdminManager ----------
+        hot("SqlAdminManager.loadAccountState", SqlAdminManager.ACCOUNT_STATE_SQL);
+        hot("SqlAdminManager.addSuccessfulLogin", SqlAdminManager.successfulLoginSql(true, true));
+        hot("SqlAdminManager.addLoginAttempt", SqlAdminManager.LOGIN_ATTEMPT_SQL);
+        hot("SqlAdminManager.getAdminById", SqlAdminManager.ADMIN_BY_ID_SQL);
+        hot("SqlAdminManager.adminExists", SqlAdminManager.ADMIN_EXISTS_SQL);
+        hot("SqlAdminManager.deleteAdmin", SqlAdminManager.DEACTIVATE_ADMIN_SQL);
+        hot("SqlAdminManager.updatePasswordHash", SqlAdminManager.UPDATE_PASSWORD_HASH_SQL);
+        hot("SqlAdminManager.logAdminAction", SqlAdminManager.AUDIT_ENTRY_SQL);
+        hot("SqlAdminManager.reassignAdminRoleBySuper", SqlAdminManager.REASSIGN_ROLE_SQL);
+        hot("SqlAdminManager.changeAdminPasswordBySuper", SqlAdminManager.RESET_ADMIN_PASSWORD_SQL);
+        hot("SqlAdminManager.getAdminsPage", SqlAdminManager.adminsPageSql(false, true));
+        hot("SqlAdminManager.getAdminsPage(no created_at)", SqlAdminManager.adminsPageSql(true, true));
+        hot("SqlAdminManager.getAdminAuditTrail", SqlAdminManager.ADMIN_AUDIT_TRAIL_SQL);
+        hot("SqlAdminManager.getAllAuditLogs", SqlAdminManager.RECENT_AUDIT_LOGS_SQL);
+        hot("SqlAdminManager.getAuditLogsPage", SqlAdminManager.auditLogsPageSql(false, true));
+        hot("SqlAdminManager.getAuditLogsPage(admin)", SqlAdminManager.auditLogsPageSql(true, true));
+        hot("SqlAdminManager.cleanupOldAuditLogs", SqlAdminManager.PURGE_OLD_AUDIT_LOGS_SQL);
+        hot("SqlAdminManager.createSession", SqlAdminManager.CREATE_SESSION_SQL);
+        hot("SqlAdminManager.loadSession", SqlAdminManager.LOAD_SESSION_SQL);
+        hot("SqlAdminManager.deleteSession", SqlAdminManager.DELETE_SESSION_SQL);
+        hot("SqlAdminManager.cleanupExpiredSessions", SqlAdminManager.PURGE_EXPIRED_SESSIONS_SQL);
+        cold("SqlAdminManager.getAllAdmins", SqlAdminManager.ACTIVE_ADMINS_SQL);
+        cold("SqlAdminManager.getAllAdmins(super)", SqlAdminManager.ALL_ADMINS_SQL);
+        cold("SqlAdminManager.countAdmins", SqlAdminManager.COUNT_ACTIVE_ADMINS_SQL);
+        cold("SqlAdminManager.ensureDefaultSuperAdmin", SqlAdminManager.COUNT_ADMINS_BY_ROLE_SQL);
+        cold("SqlAdminManager.debugCheckAdminsTable", SqlAdminManager.DEBUG_ADMINS_SQL);
+
+        // ---------- AdminSessionCache ----------
+        hot("AdminSessionCache.flush", AdminSessionCache.ACTIVITY_UPDATE_SQL);
+
+        // ---------- LoginLockout ----------
+        hot("LoginLockout.flushAdmins", LoginLockout.LOCKOUT_UPDATE_SQL);
+        cold("LoginLockout.loadAdmins", LoginLockout.LOCKED_ADMINS_SQL);
+
+        // ---------- VoterIdFilter ----------
+        cold("VoterIdFilter.readDatabaseIds", VoterIdFilter.ALL_VOTER_IDS_SQL);
+
+        // ---------- SqlElectionDataManager ----------
+        hot("SqlElectionDataManager.voterIdExists", SqlElectionDataManager.VOTER_EXISTS_SQL);
+        hot("SqlElectionDataManager.registerVoter", SqlElectionDataManager.REGISTER_VOTER_SQL);
+        hot("SqlElectionDataManager.isVoterRegistered", SqlElectionDataManager.VOTER_REGISTERED_SQL);
+        hot("SqlElectionDataManager.validateVoterCredentials", SqlElectionDataManager.VOTER_CREDENTIALS_SQL);
+        hot("SqlElectionDataManager.validateVoterCredentials(rehash)", SqlElectionDataManager.VOTER_REHASH_SQL);
+        hot("SqlElectionDataManager.updateVoterLastLogin", SqlElectionDataManager.VOTER_LAST_LOGIN_SQL);
+        hot("SqlElectionDataManager.getVoterName", SqlElectionDataManager.VOTER_NAME_SQL);
+        hot("SqlElectionDataManager.getVotersPage", SqlElectionDataManager.NEXT_VOTERS_PAGE_SQL);
+        hot("SqlElectionDataManager.hasVoterVoted", SqlElectionDataManager.VOTER_HAS_VOTED_SQL);
+        hot("SqlElectionDataManager.hasVoterVoted(election)", SqlElectionDataManager.VOTED_IN_ELECTION_SQL);
+        hot("SqlElectionDataManager.isEligibleToVote", SqlElectionDataManager.ELIGIBLE_TO_VOTE_SQL);
+        hot("SqlElectionDataManager.existingVoterIds", SqlElectionDataManager.EXISTING_VOTER_IDS_SQL);
+        hot("SqlElectionDataManager.existingVoterIds(last chunk)", SqlElectionDataManager.existingVoterIdsSql(3));
+        hot("SqlElectionDataManager.applyUpsertChunk", SqlElectionDataManager.VOTER_UPSERT_SQL);
+        hot("SqlElectionDataManager.updateVoterProfile", SqlElectionDataManager.UPDATE_VOTER_PROFILE_SQL);
+        hot("SqlElectionDataManager.getVoterInfo", SqlElectionDataManager.VOTER_INFO_SQL);
+        hot("SqlElectionDataManager.getVoterEmail", SqlElectionDataManager.VOTER_EMAIL_SQL);
+        hot("SqlElectionDataManager.getVoterImagePath", SqlElectionDataManager.VOTER_IMAGE_PATH_SQL);
+        hot("SqlElectionDataManager.deleteVoter", SqlElectionDataManager.DELETE_VOTER_SQL);
+        hot("SqlElectionDataManager.addNominee", SqlElectionDataManager.ADD_NOMINEE_SQL);
+        hot("SqlElectionDataManager.deleteNominee", SqlElectionDataManager.DEACTIVATE_NOMINEE_SQL);
+        hot("SqlElectionDataManager.nomineeExists", SqlElectionDataManager.NOMINEE_EXISTS_SQL);
+        hot("SqlElectionDataManager.getNomineesForElection", SqlElectionDataManager.ELECTION_NOMINEES_SQL);
+        hot("SqlElectionDataManager.castBallot", SqlElectionDataManager.CAST_BALLOT_SQL);
+        hot("SqlElectionDataManager.getVotingHistory", SqlElectionDataManager.VOTING_HISTORY_SQL);
+        hot("DatabaseWriter.claimToken", DatabaseWriter.CLAIM_TOKEN_SQL);
+        hot("SqlElectionDataManager.readVoteCounts(election)", SqlElectionDataManager.ELECTION_VOTE_COUNTS_SQL);
+        hot("SqlElectionDataManager.readTotalVotesCast(election)", SqlElectionDataManager.ELECTION_TOTAL_VOTES_CAST_SQL);
+        hotWindowed("SqlElectionDataManager.readResults(election)", SqlElectionDataManager.ELECTION_RESULTS_SQL);
+        hot("SqlElectionDataManager.readTotalRegisteredVoters", SqlElectionDataManager.TOTAL_REGISTERED_VOTERS_SQL);
+        // All-elections tallies read one row per (election, nominee); bounded by nominees, not votes
+        cold("SqlElectionDataManager.readVoteCounts", SqlElectionDataManager.VOTE_COUNTS_SQL);
+        cold("SqlElectionDataManager.readResults", SqlElectionDataManager.RESULTS_SQL);
+        cold("SqlElectionDataManager.readTotalVotesCast", SqlElectionDataManager.TOTAL_VOTES_CAST_SQL);
+        cold("SqlElectionDataManager.getAllVoters", SqlElectionDataManager.ALL_VOTERS_SQL);
+        cold("SqlElectionDataManager.getAllNominees", SqlElectionDataManager.ALL_NOMINEES_SQL);
+        cold("SqlElectionDataManager.getResults(shards)", SqlElectionDataManager.NOMINEE_CATALOG_SQL);
+        cold("SqlElectionDataManager.clearVotes", SqlElectionDataManager.CLEAR_VOTES_SQL);
+        cold("SqlElectionDataManager.clearVotes", SqlElectionDataManager.RESET_VOTED_FLAGS_SQL);
+        cold("SqlElectionDataManager.verifyTallies", SqlElectionDataManager.VERIFY_TALLIES_SQL);
+        cold("SqlElectionDataManager.rebuildTallies", SqlElectionDataManager.REBUILD_TALLIES_SQL);
+        cold("SqlElectionDataManager.voteExists", SqlElectionDataManager.VOTE_EXISTS_SQL);
+        cold("SqlElectionDataManager.updateVoterVotedStatus", SqlElectionDataManager.MARK_VOTED_SQL);
+
+        // ---------- ElectionScheduler ----------
+        hot("ElectionScheduler.upsert", ElectionScheduler.UPSERT_SQL);
+        hot("ElectionScheduler.setElectionActive", ElectionScheduler.SET_ACTIVE_SQL);
+        hot("ElectionScheduler.deleteElection", ElectionScheduler.DELETE_ELECTION_SQL);
+        // Whole schedule is loaded into the in-memory timeline; status checks never query
+        cold("ElectionScheduler.loadFromDatabase", ElectionScheduler.LOAD_SCHEDULE_SQL);
+
+        // ---------- AuditLogger ----------
+        hot("AuditLogger.log", AuditLogger.LOG_SQL);
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Query plan check ===");
+
+        File fixture = File.createTempFile("plan-check-", ".db");
+        fixture.deleteOnExit();
+        new File(fixture.getPath() + "-wal").deleteOnExit();
+        new File(fixture.getPath() + "-shm").deleteOnExit();
+        System.setProperty("election.db", fixture.getPath());
+        System.setProperty("election.dialect", "sqlite");  // the plans below are SQLite's
+
+        if (DatabaseManager.getConnection() == null) {
+            System.out.println("❌ Database connection failed. Check JDBC driver and permissions.");
+            System.exit(1);
+        }
+        DatabaseManager.initializeDatabase();
+        SqlAdminManager.initializeAdminSystem();
+        ElectionScheduler.initializeTable();
+        registerChecks();
+
+        Connection conn = DatabaseManager.getConnection();
+        populate(conn);
+
+        int failures = 0, skipped = 0, scans = 0;
+        for (Check check : CHECKS) {
+            List<String> plan;
+            try {
+                plan = explain(conn, check.sql);
+            } catch (SQLException e) {
+                if (e.getMessage() != null && e.getMessage().contains("no such table")) {
+                    System.out.println("⏭️  SKIP " + check.source + " (" + e.getMessage() + ")");
+                    skipped++;
+                    continue;
+                }
+                System.out.println("❌ FAIL " + check.source + " could not be planned: " + e.getMessage());
+                failures++;
+                continue;
+            }
+
+            boolean scan = plan.stream().anyMatch(detail -> isTableScan(detail, check));
+            if (scan && check.hot) {
+                System.out.println("❌ FAIL " + check.source + " " + plan);
+                System.out.println("        " + check.sql);
+                failures++;
+            } else if (scan) {
+                System.out.println("ℹ️  SCAN " + check.source + " (cold) " + plan);
+                scans++;
+            } else {
+                System.out.println("✅ OK   " + check.source + " " + plan);
+            }
+        }
+
+        System.out.println();
+        System.out.println("Statements: " + CHECKS.size() + ", failures: " + failures
+                           + ", skipped: " + skipped + ", cold scans: " + scans);
+        System.out.println(failures == 0 ? "=== Query plan check passed ===" : "=== Query plan check FAILED ===");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * A SCAN is a full pass over a table or index. Walking an index in order
+     * under a LIMIT stops early, so that is accepted.
+     */
+    private static boolean isTableScan(String detail, Check check) {
+        if (!detail.startsWith("SCAN ") || detail.startsWith("SCAN CONSTANT ROW")) {
+            return false;
+        }
+        if (check.windowScans && detail.startsWith("SCAN (subquery-")) {
+            return false;
+        }
+        boolean orderedIndexWalk = detail.contains(" USING INDEX ") || detail.contains(" USING COVERING INDEX ");
+        return !(orderedIndexWalk && check.sql.contains(" LIMIT "));
+    }
+
+    private static List<String> explain(Connection conn, String sql) throws SQLException {
+        List<String> plan = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                plan.add(rs.getString("detail"));
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Fill the fixture with enough rows that the planner's choices are realistic
+     */
+    private static void populate(Connection conn) throws SQLException {
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("WITH RECURSIVE n(i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM n WHERE i < 5000) " +
+                         "INSERT INTO voters (voter_id, name, email, is_registered, has_voted) " +
+                         "SELECT printf('V%05d', i), 'Voter ' || i, 'v' || i || '@example.com', i % 3 <> 0, 0 FROM n");
+            stmt.execute("WITH RECURSIVE n(i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM n WHERE i < 20) " +
+                         "INSERT INTO nominees (nominee_id, name, party, election_id, is_active) " +
+                         "SELECT printf('N%02d', i), 'Nominee ' || i, 'Party ' || (i % 4), " +
+                         "CASE WHEN i <= 10 THEN 'DEFAULT' ELSE 'E2' END, 1 FROM n");
+            stmt.execute("INSERT INTO votes (voter_id, nominee_id, election_id) " +
+                         "SELECT voter_id, printf('N%02d', 1 + (rowid % 10)), 'DEFAULT' FROM voters WHERE is_registered = 1");
+            stmt.execute("WITH RECURSIVE n(i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM n WHERE i < 3000) " +
+                         "INSERT INTO audit_logs (admin_id, action, details, timestamp) " +
+                         "SELECT 'admin' || (i % 5), 'ACTION', 'fixture', datetime('now', '-' || i || ' minutes') FROM n");
+            stmt.execute("WITH RECURSIVE n(i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM n WHERE i < 500) " +
+                         "INSERT INTO admin_sessions (session_id, admin_id, ip_address, expires_at) " +
+                         "SELECT 'S' || i, 'admin' || (i % 5), '127.0.0.1', datetime('now', (i - 250) || ' minutes') FROM n");
+            stmt.execute("WITH RECURSIVE n(i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM n WHERE i < 2000) " +
+                         "INSERT INTO login_attempts (admin_id, ip_address, success, attempt_time) " +
+                         "SELECT 'admin' || (i % 5), '127.0.0.1', i % 2, datetime('now', '-' || i || ' minutes') FROM n");
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+}
@@ -1,35 +1,23 @@
 package Utils;
 
-import Data.DatabaseManager;
+import Data.DatabaseWriter;
 import java.net.InetAddress;
-import java.sql.*;
 
 public class AuditLogger {
     private static final String LOG_TABLE = "audit_logs";
     
+    public static final String LOG_SQL = "INSERT INTO " + LOG_TABLE + " " +
+                                         "(admin_id, action, details, ip_address) " +
+                                         "VALUES (?, ?, ?, ?)";
+    
     public static void log(String userId, String action, String details) {
-        // Database might not be available - use file-based logging instead
-        Connection conn = DatabaseManager.getConnection();
-        if (conn == null) {
-            System.out.println("📝 [AUDIT LOG] User: " + userId + ", Action: " + action + ", Details: " + details);
-            return;
-        }
-        
-        String sql = "INSERT INTO " + LOG_TABLE + " " +
-                    "(user_id, action, details, ip_address) " +
-                    "VALUES (?, ?, ?, ?)";
-        
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setString(1, userId);
-            pstmt.setString(2, action);
-            pstmt.setString(3, details);
-            pstmt.setString(4, getClientIP());
-            
-            pstmt.executeUpdate();
-        } catch (SQLException e) {
-            System.out.println("⚠️ Error logging to database: " + e.getMessage());
-        }
+        // Queued on the single database writer; fall back to console if it cannot be stored
+        DatabaseWriter.submit(LOG_SQL, userId, action, details, getClientIP()).whenComplete((count, error) -> {
+            if (error != null) {
+                System.out.println("⚠️ Error logging to database: " + error.getMessage());
+                System.out.println("📝 [AUDIT LOG] User: " + userId + ", Action: " + action + ", Details: " + details);
+            }
+        });
     }
     
     public static void logAdminAction(String adminId, String action, String details) {
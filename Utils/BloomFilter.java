@@ -0,0 +1,113 @@
+package Utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over strings: a fixed bit array and k hash positions per value.
+ * mightContain() is never false for a value that was added, and true for
+ * other values only with about the configured false-positive rate (as long
+ * as no more than the expected number of values is added).
+ *
+ * Positions come from one 64-bit hash split in two (h1 + i * h2), so a lookup
+ * costs a single pass over the string plus k bit tests. Adding is safe from
+ * several threads; there is no removal, build a new filter instead.
+ */
+public class BloomFilter {
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final int expectedItems;
+    private final AtomicInteger added = new AtomicInteger();
+
+    /**
+     * Size the filter for the given number of values and false-positive rate
+     */
+    public BloomFilter(int expectedItems, double falsePositiveRate) {
+        this.expectedItems = Math.max(1, expectedItems);
+        double rate = Math.min(0.5, Math.max(1e-9, falsePositiveRate));
+
+        long bits = (long) Math.ceil(-this.expectedItems * Math.log(rate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.max(1, (bits + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = wordCount * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / this.expectedItems * Math.log(2)));
+    }
+
+    public void add(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+        added.incrementAndGet();
+    }
+
+    /**
+     * False means definitely not added; true means probably added
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * FNV-1a over the characters, finished with the MurmurHash3 mixer so both
+     * halves of the result are well spread
+     */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    // ==================== SIZE ====================
+
+    public int getAddedCount() { return added.get(); }
+    public int getExpectedItems() { return expectedItems; }
+    public long getBitCount() { return bitCount; }
+    public int getHashCount() { return hashCount; }
+
+    /**
+     * True once more values were added than the filter was sized for
+     */
+    public boolean isSaturated() {
+        return added.get() > expectedItems;
+    }
+
+    /**
+     * False-positive rate for the values added so far
+     */
+    public double getExpectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashCount * added.get() / bitCount), hashCount);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d/%d items, %d KB, k=%d, fpp=%.4f", getAddedCount(), expectedItems,
+                             bitCount / 8192, hashCount, getExpectedFalsePositiveRate());
+    }
+}
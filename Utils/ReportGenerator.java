@@ -1,16 +1,17 @@
 package Utils;
 
 import Data.ElectionData;
+import Data.ResultRow;
 import javax.swing.*;
 import java.io.FileWriter;
 import java.io.PrintWriter;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.Map;
+import java.util.List;
 
 /**
  * Lightweight report generator fallback when external PDF/Excel libs are unavailable.
- * Produces a plain text report summarizing vote counts.
+ * Produces a plain text report of the ranked results.
  */
 public class ReportGenerator {
 
@@ -20,7 +21,7 @@ public class ReportGenerator {
             out.println("Generated: " + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()));
             out.println();
 
-            Map<String, Integer> voteCounts = ElectionData.getVoteCounts();
+            List<ResultRow> results = ElectionData.getResults();
             int totalVotes = ElectionData.getTotalVotesCast();
             int totalVoters = ElectionData.getTotalRegisteredVoters();
 
@@ -28,12 +29,11 @@ public class ReportGenerator {
             out.println("Total Votes Cast: " + totalVotes);
             out.println();
 
-            out.printf("%-30s %-10s %-10s\n", "Candidate", "Votes", "Percent");
-            out.println("---------------------------------------------------------");
-            for (Map.Entry<String, Integer> e : voteCounts.entrySet()) {
-                int v = e.getValue();
-                double pct = totalVotes > 0 ? (v * 100.0 / totalVotes) : 0.0;
-                out.printf("%-30s %-10d %-9.2f%%\n", e.getKey(), v, pct);
+            out.printf("%-5s %-30s %-10s %-10s\n", "Rank", "Candidate", "Votes", "Percent");
+            out.println("---------------------------------------------------------------");
+            for (ResultRow row : results) {
+                out.printf("%-5d %-30s %-10d %-9.2f%%\n", row.getRank(), row.getName() + " (" + row.getNomineeId() + ")",
+                           row.getVotes(), row.getPercentage());
             }
 
             return true;
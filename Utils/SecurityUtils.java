@@ -1,12 +1,21 @@
 package Utils;
 
+import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.SecureRandom;
 import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
 
 public class SecurityUtils {
     private static final int ITERATIONS = 10000; // New: multiple iterations
     
+    // Hash latency metrics (key-stretched hashes only)
+    private static final AtomicLong hashCount = new AtomicLong();
+    private static final AtomicLong hashNanos = new AtomicLong();
+    private static final AtomicLong maxHashNanos = new AtomicLong();
+    
     /**
      * Hash password using current algorithm (multiple iterations for key stretching).
      */
@@ -24,21 +33,7 @@ public class SecurityUtils {
             }
             
             byte[] saltBytes = Base64.getDecoder().decode(salt);
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            
-            // Combine salt and password
-            byte[] input = new byte[saltBytes.length + password.getBytes().length];
-            System.arraycopy(saltBytes, 0, input, 0, saltBytes.length);
-            System.arraycopy(password.getBytes(), 0, input, saltBytes.length, password.getBytes().length);
-            
-            // Apply hashing multiple times for key stretching
-            byte[] hash = input;
-            for (int i = 0; i < ITERATIONS; i++) {
-                md.reset();
-                hash = md.digest(hash);
-            }
-            
-            return Base64.getEncoder().encodeToString(hash);
+            return Base64.getEncoder().encodeToString(computeHash(ALG_SHA256, password, saltBytes, ITERATIONS));
         } catch (Exception e) {
             System.err.println("❌ Error in hashPassword: " + e.getMessage());
             e.printStackTrace();
@@ -114,9 +109,8 @@ public class SecurityUtils {
             (storedHash.length() > 20 ? storedHash.substring(0, 20) + "..." : storedHash));
         System.out.println("🔐 [SecurityUtils] Salt provided: " + (salt != null && !salt.isEmpty()));
         
-        // Try new algorithm first (with multiple iterations)
-        String newHash = hashPassword(password, salt);
-        if (newHash != null && newHash.equals(storedHash)) {
+        // Try current formats first (versioned, or iterated SHA-256)
+        if (verifyPassword(password, storedHash, salt)) {
             System.out.println("✅ [SecurityUtils] Password matches (new algorithm)");
             return true;
         }
@@ -187,6 +181,325 @@ public class SecurityUtils {
         }
     }
     
+    // ==================== VERSIONED HASHES ====================
+    
+    /*
+     * Stored form: $<algorithm>$<cost>$<base64 hash>. The salt stays where it
+     * always was (salt column / salt file). A bare Base64 hash without the
+     * prefix is the original format: sha256 with ITERATIONS rounds.
+     *
+     * -Delection.hashAlgorithm   sha256 | pbkdf2-sha256 (default pbkdf2-sha256)
+     * -Delection.hashCost        fixed iteration count (skips calibration)
+     * -Delection.hashTargetMillis  calibration target per verification (default 50)
+     */
+    public static final String ALG_SHA256 = "sha256";          // iterated SHA-256 over salt + password
+    public static final String ALG_PBKDF2 = "pbkdf2-sha256";   // PBKDF2WithHmacSHA256, 256-bit key
+    public static final String ALG_LEGACY = "legacy";          // salted pre-versioning hash, see tagCredential
+    
+    private static final int MIN_COST = 5_000;
+    private static final int MAX_COST = 5_000_000;
+    private static final int CALIBRATION_PROBE = 10_000;
+    private static final long CALIBRATION_WARMUP_NANOS = 500_000_000L;
+    
+    private static volatile HashParameters currentParameters = null;
+    
+    /**
+     * Algorithm and cost used for new hashes on this machine
+     */
+    public static class HashParameters {
+        public final String algorithm;
+        public final int cost;
+        
+        public HashParameters(String algorithm, int cost) {
+            this.algorithm = algorithm;
+            this.cost = cost;
+        }
+        
+        @Override
+        public String toString() {
+            return algorithm + " x" + cost;
+        }
+    }
+    
+    /**
+     * Parameters for new hashes, calibrated on first use unless fixed by property
+     */
+    public static HashParameters getCurrentParameters() {
+        HashParameters params = currentParameters;
+        if (params == null) {
+            synchronized (SecurityUtils.class) {
+                if (currentParameters == null) {
+                    String algorithm = System.getProperty("election.hashAlgorithm", ALG_PBKDF2);
+                    if (!ALG_SHA256.equals(algorithm) && !ALG_PBKDF2.equals(algorithm)) {
+                        System.err.println("⚠️ [SecurityUtils] Unknown hash algorithm '" + algorithm + "', using " + ALG_PBKDF2);
+                        algorithm = ALG_PBKDF2;
+                    }
+                    Integer fixedCost = Integer.getInteger("election.hashCost");
+                    int cost = fixedCost != null
+                        ? Math.max(MIN_COST, fixedCost)
+                        : calibrate(algorithm, Long.getLong("election.hashTargetMillis", 50));
+                    currentParameters = new HashParameters(algorithm, cost);
+                    System.out.println("🔐 [SecurityUtils] Password hashing: " + currentParameters);
+                }
+                params = currentParameters;
+            }
+        }
+        return params;
+    }
+    
+    /**
+     * Replace the parameters for new hashes (e.g. after an admin re-calibrates)
+     */
+    public static void setCurrentParameters(String algorithm, int cost) {
+        currentParameters = new HashParameters(algorithm, Math.max(MIN_COST, Math.min(MAX_COST, cost)));
+    }
+    
+    /**
+     * Iteration count for which one verification takes about targetMillis
+     * on this machine, rounded to a thousand and clamped to sane bounds
+     */
+    public static int calibrate(String algorithm, long targetMillis) {
+        byte[] salt = new byte[32];
+        new SecureRandom().nextBytes(salt);
+        
+        try {
+            // Warm up provider and JIT long enough for the optimised code to be in place
+            long warmupEnd = System.nanoTime() + CALIBRATION_WARMUP_NANOS;
+            for (int i = 0; i < 10 || System.nanoTime() < warmupEnd; i++) {
+                computeHash(algorithm, "calibration", salt, CALIBRATION_PROBE);
+            }
+            
+            // Median of several probes, so one lucky or descheduled run does not decide
+            long[] samples = new long[7];
+            for (int i = 0; i < samples.length; i++) {
+                long start = System.nanoTime();
+                computeHash(algorithm, "calibration", salt, CALIBRATION_PROBE);
+                samples[i] = System.nanoTime() - start;
+            }
+            java.util.Arrays.sort(samples);
+            long median = samples[samples.length / 2];
+            
+            double cost = CALIBRATION_PROBE * (targetMillis * 1_000_000.0 / Math.max(1, median));
+            int rounded = (int) Math.round(Math.min(MAX_COST, Math.max(MIN_COST, cost)) / 1000) * 1000;
+            System.out.println("🔐 [SecurityUtils] Calibrated " + algorithm + ": " + rounded
+                               + " iterations for ~" + targetMillis + "ms");
+            return rounded;
+        } catch (Exception e) {
+            System.err.println("❌ [SecurityUtils] Calibration failed: " + e.getMessage());
+            return ITERATIONS;
+        }
+    }
+    
+    /**
+     * Hash a password for storage with the current algorithm and cost
+     */
+    public static String encodePassword(String password, String salt) {
+        if (password == null || password.isEmpty() || salt == null || salt.isEmpty()) {
+            System.err.println("❌ Error: Password and salt are required");
+            return null;
+        }
+        
+        HashParameters params = getCurrentParameters();
+        try {
+            byte[] hash = computeHash(params.algorithm, password, Base64.getDecoder().decode(salt), params.cost);
+            return "$" + params.algorithm + "$" + params.cost + "$" + Base64.getEncoder().encodeToString(hash);
+        } catch (Exception e) {
+            System.err.println("❌ Error in encodePassword: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Check a password against a stored hash, versioned or original format.
+     * Costs exactly one hash computation.
+     */
+    public static boolean verifyPassword(String password, String storedHash, String salt) {
+        if (password == null || storedHash == null) {
+            return false;
+        }
+        
+        if (!isVersionedHash(storedHash)) {
+            String legacy = hashPassword(password, salt);
+            return legacy != null && MessageDigest.isEqual(
+                legacy.getBytes(StandardCharsets.UTF_8), storedHash.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        String[] parts = storedHash.split("\\$");
+        if (ALG_LEGACY.equals(parts[1])) {
+            return verifySaltedLegacy(password, parts[3], salt);
+        }
+        try {
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            byte[] saltBytes = salt != null ? Base64.getDecoder().decode(salt) : new byte[0];
+            return MessageDigest.isEqual(expected, computeHash(parts[1], password, saltBytes, Integer.parseInt(parts[2])));
+        } catch (Exception e) {
+            System.err.println("❌ [SecurityUtils] Unreadable stored hash: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * A salted bare hash was written either by hashPassword (iterated) or by
+     * hashPasswordOld (single pass); the two cannot be told apart without the
+     * password, so this is the one scheme that may cost two hashes. Records
+     * leave it on their first successful login (needsRehash).
+     */
+    private static boolean verifySaltedLegacy(String password, String legacyHash, String salt) {
+        byte[] expected = legacyHash.getBytes(StandardCharsets.UTF_8);
+        String iterated = hashPassword(password, salt);
+        if (iterated != null && MessageDigest.isEqual(expected, iterated.getBytes(StandardCharsets.UTF_8))) {
+            return true;
+        }
+        String singlePass = hashPasswordOld(password, salt);
+        return singlePass != null && MessageDigest.isEqual(expected, singlePass.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * True for hashes written by encodePassword
+     */
+    public static boolean isVersionedHash(String storedHash) {
+        return storedHash != null && storedHash.startsWith("$") && storedHash.split("\\$").length == 4;
+    }
+    
+    /**
+     * True if the stored hash should be replaced after a successful login:
+     * original format, another algorithm, or a cost more than 2x off the
+     * current one (the slack stops machines with different calibrations
+     * from re-hashing each other's work on every login)
+     */
+    public static boolean needsRehash(String storedHash) {
+        if (!isVersionedHash(storedHash)) {
+            return true;
+        }
+        HashParameters params = getCurrentParameters();
+        String[] parts = storedHash.split("\\$");
+        try {
+            int cost = Integer.parseInt(parts[2]);
+            return !params.algorithm.equals(parts[1]) || cost * 2 < params.cost || cost > params.cost * 2;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+    
+    // ==================== CREDENTIAL SCHEMES ====================
+    
+    /**
+     * What a stored credential is, judged from the stored value and salt alone
+     */
+    public enum CredentialScheme {
+        UNREGISTERED,   // no password set yet
+        PLAINTEXT,      // pre-hashing records (shorter than 40 characters)
+        VERSIONED,      // $algorithm$cost$hash
+        UNSALTED,       // bare single SHA-256 of the password
+        SALTED_LEGACY,  // bare hash with a salt: iterated or single pass
+        UNKNOWN         // anything else; cannot be verified or migrated
+    }
+    
+    public static CredentialScheme classifyCredential(String stored, String salt) {
+        if (stored == null || stored.isEmpty() || stored.equals("null") || isUnregistered(stored)) {
+            return CredentialScheme.UNREGISTERED;
+        }
+        if (isVersionedHash(stored)) {
+            return CredentialScheme.VERSIONED;
+        }
+        if (stored.length() < 40) {
+            return CredentialScheme.PLAINTEXT;
+        }
+        if (isLegacyHash(stored)) {
+            return salt == null || salt.isEmpty() ? CredentialScheme.UNSALTED : CredentialScheme.SALTED_LEGACY;
+        }
+        return CredentialScheme.UNKNOWN;
+    }
+    
+    /**
+     * The versioned form of a stored hash, without needing the password:
+     * unsalted SHA-256 is exactly sha256 with one round and no salt, salted
+     * bare hashes become "legacy". Null for plaintext, unregistered and unknown.
+     */
+    public static String tagCredential(String stored, String salt) {
+        switch (classifyCredential(stored, salt)) {
+            case VERSIONED:     return stored;
+            case UNSALTED:      return "$" + ALG_SHA256 + "$1$" + stored;
+            case SALTED_LEGACY: return "$" + ALG_LEGACY + "$0$" + stored;
+            default:            return null;
+        }
+    }
+    
+    /**
+     * Check a login against any stored credential with a single verification
+     * chosen by its scheme (plaintext is compared directly)
+     */
+    public static boolean verifyCredential(String password, String stored, String salt) {
+        if (password == null) {
+            return false;
+        }
+        switch (classifyCredential(stored, salt)) {
+            case PLAINTEXT:
+                return MessageDigest.isEqual(stored.getBytes(StandardCharsets.UTF_8), password.getBytes(StandardCharsets.UTF_8));
+            case VERSIONED:
+            case UNSALTED:
+            case SALTED_LEGACY:
+                return verifyPassword(password, tagCredential(stored, salt), salt);
+            default:
+                return false;
+        }
+    }
+    
+    private static byte[] computeHash(String algorithm, String password, byte[] salt, int cost) throws Exception {
+        long start = System.nanoTime();
+        byte[] hash;
+        
+        if (ALG_PBKDF2.equals(algorithm)) {
+            PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, cost, 256);
+            try {
+                hash = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+            } finally {
+                spec.clearPassword();
+            }
+        } else if (ALG_SHA256.equals(algorithm)) {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            
+            // Combine salt and password
+            byte[] passwordBytes = password.getBytes();
+            byte[] input = new byte[salt.length + passwordBytes.length];
+            System.arraycopy(salt, 0, input, 0, salt.length);
+            System.arraycopy(passwordBytes, 0, input, salt.length, passwordBytes.length);
+            
+            // Apply hashing multiple times for key stretching
+            hash = input;
+            for (int i = 0; i < cost; i++) {
+                md.reset();
+                hash = md.digest(hash);
+            }
+        } else {
+            throw new IllegalArgumentException("unknown hash algorithm: " + algorithm);
+        }
+        
+        recordHash(System.nanoTime() - start);
+        return hash;
+    }
+    
+    // ==================== HASH METRICS ====================
+    
+    private static void recordHash(long nanos) {
+        hashCount.incrementAndGet();
+        hashNanos.addAndGet(nanos);
+        maxHashNanos.accumulateAndGet(nanos, Math::max);
+    }
+    
+    public static long getHashCount() { return hashCount.get(); }
+    
+    public static double getAverageHashMillis() {
+        long count = hashCount.get();
+        return count == 0 ? 0 : hashNanos.get() / 1_000_000.0 / count;
+    }
+    
+    public static double getMaxHashMillis() { return maxHashNanos.get() / 1_000_000.0; }
+    
+    public static String getHashStats() {
+        return String.format("count=%d avg=%.1fms max=%.1fms", getHashCount(), getAverageHashMillis(), getMaxHashMillis());
+    }
+    
     // Input validation
     public static boolean isValidId(String id) {
         return id != null && !id.trim().isEmpty() && 
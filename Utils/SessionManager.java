@@ -1,81 +1,159 @@
 package Utils;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import javax.swing.JFrame;
+import javax.swing.SwingUtilities;
 
+/**
+ * Desktop login sessions with sliding expiry.
+ *
+ * Sessions live in a concurrent map; one daemon scheduler thread expires
+ * all of them, however many there are. Each session has a single pending
+ * check: when it fires, a session that was touched meanwhile is simply
+ * re-armed for the rest of its idle time, so activity costs one volatile
+ * write instead of a reschedule. An expired session's frame is disposed on
+ * the Swing event thread.
+ *
+ * -Delection.sessionTimeoutMinutes   idle time before a session ends (default 30)
+ */
 public class SessionManager {
-    private static SessionManager instance;
-    private Map<String, UserSession> activeSessions;
-    
+    private static final long SESSION_TIMEOUT_MS =
+        Long.getLong("election.sessionTimeoutMinutes", 30) * 60 * 1000;
+
+    private static final SessionManager INSTANCE = new SessionManager();
+
+    private final Map<String, UserSession> activeSessions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService expiry;
+
     private SessionManager() {
-        activeSessions = new HashMap<>();
+        expiry = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
-    
+
     public static SessionManager getInstance() {
-        if (instance == null) {
-            instance = new SessionManager();
-        }
-        return instance;
+        return INSTANCE;
     }
-    
+
+    // ==================== SESSIONS ====================
+
     public String createSession(String userId, String userType, JFrame frame) {
         String sessionId = UUID.randomUUID().toString();
-        UserSession session = new UserSession(userId, userType, frame, System.currentTimeMillis());
+        UserSession session = new UserSession(sessionId, userId, userType, frame, System.currentTimeMillis());
         activeSessions.put(sessionId, session);
-        
-        // Start session timeout thread
-        new Thread(() -> {
-            try {
-                Thread.sleep(30 * 60 * 1000); // 30 minutes timeout
-                if (activeSessions.containsKey(sessionId)) {
-                    invalidateSession(sessionId);
-                    frame.dispose();
-                    // Return to login
-                }
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        }).start();
-        
+        schedule(session, SESSION_TIMEOUT_MS);
         return sessionId;
     }
-    
+
+    /**
+     * True if the session exists and has not been idle for the timeout
+     */
     public boolean isValidSession(String sessionId) {
+        UserSession session = activeSessions.get(sessionId);
+        return session != null && !session.isExpired(System.currentTimeMillis());
+    }
+
+    /**
+     * Record activity, pushing the expiry back; false if the session is gone
+     */
+    public boolean touch(String sessionId) {
         UserSession session = activeSessions.get(sessionId);
         if (session == null) return false;
-        
-        // Check if session expired (30 minutes)
-        long currentTime = System.currentTimeMillis();
-        return (currentTime - session.getCreationTime()) < (30 * 60 * 1000);
+
+        long now = System.currentTimeMillis();
+        if (session.isExpired(now)) {
+            expire(session);
+            return false;
+        }
+        session.lastActivityTime = now;
+        return true;
     }
-    
+
     public void invalidateSession(String sessionId) {
-        activeSessions.remove(sessionId);
+        UserSession session = activeSessions.remove(sessionId);
+        if (session != null && session.pendingCheck != null) {
+            session.pendingCheck.cancel(false);
+        }
     }
-    
+
     public UserSession getSession(String sessionId) {
         return activeSessions.get(sessionId);
     }
-    
-    public class UserSession {
-        private String userId;
-        private String userType;
-        private JFrame frame;
-        private long creationTime;
-        
-        public UserSession(String userId, String userType, JFrame frame, long creationTime) {
+
+    public int getActiveSessionCount() {
+        return activeSessions.size();
+    }
+
+    // ==================== EXPIRY ====================
+
+    private void schedule(UserSession session, long delayMs) {
+        session.pendingCheck = expiry.schedule(() -> check(session), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs on the scheduler thread when a session's idle time may be up
+     */
+    private void check(UserSession session) {
+        if (activeSessions.get(session.sessionId) != session) return;  // already invalidated
+
+        long now = System.currentTimeMillis();
+        if (session.isExpired(now)) {
+            expire(session);
+        } else {
+            schedule(session, session.lastActivityTime + SESSION_TIMEOUT_MS - now);
+        }
+    }
+
+    private void expire(UserSession session) {
+        if (!activeSessions.remove(session.sessionId, session)) return;
+
+        if (session.pendingCheck != null) {
+            session.pendingCheck.cancel(false);
+        }
+        System.out.println("⏰ [SessionManager] Session expired for " + session.userType + " " + session.userId);
+
+        JFrame frame = session.frame;
+        if (frame != null) {
+            SwingUtilities.invokeLater(frame::dispose);
+        }
+    }
+
+    public static class UserSession {
+        private final String sessionId;
+        private final String userId;
+        private final String userType;
+        private final JFrame frame;
+        private final long creationTime;
+        private volatile long lastActivityTime;
+        private volatile ScheduledFuture<?> pendingCheck;
+
+        UserSession(String sessionId, String userId, String userType, JFrame frame, long creationTime) {
+            this.sessionId = sessionId;
             this.userId = userId;
             this.userType = userType;
             this.frame = frame;
             this.creationTime = creationTime;
+            this.lastActivityTime = creationTime;
+        }
+
+        boolean isExpired(long now) {
+            return now - lastActivityTime >= SESSION_TIMEOUT_MS;
         }
-        
+
         // Getters
+        public String getSessionId() { return sessionId; }
         public String getUserId() { return userId; }
         public String getUserType() { return userType; }
         public JFrame getFrame() { return frame; }
         public long getCreationTime() { return creationTime; }
+        public long getLastActivityTime() { return lastActivityTime; }
     }
-}
\ No newline at end of file
+}